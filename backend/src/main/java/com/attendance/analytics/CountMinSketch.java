@@ -0,0 +1,72 @@
+package com.attendance.analytics;
+
+/**
+ * Count-Min sketch of item frequencies
+ *
+ * Estimates never undercount. With width ceil(e / epsilon) and depth ceil(ln(1 / delta))
+ * an estimate exceeds the true count by more than epsilon * totalCount with
+ * probability at most delta. Sketches of the same shape merge by adding cells.
+ * Not thread-safe; callers synchronize.
+ */
+public class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final long[][] table;
+    private long totalCount;
+
+    public CountMinSketch(double epsilon, double delta) {
+        if (epsilon <= 0 || epsilon >= 1 || delta <= 0 || delta >= 1) {
+            throw new IllegalArgumentException("epsilon and delta must be between 0 and 1");
+        }
+        this.width = (int) Math.ceil(Math.E / epsilon);
+        this.depth = (int) Math.ceil(Math.log(1 / delta));
+        this.table = new long[depth][width];
+    }
+
+    public void add(long item, long count) {
+        for (int row = 0; row < depth; row++) {
+            table[row][bucket(item, row)] += count;
+        }
+        totalCount += count;
+    }
+
+    public long estimate(long item) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, table[row][bucket(item, row)]);
+        }
+        return min;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Additive error bound on estimate(), holding with probability confidence()
+     */
+    public long errorBound() {
+        return (long) Math.ceil(Math.E / width * totalCount);
+    }
+
+    public double confidence() {
+        return 1 - Math.exp(-depth);
+    }
+
+    public void merge(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Cannot merge sketches of different shape");
+        }
+        for (int row = 0; row < depth; row++) {
+            for (int col = 0; col < width; col++) {
+                table[row][col] += other.table[row][col];
+            }
+        }
+        totalCount += other.totalCount;
+    }
+
+    private int bucket(long item, int row) {
+        return (int) Math.floorMod(SketchHash.mix(item + (row + 1) * 0x632BE59BD9B4E019L), (long) width);
+    }
+}
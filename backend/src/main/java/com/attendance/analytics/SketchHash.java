@@ -0,0 +1,18 @@
+package com.attendance.analytics;
+
+/**
+ * 64-bit mixing function shared by the sketches
+ * Spreads sequential ids (student ids are auto-increment) over the whole hash space
+ */
+final class SketchHash {
+
+    private SketchHash() {
+    }
+
+    static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
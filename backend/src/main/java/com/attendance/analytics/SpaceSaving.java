@@ -0,0 +1,113 @@
+package com.attendance.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Space-Saving top-K heavy hitters
+ *
+ * Tracks at most capacity items. When a new item arrives and the table is full it
+ * replaces the smallest counter and inherits its count as error, so every tracked
+ * count overestimates the true count by at most its error. Any item whose true
+ * count exceeds totalCount / capacity is guaranteed to be tracked.
+ * Not thread-safe; callers synchronize.
+ */
+public class SpaceSaving {
+
+    /**
+     * Tracked item; the true count lies in [count - error, count]
+     */
+    public record Counter(long item, long count, long error) {
+    }
+
+    private final int capacity;
+    private final Map<Long, Counter> counters = new HashMap<>();
+    private long totalCount;
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    public void add(long item, long count) {
+        totalCount += count;
+        Counter existing = counters.get(item);
+        if (existing != null) {
+            counters.put(item, new Counter(item, existing.count() + count, existing.error()));
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(item, new Counter(item, count, 0));
+            return;
+        }
+        Counter smallest = counters.values().stream()
+            .min(Comparator.comparingLong(Counter::count))
+            .orElseThrow();
+        counters.remove(smallest.item());
+        counters.put(item, new Counter(item, smallest.count() + count, smallest.count()));
+    }
+
+    /**
+     * Upper bound on the count of any item that is not tracked
+     */
+    public long minCount() {
+        if (counters.size() < capacity) {
+            return 0;
+        }
+        return counters.values().stream().mapToLong(Counter::count).min().orElse(0);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Up to k tracked items, highest count first
+     */
+    public List<Counter> top(int k) {
+        return counters.values().stream()
+            .sorted(Comparator.comparingLong(Counter::count).reversed()
+                .thenComparingLong(Counter::item))
+            .limit(k)
+            .toList();
+    }
+
+    /**
+     * Merge another summary of the same capacity
+     * An item missing from one side may have been counted there up to that side's
+     * minCount(), so that amount is added to both its count and its error.
+     */
+    public void merge(SpaceSaving other) {
+        if (other.capacity != capacity) {
+            throw new IllegalArgumentException("Cannot merge summaries of different capacity");
+        }
+        long thisMin = minCount();
+        long otherMin = other.minCount();
+
+        Set<Long> items = new HashSet<>(counters.keySet());
+        items.addAll(other.counters.keySet());
+
+        List<Counter> merged = new ArrayList<>(items.size());
+        for (Long item : items) {
+            Counter mine = counters.get(item);
+            Counter theirs = other.counters.get(item);
+            long count = (mine != null ? mine.count() : thisMin) + (theirs != null ? theirs.count() : otherMin);
+            long error = (mine != null ? mine.error() : thisMin) + (theirs != null ? theirs.error() : otherMin);
+            merged.add(new Counter(item, count, error));
+        }
+        merged.sort(Comparator.comparingLong(Counter::count).reversed());
+
+        counters.clear();
+        for (Counter counter : merged.subList(0, Math.min(capacity, merged.size()))) {
+            counters.put(counter.item(), counter);
+        }
+        totalCount += other.totalCount;
+    }
+}
@@ -0,0 +1,160 @@
+package com.attendance.cache;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.attendance.event.AttendanceRecordedEvent;
+import com.attendance.event.CacheInvalidationEvent;
+import com.attendance.event.UserAccountChangedEvent;
+import com.attendance.model.CacheInvalidation;
+import com.attendance.model.CacheInvalidation.Topic;
+import com.attendance.repository.CacheInvalidationRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Keeps the in-process caches of several backend nodes in step without a broker
+ *
+ * Changes are appended to cache_invalidation_log inside the transaction that made
+ * them, so an entry becomes visible exactly when the data does. Every node polls the
+ * table by primary key and republishes other nodes' entries as CacheInvalidationEvent.
+ *
+ * IDENTITY values are handed out at insert time but committed in any order, so an id
+ * skipped by one poll may still appear; such gaps are re-checked for a few seconds.
+ */
+@Component
+public class CacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private static final int MAX_TRACKED_GAPS = 1000;
+
+    private final CacheInvalidationRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId;
+    private final long gapTimeoutMillis;
+    private final Duration retention;
+
+    // Poller state; only touched by the scheduler thread once attached
+    private long lastSeenId;
+    private final Map<Long, Long> pendingGaps = new HashMap<>();
+
+    public CacheInvalidationBus(CacheInvalidationRepository repository,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${cache.invalidation.node-id:}") String nodeId,
+                                @Value("${cache.invalidation.gap-timeout-ms:5000}") long gapTimeoutMillis,
+                                @Value("${cache.invalidation.retention-minutes:10}") long retentionMinutes) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.gapTimeoutMillis = gapTimeoutMillis;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+    }
+
+    /**
+     * Start from the current end of the feed; nothing is cached before startup
+     */
+    @PostConstruct
+    public void attach() {
+        lastSeenId = repository.findMaxId();
+        logger.info("📡 Cache invalidation feed attached as {} at entry {}", nodeId, lastSeenId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Append an entry for the other nodes; joins the caller's transaction when there is one
+     */
+    @Transactional
+    public void publish(Topic topic, String key) {
+        repository.save(new CacheInvalidation(topic, key, nodeId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onAttendanceRecorded(AttendanceRecordedEvent event) {
+        publish(Topic.ATTENDANCE, event.toFeedKey());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        if (event.getUsername() != null) {
+            publish(Topic.USER_ACCOUNT, event.getUsername());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.poll-interval-ms:250}")
+    public void poll() {
+        try {
+            long now = System.currentTimeMillis();
+            pendingGaps.values().removeIf(noticedAt -> noticedAt < now - gapTimeoutMillis);
+
+            List<CacheInvalidation> entries = new ArrayList<>();
+            if (!pendingGaps.isEmpty()) {
+                entries.addAll(repository.findByIdIn(new ArrayList<>(pendingGaps.keySet())));
+            }
+            entries.addAll(repository.findTop500ByIdGreaterThanOrderByIdAsc(lastSeenId));
+
+            for (CacheInvalidation entry : entries) {
+                long id = entry.getId();
+                if (id > lastSeenId) {
+                    for (long missing = lastSeenId + 1; missing < id && pendingGaps.size() < MAX_TRACKED_GAPS; missing++) {
+                        pendingGaps.put(missing, now);
+                    }
+                    lastSeenId = id;
+                } else if (pendingGaps.remove(id) == null) {
+                    continue;
+                }
+                if (!nodeId.equals(entry.getOriginNode())) {
+                    deliver(entry);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("❌ Cache invalidation poll failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.purge-interval-ms:60000}")
+    public void purge() {
+        try {
+            int deleted = repository.deleteOlderThan(Instant.now().minus(retention));
+            if (deleted > 0) {
+                logger.debug("🧹 Purged {} cache invalidation entries", deleted);
+            }
+        } catch (Exception e) {
+            logger.error("❌ Cache invalidation purge failed: {}", e.getMessage());
+        }
+    }
+
+    private void deliver(CacheInvalidation entry) {
+        try {
+            eventPublisher.publishEvent(
+                new CacheInvalidationEvent(entry.getTopic(), entry.getCacheKey(), entry.getCreatedAt()));
+        } catch (Exception e) {
+            logger.warn("⚠️ Could not apply {} invalidation '{}': {}",
+                entry.getTopic(), entry.getCacheKey(), e.getMessage());
+        }
+    }
+
+    private static String defaultNodeId() {
+        // "pid@hostname", unique per process on a shared database
+        String name = ManagementFactory.getRuntimeMXBean().getName();
+        return name.length() > 64 ? name.substring(0, 64) : name;
+    }
+}
@@ -0,0 +1,66 @@
+package com.attendance.cache;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Exports every ManagedCache as app.cache.* meters tagged with the cache name
+ * Values are read from the caches on each scrape, so resizes show up immediately.
+ */
+@Component
+public class CacheMetrics implements MeterBinder {
+
+    private final CacheRegistry cacheRegistry;
+
+    public CacheMetrics(CacheRegistry cacheRegistry) {
+        this.cacheRegistry = cacheRegistry;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (ManagedCache cache : cacheRegistry.getCaches()) {
+            String name = cache.name();
+            CacheStats stats = cache.stats();
+
+            Gauge.builder("app.cache.size", cache, ManagedCache::size)
+                .tag("cache", name)
+                .description("Entries currently cached")
+                .register(registry);
+            Gauge.builder("app.cache.max.size", cache, ManagedCache::maxSize)
+                .tag("cache", name)
+                .description("Entry limit")
+                .register(registry);
+            Gauge.builder("app.cache.estimated.bytes", cache, ManagedCache::estimatedBytes)
+                .tag("cache", name)
+                .description("Estimated heap footprint")
+                .baseUnit("bytes")
+                .register(registry);
+
+            FunctionCounter.builder("app.cache.requests", stats, CacheStats::getHits)
+                .tags("cache", name, "result", "hit")
+                .register(registry);
+            FunctionCounter.builder("app.cache.requests", stats, CacheStats::getMisses)
+                .tags("cache", name, "result", "miss")
+                .register(registry);
+            FunctionCounter.builder("app.cache.evictions", stats, CacheStats::getEvictions)
+                .tag("cache", name)
+                .register(registry);
+            FunctionCounter.builder("app.cache.invalidations", stats, CacheStats::getInvalidations)
+                .tag("cache", name)
+                .register(registry);
+
+            FunctionTimer.builder("app.cache.loads", stats,
+                    CacheStats::getLoads, CacheStats::getLoadNanos, TimeUnit.NANOSECONDS)
+                .tag("cache", name)
+                .description("Time spent loading missed entries")
+                .register(registry);
+        }
+    }
+}
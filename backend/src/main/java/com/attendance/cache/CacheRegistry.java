@@ -0,0 +1,121 @@
+package com.attendance.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.attendance.dto.CacheReportDTO;
+import com.attendance.dto.CacheReportDTO.CacheEntryDTO;
+import com.attendance.exception.BadRequestException;
+import com.attendance.exception.ResourceNotFoundException;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Every application cache in one place, for the admin endpoint and the metrics export
+ *
+ * Application caches are the ManagedCache beans and can be resized at runtime.
+ * Hibernate second-level cache regions are listed from Hibernate's statistics when
+ * hibernate.generate_statistics is on; their sizes and TTLs stay in ehcache.xml.
+ */
+@Component
+public class CacheRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheRegistry.class);
+
+    private final Map<String, ManagedCache> caches;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CacheRegistry(List<ManagedCache> caches, EntityManagerFactory entityManagerFactory) {
+        this.caches = caches.stream()
+            .collect(Collectors.toUnmodifiableMap(ManagedCache::name, Function.identity()));
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public List<ManagedCache> getCaches() {
+        return caches.values().stream()
+            .sorted(Comparator.comparing(ManagedCache::name))
+            .toList();
+    }
+
+    public CacheReportDTO report() {
+        List<CacheEntryDTO> entries = new ArrayList<>();
+        for (ManagedCache cache : getCaches()) {
+            entries.add(describe(cache));
+        }
+        entries.addAll(describeHibernateRegions());
+        return new CacheReportDTO(entries);
+    }
+
+    public CacheEntryDTO resize(String name, int maxSize) {
+        ManagedCache cache = caches.get(name);
+        if (cache == null) {
+            throw new ResourceNotFoundException("Cache", "name", name);
+        }
+        if (maxSize < 0) {
+            throw new BadRequestException("maxSize must not be negative");
+        }
+        int previous = cache.maxSize();
+        cache.resize(maxSize);
+        logger.info("📐 Cache {} resized from {} to {} entries", name, previous, maxSize);
+        return describe(cache);
+    }
+
+    private static CacheEntryDTO describe(ManagedCache cache) {
+        CacheStats stats = cache.stats();
+        return new CacheEntryDTO(
+            cache.name(),
+            CacheReportDTO.KIND_APPLICATION,
+            cache.size(),
+            cache.maxSize(),
+            true,
+            cache.estimatedBytes(),
+            stats.getHits(),
+            stats.getMisses(),
+            stats.getLoads(),
+            stats.getLoadNanos(),
+            stats.getEvictions(),
+            stats.getInvalidations());
+    }
+
+    private List<CacheEntryDTO> describeHibernateRegions() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return List.of();
+        }
+
+        List<CacheEntryDTO> regions = new ArrayList<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+            // JCache does not expose entry counts or sizes, so Hibernate reports them as -1
+            regions.add(new CacheEntryDTO(
+                regionName,
+                CacheReportDTO.KIND_HIBERNATE,
+                region.getElementCountInMemory(),
+                -1,
+                false,
+                region.getSizeInMemory(),
+                region.getHitCount(),
+                region.getMissCount(),
+                region.getPutCount(),
+                0,
+                -1,
+                -1));
+        }
+        regions.sort(Comparator.comparing(CacheEntryDTO::getName));
+        return regions;
+    }
+}
@@ -0,0 +1,47 @@
+package com.attendance.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit, miss, load, eviction and invalidation counters of one cache
+ *
+ * Evictions are entries dropped by the cache itself (expiry or size limit);
+ * invalidations are entries dropped because the underlying data changed.
+ */
+public class CacheStats {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordLoad(long nanos) {
+        loads.increment();
+        loadNanos.add(nanos);
+    }
+
+    public void recordEvictions(long count) {
+        evictions.add(count);
+    }
+
+    public void recordInvalidations(long count) {
+        invalidations.add(count);
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public long getLoads() { return loads.sum(); }
+    public long getLoadNanos() { return loadNanos.sum(); }
+    public long getEvictions() { return evictions.sum(); }
+    public long getInvalidations() { return invalidations.sum(); }
+}
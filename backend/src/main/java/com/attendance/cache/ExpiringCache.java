@@ -0,0 +1,124 @@
+package com.attendance.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Size-bounded map whose entries carry their own expiry time
+ *
+ * Expired entries are never returned. When the cache is full, expired entries are
+ * purged first and then arbitrary ones, which is good enough for caches whose entries
+ * are cheap to reload. Footprint is estimated from a fixed per-entry size.
+ */
+public class ExpiringCache<K, V> implements ManagedCache {
+
+    private record Entry<V>(V value, long expiresAt) {}
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final CacheStats stats = new CacheStats();
+    private final String name;
+    private final int bytesPerEntry;
+
+    private volatile int maxEntries;
+
+    public ExpiringCache(String name, int maxEntries, int bytesPerEntry) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("maxEntries must not be negative");
+        }
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.bytesPerEntry = bytesPerEntry;
+    }
+
+    /**
+     * Cached value, or null when absent or expired
+     */
+    public V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expiresAt() > System.currentTimeMillis()) {
+                stats.recordHit();
+                return entry.value();
+            }
+            if (entries.remove(key, entry)) {
+                stats.recordEvictions(1);
+            }
+        }
+        stats.recordMiss();
+        return null;
+    }
+
+    /**
+     * Caches the value until expiresAt (epoch millis); ignored when the cache has no room at all
+     */
+    public void put(K key, V value, long expiresAt) {
+        if (maxEntries == 0 || expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        makeRoom(maxEntries - 1);
+        entries.put(key, new Entry<>(value, expiresAt));
+    }
+
+    public void invalidate(K key) {
+        if (entries.remove(key) != null) {
+            stats.recordInvalidations(1);
+        }
+    }
+
+    public void invalidateAll() {
+        int dropped = entries.size();
+        entries.clear();
+        stats.recordInvalidations(dropped);
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public long size() {
+        return entries.size();
+    }
+
+    @Override
+    public int maxSize() {
+        return maxEntries;
+    }
+
+    @Override
+    public void resize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative");
+        }
+        maxEntries = maxSize;
+        makeRoom(maxSize);
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return (long) entries.size() * bytesPerEntry;
+    }
+
+    @Override
+    public CacheStats stats() {
+        return stats;
+    }
+
+    private void makeRoom(int limit) {
+        if (entries.size() <= limit) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+
+        Iterator<K> keys = entries.keySet().iterator();
+        while (entries.size() > limit && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+        stats.recordEvictions(Math.max(0, before - entries.size()));
+    }
+}
@@ -0,0 +1,26 @@
+package com.attendance.cache;
+
+/**
+ * An in-process application cache that reports its usage to CacheRegistry
+ * and can be resized at runtime
+ */
+public interface ManagedCache {
+
+    String name();
+
+    long size();
+
+    int maxSize();
+
+    /**
+     * Changes the entry limit; entries over the new limit are evicted immediately
+     */
+    void resize(int maxSize);
+
+    /**
+     * Rough heap footprint of the cached entries, for comparing caches with each other
+     */
+    long estimatedBytes();
+
+    CacheStats stats();
+}
@@ -0,0 +1,84 @@
+package com.attendance.config;
+
+import com.attendance.service.AttendanceCubeService;
+import com.attendance.service.AttendanceDistributionService;
+import com.attendance.service.AttendanceSketchService;
+import com.attendance.service.AttendanceTrendService;
+import com.attendance.service.ClassStatisticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds maintained aggregates on startup
+ * Runs after AutoDataFix so corrected semesters are counted,
+ * and heals any drift from writes made outside the application
+ */
+@Component
+@Order(200)
+public class AggregateBootstrap implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(AggregateBootstrap.class);
+
+    private final ClassStatisticsService classStatisticsService;
+    private final AttendanceTrendService attendanceTrendService;
+    private final AttendanceCubeService attendanceCubeService;
+    private final AttendanceDistributionService attendanceDistributionService;
+    private final AttendanceSketchService attendanceSketchService;
+
+    public AggregateBootstrap(ClassStatisticsService classStatisticsService,
+                              AttendanceTrendService attendanceTrendService,
+                              AttendanceCubeService attendanceCubeService,
+                              AttendanceDistributionService attendanceDistributionService,
+                              AttendanceSketchService attendanceSketchService) {
+        this.classStatisticsService = classStatisticsService;
+        this.attendanceTrendService = attendanceTrendService;
+        this.attendanceCubeService = attendanceCubeService;
+        this.attendanceDistributionService = attendanceDistributionService;
+        this.attendanceSketchService = attendanceSketchService;
+    }
+
+    @Override
+    public void run(String... args) {
+        try {
+            classStatisticsService.rebuild();
+        } catch (Exception e) {
+            // Dashboards fall back to zero counts; never block startup
+            logger.error("❌ Failed to rebuild class statistics: {}", e.getMessage(), e);
+        }
+        try {
+            attendanceTrendService.rebuildIfEmpty();
+        } catch (Exception e) {
+            logger.error("❌ Failed to backfill attendance trends: {}", e.getMessage(), e);
+        }
+        try {
+            attendanceCubeService.rebuildIfEmpty();
+        } catch (Exception e) {
+            logger.error("❌ Failed to backfill attendance cube: {}", e.getMessage(), e);
+        }
+        try {
+            attendanceDistributionService.rebuild();
+        } catch (Exception e) {
+            logger.error("❌ Failed to build attendance distributions: {}", e.getMessage(), e);
+        }
+        try {
+            attendanceSketchService.rebuild();
+        } catch (Exception e) {
+            logger.error("❌ Failed to build absence sketches: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Recompute every maintained aggregate from the current tables
+     * For bulk writes that bypass the service layer, such as seeding or data fixes
+     */
+    public void rebuildAggregates() {
+        classStatisticsService.rebuild();
+        attendanceTrendService.rebuild();
+        attendanceCubeService.rebuild();
+        attendanceDistributionService.rebuild();
+        attendanceSketchService.rebuild();
+    }
+}
@@ -0,0 +1,175 @@
+package com.attendance.config;
+
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.attendance.cache.CacheRegistry;
+import com.attendance.model.TimetableSession;
+import com.attendance.repository.ClassRepository;
+import com.attendance.repository.StaffRepository;
+import com.attendance.repository.SubjectRepository;
+import com.attendance.repository.TimetableSessionRepository;
+import com.attendance.service.TimetableProjectionService;
+
+/**
+ * Preloads today's hot data before the application reports ready
+ *
+ * Runs after AggregateBootstrap. Readiness only turns to ACCEPTING_TRAFFIC once all
+ * runners have finished, so the first morning requests after a deploy hit warm caches:
+ * subjects, classes and staff in the second-level cache and the timetable projections
+ * of every class and staff member teaching today.
+ * A failed or slow warm-up is logged and never blocks startup beyond the timeout.
+ */
+@Component
+@Order(300)
+public class CacheWarmup implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmup.class);
+
+    private final TimetableSessionRepository timetableRepository;
+    private final SubjectRepository subjectRepository;
+    private final StaffRepository staffRepository;
+    private final ClassRepository classRepository;
+    private final TimetableProjectionService timetableProjectionService;
+    private final CacheRegistry cacheRegistry;
+
+    private final boolean enabled;
+    private final int threads;
+    private final long timeoutSeconds;
+
+    public CacheWarmup(TimetableSessionRepository timetableRepository,
+                       SubjectRepository subjectRepository,
+                       StaffRepository staffRepository,
+                       ClassRepository classRepository,
+                       TimetableProjectionService timetableProjectionService,
+                       CacheRegistry cacheRegistry,
+                       @Value("${cache.warmup.enabled:true}") boolean enabled,
+                       @Value("${cache.warmup.threads:4}") int threads,
+                       @Value("${cache.warmup.timeout-seconds:120}") long timeoutSeconds) {
+        this.timetableRepository = timetableRepository;
+        this.subjectRepository = subjectRepository;
+        this.staffRepository = staffRepository;
+        this.classRepository = classRepository;
+        this.timetableProjectionService = timetableProjectionService;
+        this.cacheRegistry = cacheRegistry;
+        this.enabled = enabled;
+        this.threads = Math.max(1, threads);
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            logger.info("🔥 Cache warm-up disabled");
+            return;
+        }
+        try {
+            warmUp();
+        } catch (Exception e) {
+            // Caches fill on demand anyway; never block startup
+            logger.error("❌ Cache warm-up failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void warmUp() throws InterruptedException {
+        long start = System.nanoTime();
+        long heapBefore = usedHeap();
+
+        String today = LocalDate.now().getDayOfWeek().getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+        List<TimetableSession> todaySessions = timetableRepository.findByActiveTrue().stream()
+            .filter(session -> today.equalsIgnoreCase(session.getDayOfWeek()))
+            .toList();
+
+        List<Long> staffIds = todaySessions.stream()
+            .map(session -> session.getStaff() != null ? session.getStaff().getId() : null)
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+        List<ClassKey> classes = todaySessions.stream()
+            .map(session -> new ClassKey(session.getDepartment(), session.getSemester(), session.getSection()))
+            .distinct()
+            .toList();
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        tasks.add(() -> {
+            subjectRepository.findAll();
+            classRepository.findAll();
+            staffRepository.findAll();
+            return null;
+        });
+        for (Long staffId : staffIds) {
+            tasks.add(() -> {
+                timetableProjectionService.getStaffTimetable(staffId);
+                return null;
+            });
+        }
+        for (ClassKey key : classes) {
+            tasks.add(() -> {
+                timetableProjectionService.getClassTimetable(key.department(), key.semester(), key.section());
+                return null;
+            });
+        }
+
+        int failed = runAll(tasks);
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long cachedBytes = cacheRegistry.report().getTotalEstimatedBytes();
+        logger.info("🔥 Cache warm-up finished in {} ms: {} staff timetables, {} class timetables, {} tasks failed; "
+                + "~{} KB cached, heap used {} MB -> {} MB",
+            elapsedMillis, staffIds.size(), classes.size(), failed,
+            cachedBytes / 1024, heapBefore / (1024 * 1024), usedHeap() / (1024 * 1024));
+    }
+
+    /**
+     * Runs the tasks on a short-lived pool and returns how many failed or timed out
+     */
+    private int runAll(List<Callable<Void>> tasks) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, tasks.size()), runnable -> {
+            Thread thread = new Thread(runnable, "cache-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        int failed = 0;
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks, timeoutSeconds, TimeUnit.SECONDS)) {
+                if (future.isCancelled()) {
+                    failed++;
+                    continue;
+                }
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failed++;
+                    logger.warn("⚠️ Cache warm-up task failed: {}", e.getCause().getMessage());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return failed;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private record ClassKey(String department, int semester, String section) {}
+}
@@ -0,0 +1,91 @@
+package com.attendance.config;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Moves refresh_tokens from the raw token column to token_hash on startup
+ *
+ * Same steps as database/migrate-refresh-token-hash.sql, applied only when the
+ * legacy token column is still there. Without it, ddl-auto adds token_hash next to
+ * the NOT NULL token column and every login fails on insert. Runs after Hibernate's
+ * schema update and before RefreshTokenStore is created, so the web server never
+ * starts against the old layout; a failed migration stops startup.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class RefreshTokenSchemaMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenSchemaMigration.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RefreshTokenSchemaMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        if (!columnExists("token")) {
+            ensureUniqueHashIndex();
+            return;
+        }
+
+        logger.info("📝 Migrating refresh_tokens to hashed tokens...");
+        try {
+            int expired = jdbcTemplate.update("DELETE FROM refresh_tokens WHERE expiry_date < NOW()");
+            logger.info("  Step 1: Removed {} expired tokens", expired);
+
+            // ddl-auto may already have added it as NOT NULL, filled with zero bytes
+            if (columnExists("token_hash")) {
+                jdbcTemplate.execute("ALTER TABLE refresh_tokens MODIFY COLUMN token_hash BINARY(32) NULL");
+            } else {
+                jdbcTemplate.execute("ALTER TABLE refresh_tokens ADD COLUMN token_hash BINARY(32) NULL");
+            }
+            int hashed = jdbcTemplate.update("UPDATE refresh_tokens SET token_hash = UNHEX(SHA2(token, 256))");
+            logger.info("  Step 2: Hashed {} tokens", hashed);
+
+            jdbcTemplate.execute(
+                "ALTER TABLE refresh_tokens " +
+                "MODIFY COLUMN token_hash BINARY(32) NOT NULL, " +
+                "DROP COLUMN token");
+            logger.info("  Step 3: Dropped the raw token column");
+
+            ensureUniqueHashIndex();
+            logger.info("✅ Refresh token migration completed");
+        } catch (Exception e) {
+            logger.error("❌ Refresh token migration failed: {}", e.getMessage(), e);
+            throw new IllegalStateException(
+                "refresh_tokens still has the legacy token column; apply database/migrate-refresh-token-hash.sql", e);
+        }
+    }
+
+    private boolean columnExists(String column) {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM information_schema.COLUMNS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'refresh_tokens' AND COLUMN_NAME = ?",
+            Integer.class, column);
+        return count != null && count > 0;
+    }
+
+    /**
+     * ddl-auto cannot add the unique key while the column holds duplicate zero hashes
+     */
+    private void ensureUniqueHashIndex() {
+        List<String> indexes = jdbcTemplate.queryForList(
+            "SELECT DISTINCT INDEX_NAME FROM information_schema.STATISTICS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'refresh_tokens' AND COLUMN_NAME = 'token_hash'",
+            String.class);
+        if (indexes.isEmpty() && columnExists("token_hash")) {
+            jdbcTemplate.execute("ALTER TABLE refresh_tokens ADD UNIQUE KEY uk_refresh_token_hash (token_hash)");
+            logger.info("  ✅ Added unique key on refresh_tokens.token_hash");
+        }
+    }
+}
@@ -1,19 +1,36 @@
 package com.attendance.config;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.attendance.security.ResolvedPrincipalArgumentResolver;
+
 /**
  * Web configuration for CORS (Cross-Origin Resource Sharing)
  * Allows frontend to access backend with proper security
+ * Also registers the ResolvedPrincipal controller argument
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
     
     @Value("${cors.allowed-origins:http://localhost:3000,http://localhost:3003,http://localhost:3007,http://localhost:5173}")
     private String allowedOrigins;
+
+    private final ResolvedPrincipalArgumentResolver principalArgumentResolver;
+
+    public WebConfig(ResolvedPrincipalArgumentResolver principalArgumentResolver) {
+        this.principalArgumentResolver = principalArgumentResolver;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(principalArgumentResolver);
+    }
     
     @Override
     public void addCorsMappings(CorsRegistry registry) {
@@ -1,20 +1,28 @@
 package com.attendance.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.attendance.dto.ApiResponse;
+import com.attendance.dto.EligibilityForecastDTO;
 import com.attendance.model.Student;
 import com.attendance.service.AttendanceReportService;
+import com.attendance.service.EligibilityForecastService;
 
 @RestController
 @RequestMapping("/api/admin/alerts")
 public class AdminAttendanceController {
 
     private final AttendanceReportService service;
+    private final EligibilityForecastService forecastService;
 
-    public AdminAttendanceController(AttendanceReportService service) {
+    public AdminAttendanceController(AttendanceReportService service,
+                                     EligibilityForecastService forecastService) {
         this.service = service;
+        this.forecastService = forecastService;
     }
 
     // 🔹 LOW ATTENDANCE ALERT API (ADD THIS HERE)
@@ -22,4 +30,27 @@ public class AdminAttendanceController {
     public List<Student> alerts() {
         return service.lowAttendanceStudents();
     }
+
+    /**
+     * GET /api/admin/alerts/eligibility-forecast
+     * Minimum number of remaining sessions each student must attend to reach the threshold
+     *
+     * @param termStart First day of the term (YYYY-MM-DD)
+     * @param termEnd Last teaching day of the term (YYYY-MM-DD)
+     * @param threshold Required attendance percentage (default 75)
+     * @param department Optional department filter
+     * @param status Optional status filter: SAFE, AT_RISK or CANNOT_REACH
+     */
+    @GetMapping("/eligibility-forecast")
+    public ResponseEntity<ApiResponse<EligibilityForecastDTO>> eligibilityForecast(
+            @RequestParam String termStart,
+            @RequestParam String termEnd,
+            @RequestParam(defaultValue = "75") double threshold,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) String status) {
+
+        EligibilityForecastDTO forecast = forecastService.forecast(
+            LocalDate.parse(termStart), LocalDate.parse(termEnd), threshold, department, status);
+        return ResponseEntity.ok(ApiResponse.success(forecast));
+    }
 }
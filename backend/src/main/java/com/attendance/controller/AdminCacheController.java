@@ -0,0 +1,53 @@
+package com.attendance.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.attendance.cache.CacheRegistry;
+import com.attendance.dto.ApiResponse;
+import com.attendance.dto.CacheReportDTO;
+import com.attendance.dto.CacheReportDTO.CacheEntryDTO;
+
+/**
+ * Admin Cache Controller
+ * Lists every application cache with its usage and lets admins resize them under live load
+ *
+ * RBAC: ADMIN role only
+ */
+@RestController
+@RequestMapping("/api/admin/caches")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminCacheController {
+
+    private final CacheRegistry cacheRegistry;
+
+    public AdminCacheController(CacheRegistry cacheRegistry) {
+        this.cacheRegistry = cacheRegistry;
+    }
+
+    /**
+     * GET /api/admin/caches
+     * Size, estimated footprint, hit/miss ratio, load latency, evictions and invalidations
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<CacheReportDTO>> getCaches() {
+        return ResponseEntity.ok(ApiResponse.success(cacheRegistry.report()));
+    }
+
+    /**
+     * PUT /api/admin/caches/{name}/size?maxSize=5000
+     * Changes the entry limit of an application cache; extra entries are evicted at once
+     */
+    @PutMapping("/{name}/size")
+    public ResponseEntity<ApiResponse<CacheEntryDTO>> resize(
+            @PathVariable String name,
+            @RequestParam int maxSize) {
+        return ResponseEntity.ok(ApiResponse.success("Cache resized", cacheRegistry.resize(name, maxSize)));
+    }
+}
@@ -6,9 +6,14 @@ import org.springframework.web.bind.annotation.*;
 
 import com.attendance.dto.AdminDashboardDTO;
 import com.attendance.dto.ApiResponse;
+import com.attendance.dto.AttendanceDistributionDTO;
+import com.attendance.exception.BadRequestException;
 import com.attendance.model.TimetableSession;
 import com.attendance.service.AdminDashboardService;
+import com.attendance.service.AttendanceDistributionService;
+import com.attendance.service.ReferenceCacheService;
 import com.attendance.service.TimetableManagementService;
+import com.attendance.service.TimetableProjectionService;
 
 import jakarta.validation.Valid;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -35,13 +40,22 @@ public class AdminDashboardController {
     private final AdminDashboardService dashboardService;
     private final TimetableManagementService timetableService;
     private final JdbcTemplate jdbcTemplate;
+    private final TimetableProjectionService timetableProjectionService;
+    private final AttendanceDistributionService distributionService;
+    private final ReferenceCacheService referenceCacheService;
 
     public AdminDashboardController(AdminDashboardService dashboardService, 
                                    TimetableManagementService timetableService,
-                                   JdbcTemplate jdbcTemplate) {
+                                   JdbcTemplate jdbcTemplate,
+                                   TimetableProjectionService timetableProjectionService,
+                                   AttendanceDistributionService distributionService,
+                                   ReferenceCacheService referenceCacheService) {
         this.dashboardService = dashboardService;
         this.timetableService = timetableService;
         this.jdbcTemplate = jdbcTemplate;
+        this.timetableProjectionService = timetableProjectionService;
+        this.distributionService = distributionService;
+        this.referenceCacheService = referenceCacheService;
     }
 
     /**
@@ -64,6 +78,56 @@ public class AdminDashboardController {
         return ResponseEntity.ok(ApiResponse.success(programmes));
     }
 
+    // ========== ATTENDANCE DISTRIBUTION ==========
+
+    /**
+     * GET /api/admin/dashboard/distribution
+     * Median, p10, p90 and count below threshold of per-student attendance for one group
+     * scope: DEPARTMENT (department), SEMESTER (department, semester) or CLASS (department, semester, section)
+     */
+    @GetMapping("/distribution")
+    public ResponseEntity<ApiResponse<AttendanceDistributionDTO>> getDistribution(
+            @RequestParam(defaultValue = "DEPARTMENT") String scope,
+            @RequestParam String department,
+            @RequestParam(required = false) Integer semester,
+            @RequestParam(required = false) String section,
+            @RequestParam(defaultValue = "75") double threshold,
+            @RequestParam(defaultValue = "false") boolean histogram) {
+        String normalizedScope = normalizeDistributionScope(scope);
+        if (!normalizedScope.equals(AttendanceDistributionService.SCOPE_DEPARTMENT) && semester == null) {
+            throw new BadRequestException("semester is required for " + normalizedScope + " distributions");
+        }
+        if (normalizedScope.equals(AttendanceDistributionService.SCOPE_CLASS) && section == null) {
+            throw new BadRequestException("section is required for CLASS distributions");
+        }
+        AttendanceDistributionDTO distribution = distributionService.getDistribution(
+            normalizedScope, department, semester, section, threshold, histogram);
+        return ResponseEntity.ok(ApiResponse.success(distribution));
+    }
+
+    /**
+     * GET /api/admin/dashboard/distribution/all
+     * Distribution summary of every group in a scope
+     */
+    @GetMapping("/distribution/all")
+    public ResponseEntity<ApiResponse<List<AttendanceDistributionDTO>>> getAllDistributions(
+            @RequestParam(defaultValue = "DEPARTMENT") String scope,
+            @RequestParam(defaultValue = "75") double threshold) {
+        List<AttendanceDistributionDTO> distributions = distributionService.getAllDistributions(
+            normalizeDistributionScope(scope), threshold);
+        return ResponseEntity.ok(ApiResponse.success(distributions));
+    }
+
+    private String normalizeDistributionScope(String scope) {
+        String normalized = scope.trim().toUpperCase();
+        if (!List.of(AttendanceDistributionService.SCOPE_DEPARTMENT,
+                     AttendanceDistributionService.SCOPE_SEMESTER,
+                     AttendanceDistributionService.SCOPE_CLASS).contains(normalized)) {
+            throw new BadRequestException("Invalid scope: " + scope);
+        }
+        return normalized;
+    }
+
     // ========== MASTER TIMETABLE MANAGEMENT ==========
 
     /**
@@ -166,6 +230,10 @@ public class AdminDashboardController {
                 }
             });
             
+            // Direct JDBC updates bypass the service layer and Hibernate
+            timetableProjectionService.invalidateAll();
+            referenceCacheService.evictTimetableSessions();
+            
             String summary = String.format("✅ Sync complete: %d total timetable assignments made\n%s", 
                                           totalAssignments[0], result.toString());
             logger.info(summary);
@@ -9,6 +9,8 @@ import com.attendance.repository.SubjectRepository;
 import com.attendance.repository.TimetableSessionRepository;
 import com.attendance.repository.ClassRepository;
 import com.attendance.service.TimetableManagementService;
+import com.attendance.service.TimetableProjectionService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
@@ -40,18 +42,21 @@ public class AdminTimetableController {
     private final StaffRepository staffRepository;
     private final ClassRepository classRepository;
     private final TimetableManagementService timetableManagementService;
+    private final TimetableProjectionService timetableProjectionService;
 
     public AdminTimetableController(
             TimetableSessionRepository timetableRepository,
             SubjectRepository subjectRepository,
             StaffRepository staffRepository,
             ClassRepository classRepository,
-            TimetableManagementService timetableManagementService) {
+            TimetableManagementService timetableManagementService,
+            TimetableProjectionService timetableProjectionService) {
         this.timetableRepository = timetableRepository;
         this.subjectRepository = subjectRepository;
         this.staffRepository = staffRepository;
         this.classRepository = classRepository;
         this.timetableManagementService = timetableManagementService;
+        this.timetableProjectionService = timetableProjectionService;
     }
 
     /**
@@ -244,6 +249,7 @@ public class AdminTimetableController {
             TimetableSession session = sessionOpt.get();
             session.setActive(false);
             timetableRepository.save(session);
+            timetableProjectionService.invalidateAll();
 
             return ResponseEntity.ok(ApiResponse.success("Session deleted successfully"));
 
@@ -255,33 +261,19 @@ public class AdminTimetableController {
 
     /**
      * Get all sessions for a department/semester/section (for grid view)
+     * The response is serialized once per class and rebuilt only after a timetable change
      */
     @GetMapping("/sessions")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getSessions(
+    public ResponseEntity<?> getSessions(
             @RequestParam String department,
             @RequestParam int semester,
-            @RequestParam String section) {
+            @RequestParam String section,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
-            List<TimetableSession> sessions = timetableRepository
-                    .findByDepartmentAndSemesterAndSectionAndActiveTrue(department, semester, section);
-
-            List<Map<String, Object>> result = sessions.stream()
-                    .map(session -> {
-                        Map<String, Object> data = new HashMap<>();
-                        data.put("id", session.getId());
-                        data.put("dayOfWeek", session.getDayOfWeek());
-                        data.put("startTime", session.getStartTime());
-                        data.put("endTime", session.getEndTime());
-                        data.put("subjectName", session.getSubjectName());
-                        data.put("subjectCode", session.getSubjectId());
-                        data.put("staffName", session.getFacultyName());
-                        data.put("staffCode", session.getFacultyId());
-                        data.put("roomNumber", session.getRoomNumber());
-                        return data;
-                    })
-                    .toList();
-
-            return ResponseEntity.ok(ApiResponse.success(result));
+            return timetableProjectionService
+                    .getClassTimetable(department, semester, section)
+                    .gridResponse()
+                    .toResponse(HttpEncoding.acceptsGzip(acceptEncoding));
 
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -1,14 +1,36 @@
 package com.attendance.controller;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
 import com.attendance.model.SessionAttendance;
+import com.attendance.model.Student;
+import com.attendance.service.AttendanceCubeService;
+import com.attendance.service.AttendanceCubeService.Dimension;
 import com.attendance.service.AttendanceReportService;
+import com.attendance.service.AttendanceSketchService;
+import com.attendance.service.AttendanceTrendService;
+import com.attendance.service.ReportExportService;
 import com.attendance.service.ReportService;
 import com.attendance.dto.ApiResponse;
+import com.attendance.dto.ApproximateAbsenceDTO;
+import com.attendance.dto.AttendanceCubeDTO;
 import com.attendance.dto.AttendanceReportDTO;
+import com.attendance.dto.AttendanceTrendDTO;
+import com.attendance.exception.BadRequestException;
+import com.attendance.model.AttendanceTrendBucket.Granularity;
+import com.attendance.model.AttendanceTrendBucket.Scope;
 
 @RestController
 @RequestMapping("/api/reports")
@@ -17,10 +39,22 @@ public class AttendanceReportController {
 
     private final AttendanceReportService service;
     private final ReportService reportService;
+    private final AttendanceTrendService trendService;
+    private final AttendanceSketchService sketchService;
+    private final ReportExportService exportService;
+    private final AttendanceCubeService cubeService;
 
-    public AttendanceReportController(AttendanceReportService service, ReportService reportService) {
+    public AttendanceReportController(AttendanceReportService service, ReportService reportService,
+                                      AttendanceTrendService trendService,
+                                      AttendanceSketchService sketchService,
+                                      ReportExportService exportService,
+                                      AttendanceCubeService cubeService) {
         this.service = service;
         this.reportService = reportService;
+        this.trendService = trendService;
+        this.sketchService = sketchService;
+        this.exportService = exportService;
+        this.cubeService = cubeService;
     }
 
     @GetMapping("/daily")
@@ -163,4 +197,283 @@ public class AttendanceReportController {
         return ResponseEntity.ok(ApiResponse.success(report));
     }
 
-}
\ No newline at end of file
+    /**
+     * GET /api/reports/trend
+     * Attendance time series served from pre-aggregated buckets
+     * 
+     * @param granularity DAY, WEEK or MONTH (default DAY)
+     * @param scope COLLEGE, DEPARTMENT, CLASS or SUBJECT (default COLLEGE)
+     * @param department Required for DEPARTMENT and CLASS
+     * @param semester Required for CLASS
+     * @param section Required for CLASS
+     * @param subjectId Required for SUBJECT
+     * @param fromDate Start date (default: 30 days before toDate)
+     * @param toDate End date (default: today)
+     */
+    @GetMapping("/trend")
+    public ResponseEntity<ApiResponse<AttendanceTrendDTO>> getTrend(
+            @RequestParam(defaultValue = "DAY") String granularity,
+            @RequestParam(defaultValue = "COLLEGE") String scope,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) Integer semester,
+            @RequestParam(required = false) String section,
+            @RequestParam(required = false) Long subjectId,
+            @RequestParam(required = false) String fromDate,
+            @RequestParam(required = false) String toDate) {
+
+        Granularity trendGranularity = parseEnum(Granularity.class, granularity, "granularity");
+        Scope trendScope = parseEnum(Scope.class, scope, "scope");
+
+        String key = switch (trendScope) {
+            case COLLEGE -> "";
+            case DEPARTMENT -> department;
+            case CLASS -> {
+                if (department == null || semester == null || section == null) {
+                    throw new BadRequestException("department, semester and section are required for CLASS trends");
+                }
+                yield AttendanceTrendService.classKey(department, semester, section);
+            }
+            case SUBJECT -> subjectId != null ? String.valueOf(subjectId) : null;
+        };
+
+        LocalDate to = toDate != null ? LocalDate.parse(toDate) : LocalDate.now();
+        LocalDate from = fromDate != null ? LocalDate.parse(fromDate) : to.minusDays(30);
+        AttendanceTrendDTO trend = trendService.getTrend(trendGranularity, trendScope, key, from, to);
+
+        return ResponseEntity.ok(ApiResponse.success(trend));
+    }
+
+    /**
+     * GET /api/reports/cube
+     * Slice of the attendance cube: roll up by grouping on fewer dimensions,
+     * drill down by grouping on more or filtering
+     * 
+     * @param groupBy Comma-separated dimensions: DEPARTMENT, SEMESTER, SECTION, SUBJECT, WEEK
+     *                (empty for a single grand total)
+     * @param department Optional department filter
+     * @param semester Optional semester filter
+     * @param section Optional section filter
+     * @param subjectId Optional subject filter
+     * @param fromDate Optional start date (whole weeks)
+     * @param toDate Optional end date (whole weeks)
+     */
+    @GetMapping("/cube")
+    public ResponseEntity<ApiResponse<AttendanceCubeDTO>> getCubeSlice(
+            @RequestParam(defaultValue = "") String groupBy,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) Integer semester,
+            @RequestParam(required = false) String section,
+            @RequestParam(required = false) Long subjectId,
+            @RequestParam(required = false) String fromDate,
+            @RequestParam(required = false) String toDate) {
+
+        List<Dimension> dimensions = new ArrayList<>();
+        for (String name : groupBy.split(",")) {
+            if (!name.isBlank()) {
+                dimensions.add(parseEnum(Dimension.class, name, "dimension"));
+            }
+        }
+        LocalDate from = fromDate != null ? LocalDate.parse(fromDate) : null;
+        LocalDate to = toDate != null ? LocalDate.parse(toDate) : null;
+        AttendanceCubeDTO slice = cubeService.slice(dimensions, department, semester, section, subjectId, from, to);
+
+        return ResponseEntity.ok(ApiResponse.success(slice));
+    }
+
+    /**
+     * GET /api/reports/approx/absentees
+     * Approximate count of distinct absent students and the most frequent absentees,
+     * answered from monthly sketches instead of scanning session_attendance.
+     * The range is widened to whole months.
+     * 
+     * @param fromDate Start date (default: first day of the month five months before toDate)
+     * @param toDate End date (default: today)
+     * @param k Number of top absentees to return (default 10, max 100)
+     */
+    @GetMapping("/approx/absentees")
+    public ResponseEntity<ApiResponse<ApproximateAbsenceDTO>> getApproximateAbsentees(
+            @RequestParam(required = false) String fromDate,
+            @RequestParam(required = false) String toDate,
+            @RequestParam(defaultValue = "10") int k) {
+
+        LocalDate to = toDate != null ? LocalDate.parse(toDate) : LocalDate.now();
+        LocalDate from = fromDate != null ? LocalDate.parse(fromDate) : to.minusMonths(5).withDayOfMonth(1);
+        return ResponseEntity.ok(ApiResponse.success(sketchService.getAbsenteeSummary(from, to, k)));
+    }
+
+    /**
+     * GET /api/reports/approx/absences/{studentId}
+     * Approximate number of absences of one student, with its error bound
+     * 
+     * @param studentId Student ID
+     * @param fromDate Start date (default: first day of the month five months before toDate)
+     * @param toDate End date (default: today)
+     */
+    @GetMapping("/approx/absences/{studentId}")
+    public ResponseEntity<ApiResponse<ApproximateAbsenceDTO>> getApproximateStudentAbsences(
+            @PathVariable Long studentId,
+            @RequestParam(required = false) String fromDate,
+            @RequestParam(required = false) String toDate) {
+
+        LocalDate to = toDate != null ? LocalDate.parse(toDate) : LocalDate.now();
+        LocalDate from = fromDate != null ? LocalDate.parse(fromDate) : to.minusMonths(5).withDayOfMonth(1);
+        return ResponseEntity.ok(ApiResponse.success(sketchService.getStudentAbsences(studentId, from, to)));
+    }
+
+    /**
+     * GET /api/reports/export/daily
+     * Daily report as CSV, written a page of students at a time (gzip when the client accepts it)
+     * 
+     * @param date Report date (YYYY-MM-DD format)
+     * @param department Optional department filter
+     * @param year Optional year filter (1, 2, or 3)
+     */
+    @GetMapping("/export/daily")
+    public void exportDailyReport(
+            @RequestParam String date,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) Integer year,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        LocalDate targetDate = LocalDate.parse(date);
+        try (Writer out = openCsv(request, response, "daily-report-" + targetDate + ".csv")) {
+            exportService.writeDailyReport(targetDate, department, year, out);
+        }
+    }
+
+    /**
+     * GET /api/reports/export/periodic
+     * Periodic (date range) report as CSV, written a page of students at a time (gzip when the client accepts it)
+     * 
+     * @param fromDate Start date (YYYY-MM-DD format)
+     * @param toDate End date (YYYY-MM-DD format)
+     * @param department Optional department filter
+     * @param year Optional year filter (1, 2, or 3)
+     */
+    @GetMapping("/export/periodic")
+    public void exportPeriodicReport(
+            @RequestParam String fromDate,
+            @RequestParam String toDate,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) Integer year,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        LocalDate from = LocalDate.parse(fromDate);
+        LocalDate to = LocalDate.parse(toDate);
+        if (from.isAfter(to)) {
+            throw new BadRequestException("fromDate must not be after toDate");
+        }
+        try (Writer out = openCsv(request, response, "periodic-report-" + from + "-to-" + to + ".csv")) {
+            exportService.writePeriodicReport(from, to, department, year, out);
+        }
+    }
+
+    /**
+     * GET /api/reports/export/semester-wise
+     * Semester-wise report as CSV, written a page of students at a time (gzip when the client accepts it)
+     * 
+     * @param department Optional department filter
+     * @param year Optional year filter (1, 2, or 3)
+     * @param semester Optional semester filter (1-6)
+     */
+    @GetMapping("/export/semester-wise")
+    public void exportSemesterReport(
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer semester,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        try (Writer out = openCsv(request, response, "semester-report.csv")) {
+            exportService.writeSemesterReport(department, year, semester, out);
+        }
+    }
+
+    /**
+     * GET /api/reports/export/student/{rollNumber}
+     * Every attendance record of one student as CSV (gzip when the client accepts it)
+     * 
+     * @param rollNumber Student roll number
+     * @param fromDate Optional start date filter
+     * @param toDate Optional end date filter
+     */
+    @GetMapping("/export/student/{rollNumber}")
+    public void exportStudentReport(
+            @PathVariable String rollNumber,
+            @RequestParam(required = false) String fromDate,
+            @RequestParam(required = false) String toDate,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        LocalDate from = fromDate != null ? LocalDate.parse(fromDate) : null;
+        LocalDate to = toDate != null ? LocalDate.parse(toDate) : null;
+        Student student = exportService.findStudent(rollNumber);
+        try (Writer out = openCsv(request, response, "student-report-" + student.getRollNo() + ".csv")) {
+            exportService.writeStudentReport(student, from, to, out);
+        }
+    }
+
+    /**
+     * GET /api/reports/export/extract
+     * Raw attendance records in the compact columnar format read by
+     * com.attendance.export.ColumnarAttendanceReader
+     * 
+     * @param fromDate Start date (YYYY-MM-DD format)
+     * @param toDate End date (YYYY-MM-DD format), at most one year after fromDate
+     * @param department Optional department filter
+     */
+    @GetMapping("/export/extract")
+    public void exportColumnarExtract(
+            @RequestParam String fromDate,
+            @RequestParam String toDate,
+            @RequestParam(required = false) String department,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        LocalDate from = LocalDate.parse(fromDate);
+        LocalDate to = LocalDate.parse(toDate);
+        if (from.isAfter(to) || to.isAfter(from.plusYears(1))) {
+            throw new BadRequestException("Date range must be ordered and at most one year long");
+        }
+        try (OutputStream out = openDownload(request, response, "application/octet-stream",
+                "attendance-" + from + "-to-" + to + ".atx")) {
+            exportService.writeColumnarExtract(from, to, department, out);
+        }
+    }
+
+    /**
+     * Commit CSV headers and wrap the servlet output stream, gzipped when accepted
+     * Closing the writer finishes the gzip trailer.
+     */
+    private static Writer openCsv(HttpServletRequest request, HttpServletResponse response,
+                                  String filename) throws IOException {
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream out = openDownload(request, response, "text/csv", filename);
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 8192);
+    }
+
+    private static OutputStream openDownload(HttpServletRequest request, HttpServletResponse response,
+                                             String contentType, String filename) throws IOException {
+        response.setContentType(contentType);
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + filename.replace("\"", "") + "\"");
+        response.setHeader("Vary", "Accept-Encoding");
+
+        OutputStream out = response.getOutputStream();
+        if (HttpEncoding.acceptsGzip(request.getHeader("Accept-Encoding"))) {
+            response.setHeader("Content-Encoding", "gzip");
+            out = new GZIPOutputStream(out, 8192);
+        }
+        return out;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String name) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid " + name + ": " + value);
+        }
+    }
+
+}
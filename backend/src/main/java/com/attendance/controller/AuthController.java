@@ -1,7 +1,10 @@
 package com.attendance.controller;
 
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -17,10 +20,16 @@ import com.attendance.dto.ApiResponse;
 import com.attendance.dto.LoginRequest;
 import com.attendance.dto.LoginResponse;
 import com.attendance.model.RefreshToken;
+import com.attendance.model.Staff;
+import com.attendance.model.Student;
 import com.attendance.model.User;
-import com.attendance.repository.RefreshTokenRepository;
+import com.attendance.repository.StaffRepository;
+import com.attendance.repository.StudentRepository;
 import com.attendance.repository.UserRepository;
 import com.attendance.security.JwtUtil;
+import com.attendance.security.LoginGate;
+import com.attendance.security.RefreshTokenStore;
+import com.attendance.security.TokenRevocationList;
 
 import jakarta.validation.Valid;
 
@@ -31,20 +40,55 @@ public class AuthController {
     private final AuthenticationManager authManager;
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
+    private final StudentRepository studentRepository;
+    private final StaffRepository staffRepository;
+    private final LoginGate loginGate;
+    private final TokenRevocationList tokenRevocationList;
 
     public AuthController(AuthenticationManager authManager,
                           JwtUtil jwtUtil,
                           UserRepository userRepository,
-                          RefreshTokenRepository refreshTokenRepository) {
+                          RefreshTokenStore refreshTokenStore,
+                          StudentRepository studentRepository,
+                          StaffRepository staffRepository,
+                          LoginGate loginGate,
+                          TokenRevocationList tokenRevocationList) {
         this.authManager = authManager;
         this.jwtUtil = jwtUtil;
         this.userRepository = userRepository;
-        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenStore = refreshTokenStore;
+        this.studentRepository = studentRepository;
+        this.staffRepository = staffRepository;
+        this.loginGate = loginGate;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
+    /**
+     * Password check and token issue run on the login pool, so the servlet thread
+     * is released while BCrypt works; locked accounts and overflow are answered at once
+     */
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<LoginResponse>> login(@Valid @RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<ApiResponse<LoginResponse>>> login(@Valid @RequestBody LoginRequest request) {
+        long lockedSeconds = loginGate.lockedSeconds(request.getUsername());
+        if (lockedSeconds > 0) {
+            return CompletableFuture.completedFuture(lockedOut(lockedSeconds));
+        }
+        try {
+            return loginGate.submit(() -> authenticate(request));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(503)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(loginGate.getRetryAfterSeconds()))
+                    .body(ApiResponse.error("Too many logins right now. Please retry shortly")));
+        }
+    }
+
+    private ResponseEntity<ApiResponse<LoginResponse>> authenticate(LoginRequest request) {
+        // Checked again here: failures of attempts queued ahead of this one may have locked the account
+        long lockedSeconds = loginGate.lockedSeconds(request.getUsername());
+        if (lockedSeconds > 0) {
+            return lockedOut(lockedSeconds);
+        }
         try {
             authManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
@@ -54,16 +98,15 @@ public class AuthController {
             User user = userRepository.findByUsernameIgnoreCase(request.getUsername())
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            String token = jwtUtil.generateToken(request.getUsername());
+            String token = issueAccessToken(user);
             String refreshToken = jwtUtil.generateRefreshToken(request.getUsername());
 
-            // Store refresh token in database
-            RefreshToken refreshTokenEntity = new RefreshToken(
+            // Store the refresh token's hash in database
+            refreshTokenStore.save(
                 user.getId(),
                 refreshToken,
                 Instant.now().plusMillis(86400000) // 24 hours
             );
-            refreshTokenRepository.save(refreshTokenEntity);
 
             LoginResponse response = new LoginResponse(
                     token, 
@@ -75,22 +118,30 @@ public class AuthController {
                     user.getUsername() + "@attendx.edu"
             );
 
+            loginGate.recordSuccess(request.getUsername());
             return ResponseEntity.ok(ApiResponse.success("Login successful", response));
         } catch (AuthenticationException e) {
+            loginGate.recordFailure(request.getUsername());
             return ResponseEntity.status(401)
                     .body(ApiResponse.error("Invalid username or password"));
         }
     }
 
+    private static ResponseEntity<ApiResponse<LoginResponse>> lockedOut(long lockedSeconds) {
+        return ResponseEntity.status(429)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(lockedSeconds))
+                .body(ApiResponse.error("Too many failed attempts. Try again later"));
+    }
+
     @PostMapping("/refresh")
     public ResponseEntity<ApiResponse<LoginResponse>> refreshToken(@RequestParam String refreshToken) {
         try {
             // Verify refresh token exists in database
-            RefreshToken storedToken = refreshTokenRepository.findByToken(refreshToken)
+            RefreshToken storedToken = refreshTokenStore.find(refreshToken)
                     .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
             
             if (storedToken.isExpired()) {
-                refreshTokenRepository.delete(storedToken);
+                refreshTokenStore.delete(storedToken);
                 return ResponseEntity.status(401)
                         .body(ApiResponse.error("Refresh token expired"));
             }
@@ -99,17 +150,21 @@ public class AuthController {
             User user = userRepository.findByUsername(username)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            String newToken = jwtUtil.generateToken(username);
+            if (!user.isEnabled()) {
+                return ResponseEntity.status(401)
+                        .body(ApiResponse.error("Account is disabled"));
+            }
+
+            String newToken = issueAccessToken(user);
             String newRefreshToken = jwtUtil.generateRefreshToken(username);
 
             // Replace old refresh token
-            refreshTokenRepository.delete(storedToken);
-            RefreshToken newRefreshTokenEntity = new RefreshToken(
+            refreshTokenStore.delete(storedToken);
+            refreshTokenStore.save(
                 user.getId(),
                 newRefreshToken,
                 Instant.now().plusMillis(86400000)
             );
-            refreshTokenRepository.save(newRefreshTokenEntity);
 
             LoginResponse response = new LoginResponse(
                     newToken,
@@ -139,7 +194,11 @@ public class AuthController {
                     .orElseThrow(() -> new RuntimeException("User not found"));
             
             // Revoke all refresh tokens for this user
-            refreshTokenRepository.deleteByUserId(user.getId());
+            refreshTokenStore.deleteAllForUser(user.getId());
+
+            // And the access token itself, which would otherwise stay valid until it expires
+            jwtUtil.extractIdentity(token).ifPresent(identity ->
+                    tokenRevocationList.revoke(identity.tokenId(), identity.expiresAt()));
             
             return ResponseEntity.ok(ApiResponse.success("Logged out successfully", null));
         } catch (Exception e) {
@@ -147,4 +206,18 @@ public class AuthController {
                     .body(ApiResponse.error("Logout failed"));
         }
     }
+
+    /**
+     * Access token with the role and linked Student/Staff id embedded,
+     * so authenticated requests do not have to look the account up again
+     */
+    private String issueAccessToken(User user) {
+        Long studentId = "ROLE_STUDENT".equals(user.getRole())
+                ? studentRepository.findByUserId(user.getId()).map(Student::getId).orElse(null)
+                : null;
+        Long staffId = "ROLE_STAFF".equals(user.getRole())
+                ? staffRepository.findByUserId(user.getId()).map(Staff::getId).orElse(null)
+                : null;
+        return jwtUtil.generateToken(user, studentId, staffId);
+    }
 }
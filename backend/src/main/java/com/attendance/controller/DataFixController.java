@@ -1,10 +1,13 @@
 package com.attendance.controller;
 
+import com.attendance.config.AggregateBootstrap;
 import com.attendance.dto.ApiResponse;
 import com.attendance.model.Student;
 import com.attendance.model.TimetableSession;
 import com.attendance.repository.StudentRepository;
 import com.attendance.repository.TimetableSessionRepository;
+import com.attendance.service.DashboardVersionService;
+import com.attendance.service.TimetableProjectionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
@@ -29,11 +32,20 @@ public class DataFixController {
 
     private final TimetableSessionRepository timetableRepository;
     private final StudentRepository studentRepository;
+    private final AggregateBootstrap aggregateBootstrap;
+    private final TimetableProjectionService timetableProjectionService;
+    private final DashboardVersionService dashboardVersionService;
 
     public DataFixController(TimetableSessionRepository timetableRepository,
-                            StudentRepository studentRepository) {
+                            StudentRepository studentRepository,
+                            AggregateBootstrap aggregateBootstrap,
+                            TimetableProjectionService timetableProjectionService,
+                            DashboardVersionService dashboardVersionService) {
         this.timetableRepository = timetableRepository;
         this.studentRepository = studentRepository;
+        this.aggregateBootstrap = aggregateBootstrap;
+        this.timetableProjectionService = timetableProjectionService;
+        this.dashboardVersionService = dashboardVersionService;
     }
 
     /**
@@ -124,6 +136,10 @@ public class DataFixController {
             
             if (totalFixed > 0) {
                 logger.info("✅ Semester mismatch fix completed: {} sessions updated", totalFixed);
+                // Attendance is grouped by session semester, so the summaries must follow
+                aggregateBootstrap.rebuildAggregates();
+                timetableProjectionService.invalidateAll();
+                dashboardVersionService.invalidateAll();
                 return ResponseEntity.ok(ApiResponse.success(
                     String.format("Successfully fixed %d timetable sessions", totalFixed), result));
             } else {
@@ -273,6 +289,11 @@ public class DataFixController {
             result.put("totalFixed", totalFixed);
             result.put("details", fixDetails);
             logger.info("✅ Section mismatch fix complete: {} students updated", totalFixed);
+            if (totalFixed > 0) {
+                // Distributions group students by their own section
+                aggregateBootstrap.rebuildAggregates();
+                dashboardVersionService.invalidateAll();
+            }
             
             return ResponseEntity.ok(ApiResponse.success(result));
 
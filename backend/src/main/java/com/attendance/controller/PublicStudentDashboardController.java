@@ -46,11 +46,9 @@ public class PublicStudentDashboardController {
             
             System.out.println("Found student: " + student.getName() + ", user_id: " + (student.getUser() != null ? student.getUser().getId() : "NULL"));
             
-            // Get dashboard data using the student's username
+            // The student is already loaded, no need to go back through the user account
             if (student.getUser() != null) {
-                String username = student.getUser().getUsername();
-                System.out.println("Calling dashboardService with username: " + username);
-                StudentDashboardDTO dashboard = dashboardService.getStudentDashboard(username);
+                StudentDashboardDTO dashboard = dashboardService.getStudentDashboard(student);
                 return ResponseEntity.ok(ApiResponse.success(dashboard));
             } else {
                 throw new RuntimeException("Student does not have linked user account");
@@ -20,6 +20,7 @@ import com.attendance.repository.SubjectRepository;
 import com.attendance.repository.TimetableSessionRepository;
 import com.attendance.repository.UserRepository;
 import com.attendance.service.StaffService;
+import com.attendance.service.TimetableProjectionService;
 import com.attendance.exception.ResourceNotFoundException;
 
 import jakarta.validation.Valid;
@@ -36,15 +37,18 @@ public class StaffController {
     private final TimetableSessionRepository timetableRepo;
     private final PasswordEncoder passwordEncoder;
     private final StaffService staffService;
+    private final TimetableProjectionService timetableProjectionService;
 
     public StaffController(StaffRepository staffRepo, UserRepository userRepo, SubjectRepository subjectRepo, 
-                          TimetableSessionRepository timetableRepo, PasswordEncoder passwordEncoder, StaffService staffService) {
+                          TimetableSessionRepository timetableRepo, PasswordEncoder passwordEncoder, StaffService staffService,
+                          TimetableProjectionService timetableProjectionService) {
         this.staffRepo = staffRepo;
         this.userRepo = userRepo;
         this.subjectRepo = subjectRepo;
         this.timetableRepo = timetableRepo;
         this.passwordEncoder = passwordEncoder;
         this.staffService = staffService;
+        this.timetableProjectionService = timetableProjectionService;
     }
 
     /**
@@ -112,6 +116,7 @@ public class StaffController {
             
             // AUTO-ASSIGN STAFF TO TIMETABLE SESSIONS FOR THEIR SUBJECT
             assignStaffToTimetableSessions(savedStaff);
+            timetableProjectionService.invalidateAll();
             
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("Staff registered successfully with timetable assignment", savedStaff));
@@ -213,7 +218,7 @@ public class StaffController {
      */
     @PostMapping
     public ResponseEntity<ApiResponse<Staff>> add(@RequestBody Staff staff) {
-        Staff saved = staffRepo.save(staff);
+        Staff saved = staffService.save(staff);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Staff created successfully", saved));
     }
@@ -270,6 +275,7 @@ public class StaffController {
                     
                     // AUTO-ASSIGN TO TIMETABLE SESSIONS
                     assignStaffToTimetableSessions(updated);
+                    timetableProjectionService.invalidateAll();
                     
                     return ResponseEntity.ok(ApiResponse.success("Staff updated successfully with timetable sync", updated));
                 })
@@ -282,13 +288,12 @@ public class StaffController {
      */
     @PutMapping("/{id}/disable")
     public ResponseEntity<ApiResponse<Void>> disable(@PathVariable Long id) {
-        return staffRepo.findById(id)
-                .map(staff -> {
-                    staff.setActive(false);
-                    staffRepo.save(staff);
-                    return ResponseEntity.ok(ApiResponse.<Void>success("Staff disabled successfully", null));
-                })
-                .orElse(ResponseEntity.notFound().build());
+        try {
+            staffService.disable(id);
+            return ResponseEntity.ok(ApiResponse.<Void>success("Staff disabled successfully", null));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
     }
 
     /**
@@ -299,6 +304,7 @@ public class StaffController {
     public ResponseEntity<ApiResponse<Void>> delete(@PathVariable Long id) {
         try {
             staffService.delete(id);
+            timetableProjectionService.invalidateAll();
             return ResponseEntity.ok(ApiResponse.<Void>success("Staff deleted successfully", null));
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -1,14 +1,17 @@
 package com.attendance.controller;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.attendance.dto.ApiResponse;
 import com.attendance.dto.StaffDashboardDTO;
+import com.attendance.security.ResolvedPrincipal;
+import com.attendance.service.DashboardVersionService;
 import com.attendance.service.StaffDashboardService;
 
 /**
@@ -23,10 +26,16 @@ import com.attendance.service.StaffDashboardService;
 @PreAuthorize("hasRole('STAFF')")
 public class StaffDashboardController {
 
+    // Browsers may keep the body but must revalidate it with If-None-Match every time
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final StaffDashboardService dashboardService;
+    private final DashboardVersionService versionService;
 
-    public StaffDashboardController(StaffDashboardService dashboardService) {
+    public StaffDashboardController(StaffDashboardService dashboardService,
+                                    DashboardVersionService versionService) {
         this.dashboardService = dashboardService;
+        this.versionService = versionService;
     }
 
     /**
@@ -34,9 +43,8 @@ public class StaffDashboardController {
      * Returns complete staff dashboard with assigned classes
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<StaffDashboardDTO>> getDashboard(Authentication authentication) {
-        String userId = authentication.getName(); // Staff user ID from JWT
-        StaffDashboardDTO dashboard = dashboardService.getStaffDashboard(userId);
+    public ResponseEntity<ApiResponse<StaffDashboardDTO>> getDashboard(ResolvedPrincipal principal) {
+        StaffDashboardDTO dashboard = dashboardService.getStaffDashboard(principal.requireStaff());
         return ResponseEntity.ok(ApiResponse.success(dashboard));
     }
 
@@ -46,21 +54,24 @@ public class StaffDashboardController {
      */
     @GetMapping("/classes")
     public ResponseEntity<ApiResponse<StaffDashboardDTO.AssignedClassDTO[]>> getAssignedClasses(
-            Authentication authentication) {
-        String userId = authentication.getName();
-        var classes = dashboardService.getAssignedClasses(userId);
+            ResolvedPrincipal principal) {
+        var classes = dashboardService.getAssignedClasses(principal.requireStaff());
         return ResponseEntity.ok(ApiResponse.success(classes));
     }
 
     /**
      * GET /api/staff/dashboard/sessions/today
      * Returns today's teaching sessions
+     * Answers 304 when If-None-Match still matches, without querying the sessions
      */
     @GetMapping("/sessions/today")
     public ResponseEntity<ApiResponse<StaffDashboardDTO.TodaySessionDTO[]>> getTodaySessions(
-            Authentication authentication) {
-        String userId = authentication.getName();
-        var sessions = dashboardService.getTodaySessions(userId);
-        return ResponseEntity.ok(ApiResponse.success(sessions));
+            ResolvedPrincipal principal, WebRequest request) {
+        Long staffId = principal.getStaffId();
+        if (staffId != null && request.checkNotModified(versionService.staffTodaySessionsETag(staffId))) {
+            return null;
+        }
+        var sessions = dashboardService.getTodaySessions(principal.requireStaff());
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(sessions));
     }
 }
@@ -1,16 +1,18 @@
 package com.attendance.controller;
 
 import com.attendance.dto.ApiResponse;
+import com.attendance.dto.TimetableRowDTO.ClassPortalRowDTO;
 import com.attendance.model.TimetableSession;
 import com.attendance.repository.TimetableSessionRepository;
 import com.attendance.repository.StaffRepository;
 import com.attendance.model.Staff;
+import com.attendance.service.TimetableProjectionService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -25,20 +27,25 @@ public class StaffPortalController {
 
     private final TimetableSessionRepository timetableRepository;
     private final StaffRepository staffRepository;
+    private final TimetableProjectionService timetableProjectionService;
 
     public StaffPortalController(TimetableSessionRepository timetableRepository,
-                                 StaffRepository staffRepository) {
+                                 StaffRepository staffRepository,
+                                 TimetableProjectionService timetableProjectionService) {
         this.timetableRepository = timetableRepository;
         this.staffRepository = staffRepository;
+        this.timetableProjectionService = timetableProjectionService;
     }
 
     /**
      * Get staff timetable filtered by staff_id (logged-in teacher's schedule only)
      * Use staffCode parameter to identify the teacher
+     * Served as the prebuilt, pre-serialized projection of the staff member's schedule
      */
     @GetMapping("/my-timetable")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getMyTimetable(
-            @RequestParam String staffCode
+    public ResponseEntity<?> getMyTimetable(
+            @RequestParam String staffCode,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
     ) {
         try {
             // Find staff by staff code
@@ -51,35 +58,11 @@ public class StaffPortalController {
 
             Staff staff = staffOpt.get();
             
-            // Fetch only sessions assigned to this staff member
-            List<TimetableSession> sessions = timetableRepository
-                    .findByStaffIdAndActiveTrue(staff.getId());
-
-            // Transform sessions to include details
-            List<Map<String, Object>> result = sessions.stream()
-                    .map(session -> {
-                        Map<String, Object> sessionData = new HashMap<>();
-                        sessionData.put("id", session.getId());
-                        sessionData.put("dayOfWeek", session.getDayOfWeek());
-                        sessionData.put("startTime", session.getStartTime());
-                        sessionData.put("endTime", session.getEndTime());
-                        sessionData.put("subjectName", session.getSubjectName());
-                        sessionData.put("department", session.getDepartment());
-                        sessionData.put("semester", session.getSemester());
-                        sessionData.put("section", session.getSection());
-                        sessionData.put("roomNumber", session.getRoomNumber());
-                        
-                        // Build class context: Year X Section Y - Department
-                        int year = (session.getSemester() - 1) / 2 + 1;
-                        String classContext = String.format("Year %d %s - %s", 
-                            year, session.getSection(), session.getDepartment());
-                        sessionData.put("classContext", classContext);
-                        
-                        return sessionData;
-                    })
-                    .collect(Collectors.toList());
-
-            return ResponseEntity.ok(ApiResponse.success(result));
+            // Precompiled schedule for this staff member only
+            return timetableProjectionService
+                    .getStaffTimetable(staff.getId())
+                    .portalResponse()
+                    .toResponse(HttpEncoding.acceptsGzip(acceptEncoding));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.internalServerError()
@@ -92,7 +75,7 @@ public class StaffPortalController {
      * Public endpoint - no authentication required
      */
     @GetMapping("/timetable")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getStaffTimetable(
+    public ResponseEntity<ApiResponse<List<ClassPortalRowDTO>>> getStaffTimetable(
             @RequestParam String department,
             @RequestParam int year,
             @RequestParam String className
@@ -101,34 +84,13 @@ public class StaffPortalController {
             // Calculate semester from year (Year 1 = Semesters 1-2, Year 2 = Semesters 3-4, etc.)
             int semesterStart = (year - 1) * 2 + 1;
             
-            // Fetch sessions for both semesters of the year
-            List<TimetableSession> sessions = timetableRepository
-                    .findByDepartmentAndSemesterAndSectionAndActiveTrue(department, semesterStart, className);
-            
-            // Also get semester 2 sessions
-            List<TimetableSession> sessions2 = timetableRepository
-                    .findByDepartmentAndSemesterAndSectionAndActiveTrue(department, semesterStart + 1, className);
-            
-            sessions.addAll(sessions2);
-
-            // Transform sessions to include class context
-            List<Map<String, Object>> result = sessions.stream()
-                    .map(session -> {
-                        Map<String, Object> sessionData = new HashMap<>();
-                        sessionData.put("id", session.getId());
-                        sessionData.put("dayOfWeek", session.getDayOfWeek());
-                        sessionData.put("startTime", session.getStartTime());
-                        sessionData.put("endTime", session.getEndTime());
-                        sessionData.put("subjectName", session.getSubjectName());
-                        
-                        // Build class context string: "Year X Class Y - Department"
-                        String classContext = String.format("Year %d %s - %s", 
-                            year, className, department);
-                        sessionData.put("classContext", classContext);
-                        
-                        return sessionData;
-                    })
-                    .collect(Collectors.toList());
+            // Combine the precompiled projections of both semesters of the year
+            List<ClassPortalRowDTO> result = new ArrayList<>(timetableProjectionService
+                    .getClassTimetable(department, semesterStart, className)
+                    .portalRows());
+            result.addAll(timetableProjectionService
+                    .getClassTimetable(department, semesterStart + 1, className)
+                    .portalRows());
 
             return ResponseEntity.ok(ApiResponse.success(result));
         } catch (Exception e) {
@@ -1,6 +1,7 @@
 package com.attendance.controller;
 
 import com.attendance.dto.ApiResponse;
+import com.attendance.dto.TimetableRowDTO.ScheduleRowDTO;
 import com.attendance.model.TimetableSession;
 import com.attendance.model.Student;
 import com.attendance.repository.TimetableSessionRepository;
@@ -41,7 +42,7 @@ public class StaffTimetableController {
      * READ-ONLY for STAFF role
      */
     @GetMapping("/schedule")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getTeacherSchedule(
+    public ResponseEntity<ApiResponse<List<ScheduleRowDTO>>> getTeacherSchedule(
             @RequestParam(required = false) String department,
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false) String className,
@@ -69,30 +70,27 @@ public class StaffTimetableController {
         }
 
         // Map to DTO with formatted class context
-        List<Map<String, Object>> scheduleData = sessions.stream()
+        List<ScheduleRowDTO> scheduleData = sessions.stream()
             .map(session -> {
-                Map<String, Object> item = new HashMap<>();
-                item.put("id", session.getId());
-                item.put("dayOfWeek", session.getDayOfWeek());
-                item.put("startTime", session.getStartTime().toString());
-                item.put("endTime", session.getEndTime().toString());
-                item.put("subjectName", session.getSubjectName());
-                item.put("facultyName", session.getFacultyName());
-                item.put("roomNumber", session.getRoomNumber());
-                item.put("department", session.getDepartment());
-                item.put("semester", session.getSemester());
-                item.put("section", session.getSection());
-                
                 // Format: [Year] [Class] - [Department Name]
-                String sessionYear = session.getYear();
                 String section = session.getSection() != null ? session.getSection() : "";
-                String classContext = String.format("%s %s - %s", 
-                    sessionYear, section, session.getDepartment());
-                item.put("classContext", classContext);
-                
-                return item;
+                String classContext = session.getYear() + " " + section + " - " + session.getDepartment();
+
+                return new ScheduleRowDTO(
+                    session.getId(),
+                    session.getDayOfWeek(),
+                    session.getStartTime().toString(),
+                    session.getEndTime().toString(),
+                    session.getSubjectName(),
+                    session.getFacultyName(),
+                    session.getRoomNumber(),
+                    session.getDepartment(),
+                    session.getSemester(),
+                    session.getSection(),
+                    classContext
+                );
             })
-            .collect(Collectors.toList());
+            .toList();
 
         return ResponseEntity.ok(ApiResponse.success(scheduleData));
     }
@@ -1,5 +1,6 @@
 package com.attendance.controller;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -13,11 +14,15 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 import com.attendance.dto.ApiResponse;
 import com.attendance.dto.StudentDTO;
+import com.attendance.dto.StudentImportReportDTO;
 import com.attendance.dto.QuickAttendanceStudentDTO;
+import com.attendance.service.StudentImportService;
 import com.attendance.service.StudentService;
 
 import jakarta.validation.Valid;
@@ -27,9 +32,11 @@ import jakarta.validation.Valid;
 public class StudentController {
 
     private final StudentService service;
+    private final StudentImportService importService;
 
-    public StudentController(StudentService service) {
+    public StudentController(StudentService service, StudentImportService importService) {
         this.service = service;
+        this.importService = importService;
     }
 
     @PostMapping
@@ -43,6 +50,22 @@ public class StudentController {
         }
     }
 
+    /**
+     * Bulk import from a CSV upload; rows that fail are listed in the report
+     * and everything else is imported
+     */
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<StudentImportReportDTO>> importCsv(@RequestPart("file") MultipartFile file) {
+        try {
+            StudentImportReportDTO report = importService.importCsv(file.getInputStream());
+            return ResponseEntity.ok(ApiResponse.success(
+                report.getImported() + " of " + report.getTotalRows() + " students imported", report));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Could not read the uploaded file"));
+        }
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'STAFF')")
     public ResponseEntity<ApiResponse<List<?>>> getAll(
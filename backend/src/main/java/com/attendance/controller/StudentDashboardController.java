@@ -1,14 +1,17 @@
 package com.attendance.controller;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.attendance.dto.ApiResponse;
 import com.attendance.dto.StudentDashboardDTO;
+import com.attendance.security.ResolvedPrincipal;
+import com.attendance.service.DashboardVersionService;
 import com.attendance.service.StudentDashboardService;
 
 /**
@@ -23,22 +26,33 @@ import com.attendance.service.StudentDashboardService;
 @PreAuthorize("hasRole('STUDENT')")
 public class StudentDashboardController {
 
+    // Browsers may keep the body but must revalidate it with If-None-Match every time
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final StudentDashboardService dashboardService;
+    private final DashboardVersionService versionService;
 
-    public StudentDashboardController(StudentDashboardService dashboardService) {
+    public StudentDashboardController(StudentDashboardService dashboardService,
+                                      DashboardVersionService versionService) {
         this.dashboardService = dashboardService;
+        this.versionService = versionService;
     }
 
     /**
      * GET /api/student/dashboard
      * Returns complete dashboard data for the authenticated student
      * Includes: identity, attendance percentages, weekly timetable
+     * Answers 304 when If-None-Match still matches, without building the dashboard
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<StudentDashboardDTO>> getDashboard(Authentication authentication) {
-        String userId = authentication.getName(); // User ID from JWT token
-        StudentDashboardDTO dashboard = dashboardService.getStudentDashboard(userId);
-        return ResponseEntity.ok(ApiResponse.success(dashboard));
+    public ResponseEntity<ApiResponse<StudentDashboardDTO>> getDashboard(ResolvedPrincipal principal,
+                                                                         WebRequest request) {
+        Long studentId = principal.getStudentId();
+        if (studentId != null && request.checkNotModified(versionService.studentDashboardETag(studentId))) {
+            return null;
+        }
+        StudentDashboardDTO dashboard = dashboardService.getStudentDashboard(principal.requireStudent());
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(dashboard));
     }
 
     /**
@@ -47,22 +61,25 @@ public class StudentDashboardController {
      */
     @GetMapping("/attendance")
     public ResponseEntity<ApiResponse<StudentDashboardDTO.SubjectAttendanceDTO[]>> getAttendance(
-            Authentication authentication) {
-        String userId = authentication.getName();
-        var attendance = dashboardService.getStudentAttendance(userId);
+            ResolvedPrincipal principal) {
+        var attendance = dashboardService.getStudentAttendance(principal.requireStudent());
         return ResponseEntity.ok(ApiResponse.success(attendance));
     }
 
     /**
      * GET /api/student/dashboard/timetable
      * Returns weekly timetable for the student's class
+     * Answers 304 when If-None-Match still matches
      */
     @GetMapping("/timetable")
     public ResponseEntity<ApiResponse<com.attendance.dto.WeeklyTimetableDTO>> getTimetable(
-            Authentication authentication) {
-        String userId = authentication.getName();
-        var timetable = dashboardService.getStudentTimetable(userId);
-        return ResponseEntity.ok(ApiResponse.success(timetable));
+            ResolvedPrincipal principal, WebRequest request) {
+        Long studentId = principal.getStudentId();
+        if (studentId != null && request.checkNotModified(versionService.studentTimetableETag(studentId))) {
+            return null;
+        }
+        var timetable = dashboardService.getStudentTimetable(principal.requireStudent());
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(timetable));
     }
 
     /**
@@ -71,9 +88,8 @@ public class StudentDashboardController {
      */
     @GetMapping("/timetable/today")
     public ResponseEntity<ApiResponse<com.attendance.dto.WeeklyTimetableDTO.TimetableSlotDTO[]>> getTodayTimetable(
-            Authentication authentication) {
-        String userId = authentication.getName();
-        var todaySchedule = dashboardService.getTodayTimetable(userId);
+            ResolvedPrincipal principal) {
+        var todaySchedule = dashboardService.getTodayTimetable(principal.requireStudent());
         return ResponseEntity.ok(ApiResponse.success(todaySchedule));
     }
 
@@ -83,9 +99,8 @@ public class StudentDashboardController {
      */
     @GetMapping("/faculty")
     public ResponseEntity<ApiResponse<com.attendance.dto.FacultyDTO[]>> getFaculty(
-            Authentication authentication) {
-        String userId = authentication.getName();
-        var faculty = dashboardService.getDepartmentFaculty(userId);
+            ResolvedPrincipal principal) {
+        var faculty = dashboardService.getDepartmentFaculty(principal.requireStudent());
         return ResponseEntity.ok(ApiResponse.success(faculty));
     }
 }
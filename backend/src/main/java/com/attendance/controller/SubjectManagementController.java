@@ -8,6 +8,7 @@ import com.attendance.model.TimetableSession;
 import com.attendance.repository.SubjectRepository;
 import com.attendance.repository.StaffRepository;
 import com.attendance.repository.TimetableSessionRepository;
+import com.attendance.service.TimetableProjectionService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -33,14 +34,17 @@ public class SubjectManagementController {
     private final SubjectRepository subjectRepository;
     private final StaffRepository staffRepository;
     private final TimetableSessionRepository timetableSessionRepository;
+    private final TimetableProjectionService timetableProjectionService;
 
     public SubjectManagementController(
             SubjectRepository subjectRepository,
             StaffRepository staffRepository,
-            TimetableSessionRepository timetableSessionRepository) {
+            TimetableSessionRepository timetableSessionRepository,
+            TimetableProjectionService timetableProjectionService) {
         this.subjectRepository = subjectRepository;
         this.staffRepository = staffRepository;
         this.timetableSessionRepository = timetableSessionRepository;
+        this.timetableProjectionService = timetableProjectionService;
     }
 
     /**
@@ -266,6 +270,8 @@ public class SubjectManagementController {
             // Note: subject_code is not updated to maintain integrity
 
             Subject updatedSubject = subjectRepository.save(subject);
+            // Subject names are baked into the timetable projections
+            timetableProjectionService.invalidateAll();
 
             return ResponseEntity.ok(ApiResponse.success(
                     "Subject updated successfully",
@@ -12,6 +12,8 @@ import com.attendance.repository.StudentRepository;
 import com.attendance.repository.TimetableSessionRepository;
 import com.attendance.repository.SessionAttendanceRepository;
 import com.attendance.dto.ApiResponse;
+import com.attendance.config.AggregateBootstrap;
+import com.attendance.service.DashboardVersionService;
 
 /**
  * Test Data Controller
@@ -26,13 +28,19 @@ public class TestDataController {
     private final StudentRepository studentRepository;
     private final TimetableSessionRepository timetableSessionRepository;
     private final SessionAttendanceRepository sessionAttendanceRepository;
+    private final AggregateBootstrap aggregateBootstrap;
+    private final DashboardVersionService dashboardVersionService;
 
     public TestDataController(StudentRepository studentRepository, 
                               TimetableSessionRepository timetableSessionRepository,
-                              SessionAttendanceRepository sessionAttendanceRepository) {
+                              SessionAttendanceRepository sessionAttendanceRepository,
+                              AggregateBootstrap aggregateBootstrap,
+                              DashboardVersionService dashboardVersionService) {
         this.studentRepository = studentRepository;
         this.timetableSessionRepository = timetableSessionRepository;
         this.sessionAttendanceRepository = sessionAttendanceRepository;
+        this.aggregateBootstrap = aggregateBootstrap;
+        this.dashboardVersionService = dashboardVersionService;
     }
 
     /**
@@ -101,6 +109,8 @@ public class TestDataController {
                 "✅ Created %d test students (10 per semester, 60 total) for Computer Science Year 1-3 Section A", 
                 totalCreatedCount);
             System.out.println(message);
+            aggregateBootstrap.rebuildAggregates();
+            dashboardVersionService.invalidateAll();
             return ResponseEntity.ok(ApiResponse.success(message));
 
         } catch (Exception e) {
@@ -182,6 +192,8 @@ public class TestDataController {
                 createdCount, department, semester, section, today);
             
             System.out.println(message);
+            aggregateBootstrap.rebuildAggregates();
+            dashboardVersionService.invalidateAll();
             return ResponseEntity.ok(ApiResponse.success(message));
 
         } catch (Exception e) {
@@ -226,6 +238,8 @@ public class TestDataController {
             sessionAttendanceRepository.deleteAll();
             String message = "✅ All attendance records cleared";
             System.out.println(message);
+            aggregateBootstrap.rebuildAggregates();
+            dashboardVersionService.invalidateAll();
             return ResponseEntity.ok(ApiResponse.success(message));
         } catch (Exception e) {
             System.err.println("❌ Error clearing attendance: " + e.getMessage());
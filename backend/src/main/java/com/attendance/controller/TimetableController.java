@@ -6,20 +6,25 @@ import org.springframework.http.ResponseEntity;
 import com.attendance.model.TimetableSession;
 import com.attendance.repository.TimetableSessionRepository;
 import com.attendance.dto.ApiResponse;
+import com.attendance.service.TimetableProjectionService;
 
 @RestController
 @RequestMapping("/api/admin/timetable")
 public class TimetableController {
 
     private final TimetableSessionRepository repo;
+    private final TimetableProjectionService timetableProjectionService;
 
-    public TimetableController(TimetableSessionRepository repo) {
+    public TimetableController(TimetableSessionRepository repo,
+                               TimetableProjectionService timetableProjectionService) {
         this.repo = repo;
+        this.timetableProjectionService = timetableProjectionService;
     }
 
     @PostMapping
     public ResponseEntity<ApiResponse<TimetableSession>> create(@RequestBody TimetableSession session) {
         TimetableSession created = repo.save(session);
+        timetableProjectionService.invalidateAll();
         return ResponseEntity.ok(ApiResponse.success("Timetable session created", created));
     }
 
@@ -1,7 +1,9 @@
 package com.attendance.controller;
 
+import com.attendance.event.UserAccountChangedEvent;
 import com.attendance.model.User;
 import com.attendance.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
 import com.attendance.dto.ApiResponse;
@@ -13,9 +15,11 @@ import java.util.List;
 public class UserController {
 
     private final UserRepository repo;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserController(UserRepository repo) {
+    public UserController(UserRepository repo, ApplicationEventPublisher eventPublisher) {
         this.repo = repo;
+        this.eventPublisher = eventPublisher;
     }
 
     // ✅ View all users (Admin)
@@ -36,6 +40,7 @@ public class UserController {
 
         user.setEnabled(enabled);
         User updated = repo.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(updated.getUsername()));
         return ResponseEntity.ok(ApiResponse.success("User status updated", updated));
     }
 }
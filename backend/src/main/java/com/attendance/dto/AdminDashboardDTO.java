@@ -48,6 +48,7 @@ public class AdminDashboardDTO {
     public static class ProgrammeDTO {
         private String name;
         private String department;
+        private Integer classCount;
         private Integer studentCount;
         private Integer facultyCount;
         private Double averageAttendance;
@@ -73,6 +74,9 @@ public class AdminDashboardDTO {
         public String getDepartment() { return department; }
         public void setDepartment(String department) { this.department = department; }
         
+        public Integer getClassCount() { return classCount; }
+        public void setClassCount(Integer classCount) { this.classCount = classCount; }
+        
         public Integer getStudentCount() { return studentCount; }
         public void setStudentCount(Integer studentCount) { this.studentCount = studentCount; }
         
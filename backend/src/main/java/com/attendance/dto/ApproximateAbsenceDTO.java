@@ -0,0 +1,148 @@
+package com.attendance.dto;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * DTO for approximate absence analytics answered from monthly sketches
+ * Ranges are widened to whole months; every figure carries its error bound
+ */
+public class ApproximateAbsenceDTO {
+
+    private YearMonth fromMonth;
+    private YearMonth toMonth;
+    private long totalAbsences;
+    private DistinctCountDTO distinctAbsentStudents;
+    private List<HeavyHitterDTO> topAbsentees;
+    private FrequencyDTO studentAbsences;
+
+    public ApproximateAbsenceDTO() {
+    }
+
+    public ApproximateAbsenceDTO(YearMonth fromMonth, YearMonth toMonth, long totalAbsences) {
+        this.fromMonth = fromMonth;
+        this.toMonth = toMonth;
+        this.totalAbsences = totalAbsences;
+    }
+
+    // Getters and Setters
+    public YearMonth getFromMonth() { return fromMonth; }
+    public void setFromMonth(YearMonth fromMonth) { this.fromMonth = fromMonth; }
+
+    public YearMonth getToMonth() { return toMonth; }
+    public void setToMonth(YearMonth toMonth) { this.toMonth = toMonth; }
+
+    public long getTotalAbsences() { return totalAbsences; }
+    public void setTotalAbsences(long totalAbsences) { this.totalAbsences = totalAbsences; }
+
+    public DistinctCountDTO getDistinctAbsentStudents() { return distinctAbsentStudents; }
+    public void setDistinctAbsentStudents(DistinctCountDTO distinctAbsentStudents) { this.distinctAbsentStudents = distinctAbsentStudents; }
+
+    public List<HeavyHitterDTO> getTopAbsentees() { return topAbsentees; }
+    public void setTopAbsentees(List<HeavyHitterDTO> topAbsentees) { this.topAbsentees = topAbsentees; }
+
+    public FrequencyDTO getStudentAbsences() { return studentAbsences; }
+    public void setStudentAbsences(FrequencyDTO studentAbsences) { this.studentAbsences = studentAbsences; }
+
+    /**
+     * HyperLogLog estimate; [lower, upper] spans two relative standard errors either side
+     */
+    public static class DistinctCountDTO {
+        private long estimate;
+        private double relativeStandardError;
+        private long lower;
+        private long upper;
+
+        public DistinctCountDTO() {
+        }
+
+        public DistinctCountDTO(long estimate, double relativeStandardError, long lower, long upper) {
+            this.estimate = estimate;
+            this.relativeStandardError = relativeStandardError;
+            this.lower = lower;
+            this.upper = upper;
+        }
+
+        public long getEstimate() { return estimate; }
+        public void setEstimate(long estimate) { this.estimate = estimate; }
+
+        public double getRelativeStandardError() { return relativeStandardError; }
+        public void setRelativeStandardError(double relativeStandardError) { this.relativeStandardError = relativeStandardError; }
+
+        public long getLower() { return lower; }
+        public void setLower(long lower) { this.lower = lower; }
+
+        public long getUpper() { return upper; }
+        public void setUpper(long upper) { this.upper = upper; }
+    }
+
+    /**
+     * Space-Saving heavy hitter; the true absence count lies in [guaranteedMinimum, estimate]
+     */
+    public static class HeavyHitterDTO {
+        private Long studentId;
+        private String rollNo;
+        private String name;
+        private long estimate;
+        private long guaranteedMinimum;
+
+        public HeavyHitterDTO() {
+        }
+
+        public HeavyHitterDTO(Long studentId, String rollNo, String name, long estimate, long guaranteedMinimum) {
+            this.studentId = studentId;
+            this.rollNo = rollNo;
+            this.name = name;
+            this.estimate = estimate;
+            this.guaranteedMinimum = guaranteedMinimum;
+        }
+
+        public Long getStudentId() { return studentId; }
+        public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+        public String getRollNo() { return rollNo; }
+        public void setRollNo(String rollNo) { this.rollNo = rollNo; }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public long getEstimate() { return estimate; }
+        public void setEstimate(long estimate) { this.estimate = estimate; }
+
+        public long getGuaranteedMinimum() { return guaranteedMinimum; }
+        public void setGuaranteedMinimum(long guaranteedMinimum) { this.guaranteedMinimum = guaranteedMinimum; }
+    }
+
+    /**
+     * Count-Min estimate; never below the true count, and above it by at most
+     * errorBound with the given confidence
+     */
+    public static class FrequencyDTO {
+        private Long studentId;
+        private long estimate;
+        private long errorBound;
+        private double confidence;
+
+        public FrequencyDTO() {
+        }
+
+        public FrequencyDTO(Long studentId, long estimate, long errorBound, double confidence) {
+            this.studentId = studentId;
+            this.estimate = estimate;
+            this.errorBound = errorBound;
+            this.confidence = confidence;
+        }
+
+        public Long getStudentId() { return studentId; }
+        public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+        public long getEstimate() { return estimate; }
+        public void setEstimate(long estimate) { this.estimate = estimate; }
+
+        public long getErrorBound() { return errorBound; }
+        public void setErrorBound(long errorBound) { this.errorBound = errorBound; }
+
+        public double getConfidence() { return confidence; }
+        public void setConfidence(double confidence) { this.confidence = confidence; }
+    }
+}
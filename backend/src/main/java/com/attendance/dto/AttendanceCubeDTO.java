@@ -0,0 +1,91 @@
+package com.attendance.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for one slice of the attendance cube
+ * Dimensions not in groupBy are rolled up and left null in every cell
+ */
+public class AttendanceCubeDTO {
+
+    private List<String> groupBy;
+    private List<CubeCellDTO> cells;
+
+    public AttendanceCubeDTO() {
+    }
+
+    public AttendanceCubeDTO(List<String> groupBy, List<CubeCellDTO> cells) {
+        this.groupBy = groupBy;
+        this.cells = cells;
+    }
+
+    // Getters and Setters
+    public List<String> getGroupBy() { return groupBy; }
+    public void setGroupBy(List<String> groupBy) { this.groupBy = groupBy; }
+
+    public List<CubeCellDTO> getCells() { return cells; }
+    public void setCells(List<CubeCellDTO> cells) { this.cells = cells; }
+
+    /**
+     * Present/absent/OD counts for one combination of the grouped dimensions
+     */
+    public static class CubeCellDTO {
+        private String department;
+        private Integer semester;
+        private String section;
+        private Long subjectId;
+        private String subjectName;
+        private LocalDate weekStart;
+        private long present;
+        private long absent;
+        private long od;
+        private long total;
+        private double percentage;
+
+        public CubeCellDTO() {
+        }
+
+        public CubeCellDTO(long present, long absent, long od) {
+            this.present = present;
+            this.absent = absent;
+            this.od = od;
+            this.total = present + absent + od;
+            // OD counts as attended, as everywhere else
+            this.percentage = total > 0 ? Math.round((present + od) * 10000.0 / total) / 100.0 : 0.0;
+        }
+
+        public String getDepartment() { return department; }
+        public void setDepartment(String department) { this.department = department; }
+
+        public Integer getSemester() { return semester; }
+        public void setSemester(Integer semester) { this.semester = semester; }
+
+        public String getSection() { return section; }
+        public void setSection(String section) { this.section = section; }
+
+        public Long getSubjectId() { return subjectId; }
+        public void setSubjectId(Long subjectId) { this.subjectId = subjectId; }
+
+        public String getSubjectName() { return subjectName; }
+        public void setSubjectName(String subjectName) { this.subjectName = subjectName; }
+
+        public LocalDate getWeekStart() { return weekStart; }
+        public void setWeekStart(LocalDate weekStart) { this.weekStart = weekStart; }
+
+        public long getPresent() { return present; }
+        public void setPresent(long present) { this.present = present; }
+
+        public long getAbsent() { return absent; }
+        public void setAbsent(long absent) { this.absent = absent; }
+
+        public long getOd() { return od; }
+        public void setOd(long od) { this.od = od; }
+
+        public long getTotal() { return total; }
+        public void setTotal(long total) { this.total = total; }
+
+        public double getPercentage() { return percentage; }
+        public void setPercentage(double percentage) { this.percentage = percentage; }
+    }
+}
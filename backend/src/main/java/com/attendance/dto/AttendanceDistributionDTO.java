@@ -0,0 +1,66 @@
+package com.attendance.dto;
+
+/**
+ * DTO for the distribution of per-student attendance percentages in a group
+ * Percentiles are resolved to whole percentage points (1% histogram buckets)
+ */
+public class AttendanceDistributionDTO {
+
+    private String scope;
+    private String key;
+    private int studentCount;
+    private Integer median;
+    private Integer p10;
+    private Integer p90;
+    private double threshold;
+    private int belowThreshold;
+    private int[] histogram;
+
+    public AttendanceDistributionDTO() {
+    }
+
+    public AttendanceDistributionDTO(String scope, String key, int studentCount,
+                                     Integer median, Integer p10, Integer p90,
+                                     double threshold, int belowThreshold, int[] histogram) {
+        this.scope = scope;
+        this.key = key;
+        this.studentCount = studentCount;
+        this.median = median;
+        this.p10 = p10;
+        this.p90 = p90;
+        this.threshold = threshold;
+        this.belowThreshold = belowThreshold;
+        this.histogram = histogram;
+    }
+
+    // Getters and Setters
+    public String getScope() { return scope; }
+    public void setScope(String scope) { this.scope = scope; }
+
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public int getStudentCount() { return studentCount; }
+    public void setStudentCount(int studentCount) { this.studentCount = studentCount; }
+
+    public Integer getMedian() { return median; }
+    public void setMedian(Integer median) { this.median = median; }
+
+    public Integer getP10() { return p10; }
+    public void setP10(Integer p10) { this.p10 = p10; }
+
+    public Integer getP90() { return p90; }
+    public void setP90(Integer p90) { this.p90 = p90; }
+
+    public double getThreshold() { return threshold; }
+    public void setThreshold(double threshold) { this.threshold = threshold; }
+
+    public int getBelowThreshold() { return belowThreshold; }
+    public void setBelowThreshold(int belowThreshold) { this.belowThreshold = belowThreshold; }
+
+    /**
+     * Number of students in each 1% bucket, index 0..100; null unless requested
+     */
+    public int[] getHistogram() { return histogram; }
+    public void setHistogram(int[] histogram) { this.histogram = histogram; }
+}
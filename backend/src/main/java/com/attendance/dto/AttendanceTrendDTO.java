@@ -0,0 +1,112 @@
+package com.attendance.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for attendance trend charts
+ * One point per bucket in the requested range; empty buckets have zero totals
+ */
+public class AttendanceTrendDTO {
+
+    private String granularity;
+    private String scope;
+    private String scopeKey;
+    private LocalDate from;
+    private LocalDate to;
+    private List<TrendPointDTO> points;
+
+    public AttendanceTrendDTO() {
+    }
+
+    public AttendanceTrendDTO(String granularity, String scope, String scopeKey,
+                              LocalDate from, LocalDate to, List<TrendPointDTO> points) {
+        this.granularity = granularity;
+        this.scope = scope;
+        this.scopeKey = scopeKey;
+        this.from = from;
+        this.to = to;
+        this.points = points;
+    }
+
+    // Getters and Setters
+    public String getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(String granularity) {
+        this.granularity = granularity;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
+
+    public String getScopeKey() {
+        return scopeKey;
+    }
+
+    public void setScopeKey(String scopeKey) {
+        this.scopeKey = scopeKey;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public List<TrendPointDTO> getPoints() {
+        return points;
+    }
+
+    public void setPoints(List<TrendPointDTO> points) {
+        this.points = points;
+    }
+
+    /**
+     * Attendance for one day, week or month
+     */
+    public static class TrendPointDTO {
+        private LocalDate bucketStart;
+        private long present;
+        private long total;
+        private double percentage;
+
+        public TrendPointDTO() {
+        }
+
+        public TrendPointDTO(LocalDate bucketStart, long present, long total) {
+            this.bucketStart = bucketStart;
+            this.present = present;
+            this.total = total;
+            this.percentage = total > 0 ? Math.round(present * 10000.0 / total) / 100.0 : 0.0;
+        }
+
+        public LocalDate getBucketStart() { return bucketStart; }
+        public void setBucketStart(LocalDate bucketStart) { this.bucketStart = bucketStart; }
+
+        public long getPresent() { return present; }
+        public void setPresent(long present) { this.present = present; }
+
+        public long getTotal() { return total; }
+        public void setTotal(long total) { this.total = total; }
+
+        public double getPercentage() { return percentage; }
+        public void setPercentage(double percentage) { this.percentage = percentage; }
+    }
+}
@@ -0,0 +1,118 @@
+package com.attendance.dto;
+
+import java.util.List;
+
+/**
+ * DTO for the cache observability endpoint
+ * One entry per application cache and per Hibernate second-level cache region
+ */
+public class CacheReportDTO {
+
+    public static final String KIND_APPLICATION = "APPLICATION";
+    public static final String KIND_HIBERNATE = "HIBERNATE_L2";
+
+    private long totalEstimatedBytes;
+    private List<CacheEntryDTO> caches;
+
+    public CacheReportDTO() {
+    }
+
+    public CacheReportDTO(List<CacheEntryDTO> caches) {
+        this.caches = caches;
+        this.totalEstimatedBytes = caches.stream()
+            .mapToLong(cache -> Math.max(0, cache.getEstimatedBytes()))
+            .sum();
+    }
+
+    // Getters and Setters
+    public long getTotalEstimatedBytes() { return totalEstimatedBytes; }
+    public void setTotalEstimatedBytes(long totalEstimatedBytes) { this.totalEstimatedBytes = totalEstimatedBytes; }
+
+    public List<CacheEntryDTO> getCaches() { return caches; }
+    public void setCaches(List<CacheEntryDTO> caches) { this.caches = caches; }
+
+    /**
+     * Usage of one cache; -1 marks a figure the cache cannot report
+     */
+    public static class CacheEntryDTO {
+        private String name;
+        private String kind;
+        private long size;
+        private long maxSize;
+        private boolean resizable;
+        private long estimatedBytes;
+        private long hits;
+        private long misses;
+        private double hitRatio;
+        private double missRatio;
+        private long loads;
+        private double averageLoadMillis;
+        private long evictions;
+        private long invalidations;
+
+        public CacheEntryDTO() {
+        }
+
+        public CacheEntryDTO(String name, String kind, long size, long maxSize, boolean resizable,
+                             long estimatedBytes, long hits, long misses, long loads, long loadNanos,
+                             long evictions, long invalidations) {
+            this.name = name;
+            this.kind = kind;
+            this.size = size;
+            this.maxSize = maxSize;
+            this.resizable = resizable;
+            this.estimatedBytes = estimatedBytes;
+            this.hits = hits;
+            this.misses = misses;
+            long requests = hits + misses;
+            this.hitRatio = requests > 0 ? Math.round(hits * 10000.0 / requests) / 10000.0 : 0.0;
+            this.missRatio = requests > 0 ? Math.round(misses * 10000.0 / requests) / 10000.0 : 0.0;
+            this.loads = loads;
+            this.averageLoadMillis = loads > 0 ? Math.round(loadNanos / 1000.0 / loads) / 1000.0 : 0.0;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+        }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public String getKind() { return kind; }
+        public void setKind(String kind) { this.kind = kind; }
+
+        public long getSize() { return size; }
+        public void setSize(long size) { this.size = size; }
+
+        public long getMaxSize() { return maxSize; }
+        public void setMaxSize(long maxSize) { this.maxSize = maxSize; }
+
+        public boolean isResizable() { return resizable; }
+        public void setResizable(boolean resizable) { this.resizable = resizable; }
+
+        public long getEstimatedBytes() { return estimatedBytes; }
+        public void setEstimatedBytes(long estimatedBytes) { this.estimatedBytes = estimatedBytes; }
+
+        public long getHits() { return hits; }
+        public void setHits(long hits) { this.hits = hits; }
+
+        public long getMisses() { return misses; }
+        public void setMisses(long misses) { this.misses = misses; }
+
+        public double getHitRatio() { return hitRatio; }
+        public void setHitRatio(double hitRatio) { this.hitRatio = hitRatio; }
+
+        public double getMissRatio() { return missRatio; }
+        public void setMissRatio(double missRatio) { this.missRatio = missRatio; }
+
+        public long getLoads() { return loads; }
+        public void setLoads(long loads) { this.loads = loads; }
+
+        public double getAverageLoadMillis() { return averageLoadMillis; }
+        public void setAverageLoadMillis(double averageLoadMillis) { this.averageLoadMillis = averageLoadMillis; }
+
+        public long getEvictions() { return evictions; }
+        public void setEvictions(long evictions) { this.evictions = evictions; }
+
+        public long getInvalidations() { return invalidations; }
+        public void setInvalidations(long invalidations) { this.invalidations = invalidations; }
+    }
+}
@@ -0,0 +1,164 @@
+package com.attendance.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for the exam-eligibility forecast of every student
+ * requiredSessions is the minimum number of the remaining sessions a student must
+ * attend to finish the term at or above the threshold.
+ */
+public class EligibilityForecastDTO {
+
+    public static final String SAFE = "SAFE";
+    public static final String AT_RISK = "AT_RISK";
+    public static final String CANNOT_REACH = "CANNOT_REACH";
+
+    private LocalDate termStart;
+    private LocalDate asOf;
+    private LocalDate termEnd;
+    private double threshold;
+    private int safeCount;
+    private int atRiskCount;
+    private int cannotReachCount;
+    private List<ClassRemainingDTO> classes;
+    private List<StudentForecastDTO> students;
+
+    public EligibilityForecastDTO() {
+    }
+
+    public EligibilityForecastDTO(LocalDate termStart, LocalDate asOf, LocalDate termEnd, double threshold) {
+        this.termStart = termStart;
+        this.asOf = asOf;
+        this.termEnd = termEnd;
+        this.threshold = threshold;
+    }
+
+    // Getters and Setters
+    public LocalDate getTermStart() { return termStart; }
+    public void setTermStart(LocalDate termStart) { this.termStart = termStart; }
+
+    public LocalDate getAsOf() { return asOf; }
+    public void setAsOf(LocalDate asOf) { this.asOf = asOf; }
+
+    public LocalDate getTermEnd() { return termEnd; }
+    public void setTermEnd(LocalDate termEnd) { this.termEnd = termEnd; }
+
+    public double getThreshold() { return threshold; }
+    public void setThreshold(double threshold) { this.threshold = threshold; }
+
+    public int getSafeCount() { return safeCount; }
+    public void setSafeCount(int safeCount) { this.safeCount = safeCount; }
+
+    public int getAtRiskCount() { return atRiskCount; }
+    public void setAtRiskCount(int atRiskCount) { this.atRiskCount = atRiskCount; }
+
+    public int getCannotReachCount() { return cannotReachCount; }
+    public void setCannotReachCount(int cannotReachCount) { this.cannotReachCount = cannotReachCount; }
+
+    public List<ClassRemainingDTO> getClasses() { return classes; }
+    public void setClasses(List<ClassRemainingDTO> classes) { this.classes = classes; }
+
+    public List<StudentForecastDTO> getStudents() { return students; }
+    public void setStudents(List<StudentForecastDTO> students) { this.students = students; }
+
+    /**
+     * Sessions still scheduled for one class until term end, per subject code
+     */
+    public static class ClassRemainingDTO {
+        private String department;
+        private int semester;
+        private String section;
+        private int remainingSessions;
+        private Map<String, Integer> remainingBySubject;
+
+        public ClassRemainingDTO() {
+        }
+
+        public ClassRemainingDTO(String department, int semester, String section,
+                                 int remainingSessions, Map<String, Integer> remainingBySubject) {
+            this.department = department;
+            this.semester = semester;
+            this.section = section;
+            this.remainingSessions = remainingSessions;
+            this.remainingBySubject = remainingBySubject;
+        }
+
+        public String getDepartment() { return department; }
+        public void setDepartment(String department) { this.department = department; }
+
+        public int getSemester() { return semester; }
+        public void setSemester(int semester) { this.semester = semester; }
+
+        public String getSection() { return section; }
+        public void setSection(String section) { this.section = section; }
+
+        public int getRemainingSessions() { return remainingSessions; }
+        public void setRemainingSessions(int remainingSessions) { this.remainingSessions = remainingSessions; }
+
+        public Map<String, Integer> getRemainingBySubject() { return remainingBySubject; }
+        public void setRemainingBySubject(Map<String, Integer> remainingBySubject) { this.remainingBySubject = remainingBySubject; }
+    }
+
+    /**
+     * Forecast for one student
+     */
+    public static class StudentForecastDTO {
+        private Long studentId;
+        private String rollNo;
+        private String name;
+        private String department;
+        private int semester;
+        private String section;
+        private long attended;
+        private long total;
+        private double currentPercentage;
+        private int remainingSessions;
+        private long requiredSessions;
+        private long maxMissable;
+        private String status;
+
+        public StudentForecastDTO() {
+        }
+
+        public Long getStudentId() { return studentId; }
+        public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+        public String getRollNo() { return rollNo; }
+        public void setRollNo(String rollNo) { this.rollNo = rollNo; }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public String getDepartment() { return department; }
+        public void setDepartment(String department) { this.department = department; }
+
+        public int getSemester() { return semester; }
+        public void setSemester(int semester) { this.semester = semester; }
+
+        public String getSection() { return section; }
+        public void setSection(String section) { this.section = section; }
+
+        public long getAttended() { return attended; }
+        public void setAttended(long attended) { this.attended = attended; }
+
+        public long getTotal() { return total; }
+        public void setTotal(long total) { this.total = total; }
+
+        public double getCurrentPercentage() { return currentPercentage; }
+        public void setCurrentPercentage(double currentPercentage) { this.currentPercentage = currentPercentage; }
+
+        public int getRemainingSessions() { return remainingSessions; }
+        public void setRemainingSessions(int remainingSessions) { this.remainingSessions = remainingSessions; }
+
+        public long getRequiredSessions() { return requiredSessions; }
+        public void setRequiredSessions(long requiredSessions) { this.requiredSessions = requiredSessions; }
+
+        public long getMaxMissable() { return maxMissable; }
+        public void setMaxMissable(long maxMissable) { this.maxMissable = maxMissable; }
+
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+    }
+}
@@ -0,0 +1,50 @@
+package com.attendance.dto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * A response body serialized once, kept both plain and gzipped
+ *
+ * Used for hot, rarely changing payloads: the bytes are written straight to the
+ * response, so serving one costs no object mapping, reflection or compression.
+ */
+public record PreparedJson(byte[] json, byte[] gzipped) {
+
+    public static PreparedJson of(JsonMapper jsonMapper, Object body) {
+        byte[] json = jsonMapper.writeValueAsBytes(body);
+        return new PreparedJson(json, gzip(json));
+    }
+
+    /**
+     * 200 response carrying the prepared bytes, gzipped when the client accepts it
+     */
+    public ResponseEntity<byte[]> toResponse(boolean acceptsGzip) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzipped);
+        }
+        return response.body(json);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException e) {
+            // Never thrown by an in-memory stream
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,65 @@
+package com.attendance.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the result of a bulk student import
+ * Rows listed in errors were skipped; every other data row was imported
+ */
+public class StudentImportReportDTO {
+
+    private int totalRows;
+    private int imported;
+    private long durationMillis;
+    private List<RowErrorDTO> errors = new ArrayList<>();
+
+    public StudentImportReportDTO() {
+    }
+
+    public void addError(int line, String rollNo, String message) {
+        errors.add(new RowErrorDTO(line, rollNo, message));
+    }
+
+    // Getters and Setters
+    public int getTotalRows() { return totalRows; }
+    public void setTotalRows(int totalRows) { this.totalRows = totalRows; }
+
+    public int getImported() { return imported; }
+    public void setImported(int imported) { this.imported = imported; }
+
+    public int getFailed() { return errors.size(); }
+
+    public long getDurationMillis() { return durationMillis; }
+    public void setDurationMillis(long durationMillis) { this.durationMillis = durationMillis; }
+
+    public List<RowErrorDTO> getErrors() { return errors; }
+    public void setErrors(List<RowErrorDTO> errors) { this.errors = errors; }
+
+    /**
+     * Why one CSV row was skipped; line is 1-based and counts the header
+     */
+    public static class RowErrorDTO {
+        private int line;
+        private String rollNo;
+        private String message;
+
+        public RowErrorDTO() {
+        }
+
+        public RowErrorDTO(int line, String rollNo, String message) {
+            this.line = line;
+            this.rollNo = rollNo;
+            this.message = message;
+        }
+
+        public int getLine() { return line; }
+        public void setLine(int line) { this.line = line; }
+
+        public String getRollNo() { return rollNo; }
+        public void setRollNo(String rollNo) { this.rollNo = rollNo; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
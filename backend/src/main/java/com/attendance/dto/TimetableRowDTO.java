@@ -0,0 +1,77 @@
+package com.attendance.dto;
+
+import java.time.LocalTime;
+
+/**
+ * Typed timetable rows for the admin grid, the staff portal and the teacher schedule
+ * Field names match the JSON keys the frontend already reads.
+ */
+public final class TimetableRowDTO {
+
+    private TimetableRowDTO() {
+    }
+
+    /**
+     * One session in the admin timetable grid of a class
+     */
+    public record GridRowDTO(
+        Long id,
+        String dayOfWeek,
+        LocalTime startTime,
+        LocalTime endTime,
+        String subjectName,
+        String subjectCode,
+        String staffName,
+        String staffCode,
+        String roomNumber
+    ) {
+    }
+
+    /**
+     * One session of a class timetable as shown in the staff portal
+     */
+    public record ClassPortalRowDTO(
+        Long id,
+        String dayOfWeek,
+        LocalTime startTime,
+        LocalTime endTime,
+        String subjectName,
+        String classContext
+    ) {
+    }
+
+    /**
+     * One session of a staff member's own teaching schedule
+     */
+    public record StaffPortalRowDTO(
+        Long id,
+        String dayOfWeek,
+        LocalTime startTime,
+        LocalTime endTime,
+        String subjectName,
+        String department,
+        int semester,
+        String section,
+        String roomNumber,
+        String classContext
+    ) {
+    }
+
+    /**
+     * One session of the teacher schedule; times are sent pre-formatted
+     */
+    public record ScheduleRowDTO(
+        Long id,
+        String dayOfWeek,
+        String startTime,
+        String endTime,
+        String subjectName,
+        String facultyName,
+        String roomNumber,
+        String department,
+        int semester,
+        String section,
+        String classContext
+    ) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.attendance.event;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import com.attendance.model.AttendanceStatus;
+
+/**
+ * Published whenever a session attendance record is created or its status changes.
+ * Listeners use it to keep maintained aggregates in step with session_attendance
+ * without rescanning the table.
+ *
+ * previousStatus is null when the record is new.
+ */
+public class AttendanceRecordedEvent {
+
+    private final Long attendanceId;
+    private final Long studentId;
+    private final Long sessionId;
+    private final Long subjectId;
+    private final Long staffId;
+    private final String department;
+    private final int semester;
+    private final String section;
+    private final LocalDate date;
+    private final AttendanceStatus previousStatus;
+    private final AttendanceStatus status;
+
+    public AttendanceRecordedEvent(Long attendanceId, Long studentId, Long sessionId,
+                                   Long subjectId, Long staffId,
+                                   String department, int semester, String section,
+                                   LocalDate date,
+                                   AttendanceStatus previousStatus, AttendanceStatus status) {
+        this.attendanceId = attendanceId;
+        this.studentId = studentId;
+        this.sessionId = sessionId;
+        this.subjectId = subjectId;
+        this.staffId = staffId;
+        this.department = department;
+        this.semester = semester;
+        this.section = section;
+        this.date = date;
+        this.previousStatus = previousStatus;
+        this.status = status;
+    }
+
+    /**
+     * Key of the ATTENDANCE change-feed entry: "studentId|staffId|date|previousStatus|status",
+     * enough for other nodes to replay the change into their in-memory aggregates
+     */
+    public String toFeedKey() {
+        return studentId + "|" + staffId + "|" + date + "|" + previousStatus + "|" + status;
+    }
+
+    /**
+     * The event as seen from another node, carrying only what toFeedKey keeps;
+     * empty for keys without the attendance details
+     */
+    public static Optional<AttendanceRecordedEvent> fromFeedKey(String key) {
+        String[] parts = key.split("\\|", -1);
+        if (parts.length < 5 || "null".equals(parts[0])) {
+            return Optional.empty();
+        }
+        return Optional.of(new AttendanceRecordedEvent(
+            null,
+            Long.valueOf(parts[0]),
+            null,
+            null,
+            "null".equals(parts[1]) ? null : Long.valueOf(parts[1]),
+            null,
+            0,
+            null,
+            "null".equals(parts[2]) ? null : LocalDate.parse(parts[2]),
+            "null".equals(parts[3]) ? null : AttendanceStatus.valueOf(parts[3]),
+            "null".equals(parts[4]) ? null : AttendanceStatus.valueOf(parts[4])));
+    }
+
+    public static boolean isPresent(AttendanceStatus status) {
+        return status == AttendanceStatus.PRESENT || status == AttendanceStatus.OD;
+    }
+
+    public boolean isNewRecord() {
+        return previousStatus == null;
+    }
+
+    /**
+     * Change in the number of attended (PRESENT or OD) records
+     */
+    public int presentDelta() {
+        return (isPresent(status) ? 1 : 0) - (isPresent(previousStatus) ? 1 : 0);
+    }
+
+    /**
+     * Change in the total number of records
+     */
+    public int totalDelta() {
+        return isNewRecord() ? 1 : 0;
+    }
+
+    public Long getAttendanceId() {
+        return attendanceId;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public Long getSessionId() {
+        return sessionId;
+    }
+
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    public Long getStaffId() {
+        return staffId;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public int getSemester() {
+        return semester;
+    }
+
+    public String getSection() {
+        return section;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public AttendanceStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public AttendanceStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,37 @@
+package com.attendance.event;
+
+import java.time.Instant;
+
+import com.attendance.model.CacheInvalidation.Topic;
+
+/**
+ * Published by CacheInvalidationBus for each change-feed entry written by another
+ * node. Listeners evict their local copies of whatever the entry names; changes made
+ * on this node are already handled by the regular events.
+ *
+ * changedAt is when the originating node committed the change.
+ */
+public class CacheInvalidationEvent {
+
+    private final Topic topic;
+    private final String key;
+    private final Instant changedAt;
+
+    public CacheInvalidationEvent(Topic topic, String key, Instant changedAt) {
+        this.topic = topic;
+        this.key = key;
+        this.changedAt = changedAt;
+    }
+
+    public Topic getTopic() {
+        return topic;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+}
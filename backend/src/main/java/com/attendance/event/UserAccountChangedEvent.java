@@ -0,0 +1,20 @@
+package com.attendance.event;
+
+/**
+ * Published when a user account is disabled, deleted or has its role,
+ * username or password changed. CacheInvalidationBus writes a USER_ACCOUNT
+ * feed entry, which makes every node evict the User second-level cache, and
+ * AccountChangeTracker rejects tokens issued to the account before the change.
+ */
+public class UserAccountChangedEvent {
+
+    private final String username;
+
+    public UserAccountChangedEvent(String username) {
+        this.username = username;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+}
@@ -0,0 +1,90 @@
+package com.attendance.export;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.attendance.model.AttendanceStatus;
+
+/**
+ * Decoded columnar attendance extract
+ *
+ * Rows are ordered by date, session and student. Columns are plain arrays so
+ * offline tools can scan them without allocating per row; the row accessors
+ * resolve dictionary indexes for convenience.
+ */
+public final class AttendanceExtract {
+
+    public record SubjectEntry(long id, String code, String name) {
+    }
+
+    /**
+     * subjectIndex is -1 when the session has no subject
+     */
+    public record SessionEntry(long id, String dayOfWeek, int sessionNumber, int subjectIndex) {
+    }
+
+    public record StudentEntry(long id, String rollNo, String name, String department,
+                               int semester, String section) {
+    }
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final List<SubjectEntry> subjects;
+    private final List<SessionEntry> sessions;
+    private final List<StudentEntry> students;
+    private final int[] epochDays;
+    private final int[] sessionIndexes;
+    private final int[] studentIndexes;
+    private final byte[] statusCodes;
+
+    AttendanceExtract(LocalDate from, LocalDate to, List<SubjectEntry> subjects,
+                      List<SessionEntry> sessions, List<StudentEntry> students,
+                      int[] epochDays, int[] sessionIndexes, int[] studentIndexes, byte[] statusCodes) {
+        this.from = from;
+        this.to = to;
+        this.subjects = subjects;
+        this.sessions = sessions;
+        this.students = students;
+        this.epochDays = epochDays;
+        this.sessionIndexes = sessionIndexes;
+        this.studentIndexes = studentIndexes;
+        this.statusCodes = statusCodes;
+    }
+
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public List<SubjectEntry> getSubjects() { return subjects; }
+    public List<SessionEntry> getSessions() { return sessions; }
+    public List<StudentEntry> getStudents() { return students; }
+
+    public int rowCount() {
+        return epochDays.length;
+    }
+
+    // Raw columns, indexed by row; do not modify
+    public int[] epochDayColumn() { return epochDays; }
+    public int[] sessionColumn() { return sessionIndexes; }
+    public int[] studentColumn() { return studentIndexes; }
+    public byte[] statusColumn() { return statusCodes; }
+
+    public LocalDate date(int row) {
+        return LocalDate.ofEpochDay(epochDays[row]);
+    }
+
+    public StudentEntry student(int row) {
+        return students.get(studentIndexes[row]);
+    }
+
+    public SessionEntry session(int row) {
+        return sessions.get(sessionIndexes[row]);
+    }
+
+    public SubjectEntry subject(int row) {
+        int subjectIndex = session(row).subjectIndex();
+        return subjectIndex >= 0 ? subjects.get(subjectIndex) : null;
+    }
+
+    public AttendanceStatus status(int row) {
+        return ColumnarFormat.STATUSES[statusCodes[row]];
+    }
+}
@@ -0,0 +1,174 @@
+package com.attendance.export;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.attendance.export.AttendanceExtract.SessionEntry;
+import com.attendance.export.AttendanceExtract.StudentEntry;
+import com.attendance.export.AttendanceExtract.SubjectEntry;
+
+/**
+ * Reads a columnar attendance extract written by ColumnarAttendanceWriter
+ *
+ * Has no dependencies beyond the JDK and AttendanceStatus, so it can be copied
+ * into offline tools as is. The stream is read fully into memory, then decoded
+ * from the byte array; it is not closed.
+ */
+public final class ColumnarAttendanceReader {
+
+    private ColumnarAttendanceReader() {
+    }
+
+    /**
+     * Decoding position over the raw extract bytes
+     */
+    private static final class Cursor {
+        final byte[] data;
+        int position;
+
+        Cursor(byte[] data) {
+            this.data = data;
+        }
+
+        int readUnsignedByte() throws IOException {
+            if (position >= data.length) {
+                throw new IOException("Unexpected end of extract");
+            }
+            return data[position++] & 0xFF;
+        }
+
+        int readInt() throws IOException {
+            return (readUnsignedByte() << 24) | (readUnsignedByte() << 16)
+                | (readUnsignedByte() << 8) | readUnsignedByte();
+        }
+
+        int readUnsignedShort() throws IOException {
+            return (readUnsignedByte() << 8) | readUnsignedByte();
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readUnsignedByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        int readVarInt() throws IOException {
+            long value = readVarLong();
+            if (value < 0 || value > Integer.MAX_VALUE) {
+                throw new IOException("Varint out of range: " + value);
+            }
+            return (int) value;
+        }
+
+        String readString() throws IOException {
+            int length = readVarInt();
+            if (length == 0) {
+                return null;
+            }
+            byte[] bytes = readBytes(length - 1);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        byte[] readBytes(int length) throws IOException {
+            if (length > data.length - position) {
+                throw new IOException("Unexpected end of extract");
+            }
+            byte[] bytes = Arrays.copyOfRange(data, position, position + length);
+            position += length;
+            return bytes;
+        }
+    }
+
+    public static AttendanceExtract read(InputStream source) throws IOException {
+        Cursor in = new Cursor(source.readAllBytes());
+        ColumnarFormat.expect(in.readInt() == ColumnarFormat.MAGIC, "Not an attendance extract");
+        int version = in.readUnsignedShort();
+        ColumnarFormat.expect(version == ColumnarFormat.VERSION, "Unsupported extract version " + version);
+        LocalDate from = LocalDate.ofEpochDay(in.readInt());
+        LocalDate to = LocalDate.ofEpochDay(in.readInt());
+
+        int subjectCount = in.readVarInt();
+        List<SubjectEntry> subjects = new ArrayList<>(subjectCount);
+        for (int i = 0; i < subjectCount; i++) {
+            subjects.add(new SubjectEntry(in.readVarLong(),
+                in.readString(), in.readString()));
+        }
+
+        int sessionCount = in.readVarInt();
+        List<SessionEntry> sessions = new ArrayList<>(sessionCount);
+        for (int i = 0; i < sessionCount; i++) {
+            long id = in.readVarLong();
+            String day = in.readString();
+            int sessionNumber = in.readVarInt();
+            int subjectIndex = in.readVarInt() - 1;
+            ColumnarFormat.expect(subjectIndex < subjectCount, "Subject index out of range");
+            sessions.add(new SessionEntry(id, day, sessionNumber, subjectIndex));
+        }
+
+        int studentCount = in.readVarInt();
+        List<StudentEntry> students = new ArrayList<>(studentCount);
+        for (int i = 0; i < studentCount; i++) {
+            students.add(new StudentEntry(in.readVarLong(),
+                in.readString(), in.readString(), in.readString(),
+                in.readVarInt(), in.readString()));
+        }
+
+        int rows = in.readVarInt();
+        int[] epochDays = new int[rows];
+        int[] sessionIndexes = new int[rows];
+        int[] studentIndexes = new int[rows];
+        byte[] statusCodes = new byte[rows];
+
+        int day = (int) from.toEpochDay();
+        int row = 0;
+        int runs = in.readVarInt();
+        for (int run = 0; run < runs; run++) {
+            day += (int) ColumnarFormat.unzigzag(in.readVarLong());
+            int end = row + in.readVarInt();
+            ColumnarFormat.expect(end <= rows, "Date column overruns row count");
+            Arrays.fill(epochDays, row, end, day);
+            row = end;
+        }
+        ColumnarFormat.expect(row == rows, "Date column is short");
+
+        row = 0;
+        runs = in.readVarInt();
+        for (int run = 0; run < runs; run++) {
+            int session = in.readVarInt();
+            ColumnarFormat.expect(session < sessionCount, "Session index out of range");
+            int end = row + in.readVarInt();
+            ColumnarFormat.expect(end <= rows, "Session column overruns row count");
+            Arrays.fill(sessionIndexes, row, end, session);
+            row = end;
+        }
+        ColumnarFormat.expect(row == rows, "Session column is short");
+
+        int student = 0;
+        for (row = 0; row < rows; row++) {
+            student += (int) ColumnarFormat.unzigzag(in.readVarLong());
+            ColumnarFormat.expect(student >= 0 && student < studentCount, "Student index out of range");
+            studentIndexes[row] = student;
+        }
+
+        byte[] packed = in.readBytes((rows + 3) >> 2);
+        for (row = 0; row < rows; row++) {
+            int code = (packed[row >> 2] >> ((row & 3) * 2)) & 3;
+            ColumnarFormat.expect(code < ColumnarFormat.STATUSES.length, "Unknown status code " + code);
+            statusCodes[row] = (byte) code;
+        }
+
+        return new AttendanceExtract(from, to, List.copyOf(subjects), List.copyOf(sessions),
+            List.copyOf(students), epochDays, sessionIndexes, studentIndexes, statusCodes);
+    }
+}
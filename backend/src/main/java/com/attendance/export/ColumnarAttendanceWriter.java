@@ -0,0 +1,230 @@
+package com.attendance.export;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.attendance.export.AttendanceExtract.SessionEntry;
+import com.attendance.export.AttendanceExtract.StudentEntry;
+import com.attendance.export.AttendanceExtract.SubjectEntry;
+import com.attendance.model.AttendanceStatus;
+
+/**
+ * Builds a columnar attendance extract (see ColumnarFormat for the layout)
+ *
+ * Dictionary entries are registered once, then rows are added in date order.
+ * Rows are held as primitive columns until writeTo().
+ * Not thread-safe.
+ */
+public class ColumnarAttendanceWriter {
+
+    private final LocalDate from;
+    private final LocalDate to;
+
+    private final Map<Long, Integer> subjectIndexes = new HashMap<>();
+    private final List<SubjectEntry> subjects = new ArrayList<>();
+    private final Map<Long, Integer> sessionIndexes = new HashMap<>();
+    private final List<SessionEntry> sessions = new ArrayList<>();
+    private final Map<Long, Integer> studentIndexes = new HashMap<>();
+    private final List<StudentEntry> students = new ArrayList<>();
+
+    private final IntColumn dayColumn = new IntColumn();
+    private final IntColumn sessionColumn = new IntColumn();
+    private final IntColumn studentColumn = new IntColumn();
+    private byte[] packedStatuses = new byte[256];
+
+    public ColumnarAttendanceWriter(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Growable int array
+     */
+    private static final class IntColumn {
+        int[] values = new int[1024];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    public boolean hasSubject(long id) {
+        return subjectIndexes.containsKey(id);
+    }
+
+    public void addSubject(long id, String code, String name) {
+        subjectIndexes.computeIfAbsent(id, key -> {
+            subjects.add(new SubjectEntry(id, code, name));
+            return subjects.size() - 1;
+        });
+    }
+
+    public boolean hasSession(long id) {
+        return sessionIndexes.containsKey(id);
+    }
+
+    /**
+     * @param subjectId Subject of the session, already added, or null
+     */
+    public void addSession(long id, String dayOfWeek, int sessionNumber, Long subjectId) {
+        int subjectIndex = subjectId != null ? requireIndex(subjectIndexes, subjectId, "subject") : -1;
+        sessionIndexes.computeIfAbsent(id, key -> {
+            sessions.add(new SessionEntry(id, dayOfWeek, sessionNumber, subjectIndex));
+            return sessions.size() - 1;
+        });
+    }
+
+    public boolean hasStudent(long id) {
+        return studentIndexes.containsKey(id);
+    }
+
+    public void addStudent(long id, String rollNo, String name, String department, int semester, String section) {
+        studentIndexes.computeIfAbsent(id, key -> {
+            students.add(new StudentEntry(id, rollNo, name, department, semester, section));
+            return students.size() - 1;
+        });
+    }
+
+    /**
+     * Append one record; dates must be non-decreasing
+     */
+    public void addRow(LocalDate date, long sessionId, long studentId, AttendanceStatus status) {
+        int epochDay = (int) date.toEpochDay();
+        if (dayColumn.size > 0 && epochDay < dayColumn.values[dayColumn.size - 1]) {
+            throw new IllegalStateException("Rows must be added in date order");
+        }
+        int row = dayColumn.size;
+        dayColumn.add(epochDay);
+        sessionColumn.add(requireIndex(sessionIndexes, sessionId, "session"));
+        studentColumn.add(requireIndex(studentIndexes, studentId, "student"));
+
+        int byteIndex = row >> 2;
+        if (byteIndex == packedStatuses.length) {
+            packedStatuses = Arrays.copyOf(packedStatuses, packedStatuses.length * 2);
+        }
+        packedStatuses[byteIndex] |= (byte) (ColumnarFormat.statusCode(status) << ((row & 3) * 2));
+    }
+
+    public int rowCount() {
+        return dayColumn.size;
+    }
+
+    public void writeTo(OutputStream target) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(target, 8192));
+        out.writeInt(ColumnarFormat.MAGIC);
+        out.writeShort(ColumnarFormat.VERSION);
+        out.writeInt((int) from.toEpochDay());
+        out.writeInt((int) to.toEpochDay());
+
+        ColumnarFormat.writeVarLong(out, subjects.size());
+        for (SubjectEntry subject : subjects) {
+            ColumnarFormat.writeVarLong(out, subject.id());
+            ColumnarFormat.writeString(out, subject.code());
+            ColumnarFormat.writeString(out, subject.name());
+        }
+
+        ColumnarFormat.writeVarLong(out, sessions.size());
+        for (SessionEntry session : sessions) {
+            ColumnarFormat.writeVarLong(out, session.id());
+            ColumnarFormat.writeString(out, session.dayOfWeek());
+            ColumnarFormat.writeVarLong(out, session.sessionNumber());
+            ColumnarFormat.writeVarLong(out, session.subjectIndex() + 1L);
+        }
+
+        // Re-index students by id so rows of one session are consecutive indexes
+        Integer[] byId = new Integer[students.size()];
+        for (int i = 0; i < byId.length; i++) {
+            byId[i] = i;
+        }
+        Arrays.sort(byId, Comparator.comparingLong(i -> students.get(i).id()));
+        int[] remap = new int[byId.length];
+        ColumnarFormat.writeVarLong(out, students.size());
+        for (int newIndex = 0; newIndex < byId.length; newIndex++) {
+            remap[byId[newIndex]] = newIndex;
+            StudentEntry student = students.get(byId[newIndex]);
+            ColumnarFormat.writeVarLong(out, student.id());
+            ColumnarFormat.writeString(out, student.rollNo());
+            ColumnarFormat.writeString(out, student.name());
+            ColumnarFormat.writeString(out, student.department());
+            ColumnarFormat.writeVarLong(out, student.semester());
+            ColumnarFormat.writeString(out, student.section());
+        }
+
+        int rows = dayColumn.size;
+        ColumnarFormat.writeVarLong(out, rows);
+        writeDateRuns(out, rows);
+        writeRuns(out, sessionColumn, rows);
+
+        int previous = 0;
+        for (int row = 0; row < rows; row++) {
+            int index = remap[studentColumn.values[row]];
+            ColumnarFormat.writeVarLong(out, ColumnarFormat.zigzag(index - previous));
+            previous = index;
+        }
+
+        out.write(packedStatuses, 0, (rows + 3) >> 2);
+        out.flush();
+    }
+
+    private void writeDateRuns(DataOutputStream out, int rows) throws IOException {
+        ColumnarFormat.writeVarLong(out, countRuns(dayColumn, rows));
+        int previousDay = (int) from.toEpochDay();
+        int row = 0;
+        while (row < rows) {
+            int day = dayColumn.values[row];
+            int end = runEnd(dayColumn, row, rows);
+            ColumnarFormat.writeVarLong(out, ColumnarFormat.zigzag(day - previousDay));
+            ColumnarFormat.writeVarLong(out, end - row);
+            previousDay = day;
+            row = end;
+        }
+    }
+
+    private static void writeRuns(DataOutputStream out, IntColumn column, int rows) throws IOException {
+        ColumnarFormat.writeVarLong(out, countRuns(column, rows));
+        int row = 0;
+        while (row < rows) {
+            int end = runEnd(column, row, rows);
+            ColumnarFormat.writeVarLong(out, column.values[row]);
+            ColumnarFormat.writeVarLong(out, end - row);
+            row = end;
+        }
+    }
+
+    private static int countRuns(IntColumn column, int rows) {
+        int runs = 0;
+        for (int row = 0; row < rows; row = runEnd(column, row, rows)) {
+            runs++;
+        }
+        return runs;
+    }
+
+    private static int runEnd(IntColumn column, int start, int rows) {
+        int end = start + 1;
+        while (end < rows && column.values[end] == column.values[start]) {
+            end++;
+        }
+        return end;
+    }
+
+    private static int requireIndex(Map<Long, Integer> indexes, long id, String kind) {
+        Integer index = indexes.get(id);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown " + kind + " id " + id + "; add it before use");
+        }
+        return index;
+    }
+}
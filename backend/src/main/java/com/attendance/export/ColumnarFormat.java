@@ -0,0 +1,80 @@
+package com.attendance.export;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import com.attendance.model.AttendanceStatus;
+
+/**
+ * Constants and primitive encodings of the columnar attendance extract (.atx)
+ *
+ * Layout, all integers big-endian or unsigned LEB128 varints:
+ * <pre>
+ *   magic "ATXC", version u16, from epochDay i32, to epochDay i32
+ *   subjects:  count, then (id, code, name)
+ *   sessions:  count, then (id, dayOfWeek, sessionNumber, subjectIndex + 1 or 0)
+ *   students:  count, then (id, rollNo, name, department, semester, section)
+ *   rowCount
+ *   date column:    run count, then (zigzag days since previous run, run length)
+ *   session column: run count, then (session index, run length)
+ *   student column: zigzag delta from the previous row's student index
+ *   status column:  2 bits per row, four rows per byte, low bits first
+ * </pre>
+ * Strings are written as byte length + 1 (0 for null) followed by UTF-8 bytes.
+ * Students are indexed in id order, so within one date and session the student
+ * column is almost always a run of 1s.
+ */
+final class ColumnarFormat {
+
+    static final int MAGIC = 0x41545843; // "ATXC"
+    static final int VERSION = 1;
+
+    // Status codes must stay stable across versions
+    static final AttendanceStatus[] STATUSES = {
+        AttendanceStatus.PRESENT, AttendanceStatus.ABSENT, AttendanceStatus.OD
+    };
+
+    private ColumnarFormat() {
+    }
+
+    static int statusCode(AttendanceStatus status) {
+        return switch (status) {
+            case PRESENT -> 0;
+            case ABSENT -> 1;
+            case OD -> 2;
+        };
+    }
+
+    static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length + 1L);
+        out.write(bytes);
+    }
+
+    static void expect(boolean condition, String message) throws IOException {
+        if (!condition) {
+            throw new IOException(message);
+        }
+    }
+}
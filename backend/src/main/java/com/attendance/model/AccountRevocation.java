@@ -0,0 +1,57 @@
+package com.attendance.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Latest time an account was disabled, deleted or had its role changed.
+ * Access tokens issued up to that time are rejected; rows are only needed
+ * for as long as such a token can live.
+ */
+@Entity
+@Table(name = "account_revocations", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_account_revocation_username", columnNames = "username")
+}, indexes = {
+    @Index(name = "idx_account_revocation_changed_at", columnList = "changed_at")
+})
+public class AccountRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Lower-cased, as AccountChangeTracker compares it
+    @Column(nullable = false)
+    private String username;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    public AccountRevocation() {
+    }
+
+    public AccountRevocation(String username, Instant changedAt) {
+        this.username = username;
+        this.changedAt = changedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+}
@@ -0,0 +1,88 @@
+package com.attendance.model;
+
+import java.time.LocalDate;
+import jakarta.persistence.*;
+
+/**
+ * Base cell of the attendance cube: counts for one class, subject and week.
+ *
+ * Every coarser slice (department only, semester by week, subject across
+ * sections, ...) is a GROUP BY over these cells, which are far fewer than
+ * the raw session_attendance rows. Section is empty and subjectId is 0 when
+ * unknown, so the unique key also covers those cells.
+ */
+@Entity
+@Table(name = "attendance_cube_cell", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"department", "semester", "section", "subject_id", "week_start"})
+})
+public class AttendanceCubeCell {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String department;
+
+    @Column(nullable = false)
+    private int semester;
+
+    @Column(nullable = false, length = 10)
+    private String section;
+
+    @Column(name = "subject_id", nullable = false)
+    private long subjectId;
+
+    // Monday of the week
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+
+    @Column(name = "present_count", nullable = false)
+    private long presentCount;
+
+    @Column(name = "absent_count", nullable = false)
+    private long absentCount;
+
+    @Column(name = "od_count", nullable = false)
+    private long odCount;
+
+    public AttendanceCubeCell() {
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public int getSemester() {
+        return semester;
+    }
+
+    public String getSection() {
+        return section;
+    }
+
+    public long getSubjectId() {
+        return subjectId;
+    }
+
+    public LocalDate getWeekStart() {
+        return weekStart;
+    }
+
+    public long getPresentCount() {
+        return presentCount;
+    }
+
+    public long getAbsentCount() {
+        return absentCount;
+    }
+
+    public long getOdCount() {
+        return odCount;
+    }
+}
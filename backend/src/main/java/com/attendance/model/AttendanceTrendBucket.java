@@ -0,0 +1,99 @@
+package com.attendance.model;
+
+import java.time.LocalDate;
+import jakarta.persistence.*;
+
+/**
+ * Pre-aggregated attendance counts for one time bucket of one scope.
+ *
+ * DAY, WEEK (starting Monday) and MONTH buckets are maintained side by side
+ * so a trend over any range is served without scanning session_attendance.
+ * scopeKey is empty for COLLEGE, the department for DEPARTMENT,
+ * "department|semester|section" for CLASS and the subject ID for SUBJECT.
+ */
+@Entity
+@Table(name = "attendance_trend_bucket", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"granularity", "scope", "scope_key", "bucket_start"})
+})
+public class AttendanceTrendBucket {
+
+    public enum Granularity {
+        DAY,
+        WEEK,
+        MONTH
+    }
+
+    public enum Scope {
+        COLLEGE,
+        DEPARTMENT,
+        CLASS,
+        SUBJECT
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Granularity granularity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Scope scope;
+
+    @Column(name = "scope_key", nullable = false, length = 150)
+    private String scopeKey;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDate bucketStart;
+
+    // PRESENT + OD records
+    @Column(name = "present_count", nullable = false)
+    private long presentCount;
+
+    @Column(name = "total_count", nullable = false)
+    private long totalCount;
+
+    public AttendanceTrendBucket() {
+    }
+
+    public AttendanceTrendBucket(Granularity granularity, Scope scope, String scopeKey,
+                                 LocalDate bucketStart, long presentCount, long totalCount) {
+        this.granularity = granularity;
+        this.scope = scope;
+        this.scopeKey = scopeKey;
+        this.bucketStart = bucketStart;
+        this.presentCount = presentCount;
+        this.totalCount = totalCount;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Granularity getGranularity() {
+        return granularity;
+    }
+
+    public Scope getScope() {
+        return scope;
+    }
+
+    public String getScopeKey() {
+        return scopeKey;
+    }
+
+    public LocalDate getBucketStart() {
+        return bucketStart;
+    }
+
+    public long getPresentCount() {
+        return presentCount;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+}
@@ -0,0 +1,77 @@
+package com.attendance.model;
+
+import java.time.Instant;
+import jakarta.persistence.*;
+
+/**
+ * One entry of the cross-node cache change feed.
+ *
+ * Every node appends a row when it changes data that other nodes may hold in
+ * memory, and tails the table to evict its own copies. cacheKey is empty for
+ * TIMETABLES, REFERENCE and DASHBOARDS, the student ID for STUDENT,
+ * AttendanceRecordedEvent.toFeedKey() for ATTENDANCE, the username for
+ * USER_ACCOUNT and "tokenId|expiresAtEpochSecond" for TOKEN_REVOKED.
+ */
+@Entity
+@Table(name = "cache_invalidation_log", indexes = {
+    @Index(name = "idx_cache_invalidation_created_at", columnList = "created_at")
+})
+public class CacheInvalidation {
+
+    public enum Topic {
+        TIMETABLES,
+        REFERENCE,
+        DASHBOARDS,
+        STUDENT,
+        ATTENDANCE,
+        USER_ACCOUNT,
+        TOKEN_REVOKED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Plain VARCHAR rather than a MySQL ENUM so new topics need no ALTER
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20, columnDefinition = "VARCHAR(20)")
+    private Topic topic;
+
+    @Column(name = "cache_key", nullable = false, length = 150)
+    private String cacheKey;
+
+    @Column(name = "origin_node", nullable = false, length = 64)
+    private String originNode;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt = Instant.now();
+
+    public CacheInvalidation() {
+    }
+
+    public CacheInvalidation(Topic topic, String cacheKey, String originNode) {
+        this.topic = topic;
+        this.cacheKey = cacheKey != null ? cacheKey : "";
+        this.originNode = originNode;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Topic getTopic() {
+        return topic;
+    }
+
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    public String getOriginNode() {
+        return originNode;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,79 @@
+package com.attendance.model;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.*;
+
+/**
+ * Maintained per-class aggregate used by the staff dashboard.
+ * Student counts follow student writes, attendance counts follow
+ * AttendanceRecordedEvent; ClassStatisticsService.rebuild() recomputes
+ * everything from the base tables.
+ */
+@Entity
+@Table(name = "class_attendance_summary", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"department", "semester"})
+})
+public class ClassAttendanceSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String department;
+
+    @Column(nullable = false)
+    private int semester;
+
+    @Column(name = "student_count", nullable = false)
+    private long studentCount;
+
+    // PRESENT + OD records
+    @Column(name = "present_count", nullable = false)
+    private long presentCount;
+
+    @Column(name = "total_count", nullable = false)
+    private long totalCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public ClassAttendanceSummary() {
+    }
+
+    /**
+     * Average attendance percentage across all records, 0 when nothing is recorded
+     */
+    public double getAveragePercentage() {
+        return totalCount > 0 ? (presentCount * 100.0) / totalCount : 0.0;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public int getSemester() {
+        return semester;
+    }
+
+    public long getStudentCount() {
+        return studentCount;
+    }
+
+    public long getPresentCount() {
+        return presentCount;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -1,9 +1,13 @@
 package com.attendance.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "classes", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"department", "year", "semester", "section"})
 })
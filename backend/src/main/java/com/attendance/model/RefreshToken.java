@@ -7,10 +7,23 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
+/**
+ * Stored refresh token, identified by the SHA-256 of the issued JWT.
+ *
+ * The raw token is never persisted; the 32-byte hash keeps the unique index
+ * compact and means a leaked table cannot be replayed.
+ */
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_refresh_token_hash", columnNames = "token_hash")
+}, indexes = {
+    @Index(name = "idx_refresh_token_user", columnList = "user_id"),
+    @Index(name = "idx_refresh_token_expiry", columnList = "expiry_date")
+})
 public class RefreshToken {
     
     @Id
@@ -20,8 +33,8 @@ public class RefreshToken {
     @Column(name = "user_id", nullable = false)
     private Long userId;
     
-    @Column(nullable = false, unique = true, length = 512)
-    private String token;
+    @Column(name = "token_hash", nullable = false, columnDefinition = "BINARY(32)")
+    private byte[] tokenHash;
     
     @Column(name = "expiry_date", nullable = false)
     private Instant expiryDate;
@@ -32,9 +45,9 @@ public class RefreshToken {
     // Constructors
     public RefreshToken() {}
     
-    public RefreshToken(Long userId, String token, Instant expiryDate) {
+    public RefreshToken(Long userId, byte[] tokenHash, Instant expiryDate) {
         this.userId = userId;
-        this.token = token;
+        this.tokenHash = tokenHash;
         this.expiryDate = expiryDate;
     }
     
@@ -55,12 +68,12 @@ public class RefreshToken {
         this.userId = userId;
     }
     
-    public String getToken() {
-        return token;
+    public byte[] getTokenHash() {
+        return tokenHash;
     }
     
-    public void setToken(String token) {
-        this.token = token;
+    public void setTokenHash(byte[] tokenHash) {
+        this.tokenHash = tokenHash;
     }
     
     public Instant getExpiryDate() {
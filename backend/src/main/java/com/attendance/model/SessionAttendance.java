@@ -9,6 +9,10 @@ import jakarta.persistence.*;
     name = "session_attendance",
     uniqueConstraints = @UniqueConstraint(
         columnNames = { "student_id", "session_id", "attendance_date" }
+    ),
+    indexes = @Index(
+        name = "idx_session_attendance_session_date",
+        columnList = "session_id, attendance_date"
     )
 )
 public class SessionAttendance {
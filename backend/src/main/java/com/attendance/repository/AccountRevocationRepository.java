@@ -0,0 +1,33 @@
+package com.attendance.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.attendance.model.AccountRevocation;
+
+public interface AccountRevocationRepository extends JpaRepository<AccountRevocation, Long> {
+
+    List<AccountRevocation> findByChangedAtAfter(Instant cutoff);
+
+    /**
+     * Record a change, keeping the later time when the account already has a row;
+     * an upsert so concurrent changes never fail the caller's transaction
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO account_revocations (username, changed_at) VALUES (:username, :changedAt) " +
+                   "ON DUPLICATE KEY UPDATE changed_at = GREATEST(changed_at, VALUES(changed_at))",
+           nativeQuery = true)
+    void recordChange(@Param("username") String username, @Param("changedAt") Instant changedAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AccountRevocation r WHERE r.changedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,8 @@
+package com.attendance.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.attendance.model.AttendanceCubeCell;
+
+public interface AttendanceCubeCellRepository extends JpaRepository<AttendanceCubeCell, Long> {
+}
@@ -0,0 +1,16 @@
+package com.attendance.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.attendance.model.AttendanceTrendBucket;
+import com.attendance.model.AttendanceTrendBucket.Granularity;
+import com.attendance.model.AttendanceTrendBucket.Scope;
+
+public interface AttendanceTrendBucketRepository extends JpaRepository<AttendanceTrendBucket, Long> {
+
+    List<AttendanceTrendBucket> findByGranularityAndScopeAndScopeKeyAndBucketStartBetweenOrderByBucketStart(
+            Granularity granularity, Scope scope, String scopeKey, LocalDate from, LocalDate to);
+}
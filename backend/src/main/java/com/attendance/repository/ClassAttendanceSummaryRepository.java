@@ -0,0 +1,89 @@
+package com.attendance.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.attendance.model.ClassAttendanceSummary;
+import jakarta.persistence.QueryHint;
+
+/**
+ * Counters are adjusted with single-statement upserts so concurrent
+ * writers never lose an increment.
+ */
+public interface ClassAttendanceSummaryRepository extends JpaRepository<ClassAttendanceSummary, Long> {
+
+    // Declared as the only table the native writes touch, so they do not
+    // invalidate every second-level cache region
+    String SUMMARY_TABLE = "class_attendance_summary";
+
+    List<ClassAttendanceSummary> findByDepartmentIn(Collection<String> departments);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SUMMARY_TABLE))
+    @Query(value = "INSERT INTO class_attendance_summary " +
+                   "(department, semester, student_count, present_count, total_count, updated_at) " +
+                   "VALUES (:department, :semester, GREATEST(:delta, 0), 0, 0, NOW()) " +
+                   "ON DUPLICATE KEY UPDATE student_count = GREATEST(student_count + :delta, 0), updated_at = NOW()",
+           nativeQuery = true)
+    void adjustStudentCount(@Param("department") String department,
+                            @Param("semester") int semester,
+                            @Param("delta") int delta);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SUMMARY_TABLE))
+    @Query(value = "INSERT INTO class_attendance_summary " +
+                   "(department, semester, student_count, present_count, total_count, updated_at) " +
+                   "VALUES (:department, :semester, 0, GREATEST(:presentDelta, 0), GREATEST(:totalDelta, 0), NOW()) " +
+                   "ON DUPLICATE KEY UPDATE present_count = GREATEST(present_count + :presentDelta, 0), " +
+                   "total_count = GREATEST(total_count + :totalDelta, 0), updated_at = NOW()",
+           nativeQuery = true)
+    void adjustAttendanceCounts(@Param("department") String department,
+                                @Param("semester") int semester,
+                                @Param("presentDelta") int presentDelta,
+                                @Param("totalDelta") int totalDelta);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SUMMARY_TABLE))
+    @Query(value = "DELETE FROM class_attendance_summary", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SUMMARY_TABLE))
+    @Query(value = "INSERT INTO class_attendance_summary " +
+                   "(department, semester, student_count, present_count, total_count, updated_at) " +
+                   "SELECT s.department, s.semester, COUNT(*), 0, 0, NOW() " +
+                   "FROM student s WHERE s.department IS NOT NULL " +
+                   "GROUP BY s.department, s.semester",
+           nativeQuery = true)
+    void insertStudentCounts();
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SUMMARY_TABLE))
+    @Query(value = "INSERT INTO class_attendance_summary " +
+                   "(department, semester, student_count, present_count, total_count, updated_at) " +
+                   "SELECT src.department, src.semester, 0, src.present_count, src.total_count, NOW() FROM (" +
+                   "  SELECT ts.department, ts.semester, " +
+                   "         SUM(CASE WHEN sa.status IN ('PRESENT','OD') THEN 1 ELSE 0 END) AS present_count, " +
+                   "         COUNT(*) AS total_count " +
+                   "  FROM session_attendance sa " +
+                   "  JOIN timetable_session ts ON ts.id = sa.session_id " +
+                   "  WHERE ts.department IS NOT NULL " +
+                   "  GROUP BY ts.department, ts.semester" +
+                   ") src " +
+                   "ON DUPLICATE KEY UPDATE present_count = src.present_count, total_count = src.total_count",
+           nativeQuery = true)
+    void mergeAttendanceCounts();
+}
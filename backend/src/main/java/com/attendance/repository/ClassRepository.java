@@ -1,8 +1,11 @@
 package com.attendance.repository;
 
 import com.attendance.model.Classes;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -36,6 +39,7 @@ public interface ClassRepository extends JpaRepository<Classes, Long> {
     /**
      * Find a specific class by all criteria
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Classes> findByDepartmentAndYearAndSemesterAndSection(
         String department, int year, int semester, String section
     );
@@ -74,4 +78,12 @@ public interface ClassRepository extends JpaRepository<Classes, Long> {
     @Query("SELECT DISTINCT CONCAT('Year ', c.year) FROM Classes c " +
            "WHERE c.department = :department AND c.active = true ORDER BY c.year")
     List<String> findDistinctYearsStringByDepartment(@Param("department") String department);
+
+    /**
+     * Get distinct (department, year) pairs for all active classes in one pass
+     * Returns: department, year
+     */
+    @Query("SELECT DISTINCT c.department, c.year FROM Classes c " +
+           "WHERE c.active = true ORDER BY c.department, c.year")
+    List<Object[]> findDistinctDepartmentYears();
 }
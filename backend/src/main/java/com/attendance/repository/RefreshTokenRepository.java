@@ -1,24 +1,31 @@
 package com.attendance.repository;
 
+import java.time.Instant;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.attendance.model.RefreshToken;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
     
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
     
     @Modifying
     @Transactional
     @Query("DELETE FROM RefreshToken rt WHERE rt.userId = :userId")
     void deleteByUserId(Long userId);
     
+    /**
+     * Delete at most limit expired tokens; walks the expiry index so each chunk
+     * holds its row locks only briefly
+     */
     @Modifying
     @Transactional
-    void deleteByToken(String token);
+    @Query(value = "DELETE FROM refresh_tokens WHERE expiry_date < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") Instant now, @Param("limit") int limit);
 }
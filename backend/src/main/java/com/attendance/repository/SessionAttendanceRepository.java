@@ -1,7 +1,7 @@
 package com.attendance.repository;
 
 import java.time.LocalDate;
-import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -61,6 +61,20 @@ public interface SessionAttendanceRepository extends JpaRepository<SessionAttend
 		     "WHERE ts.department = :department " +
 		     "GROUP BY sa.student.id")
 	    Double calculateAverageAttendanceByDepartment(@Param("department") String department);
+
+	    /**
+	     * Average per-student attendance percentage for every department in one pass
+	     * Returns: department, average percentage
+	     */
+	    @Query(value = "SELECT t.department, AVG(t.percentage) FROM (" +
+	           "SELECT ts.department AS department, sa.student_id AS student_id, " +
+	           "SUM(CASE WHEN sa.status IN ('PRESENT','OD') THEN 1 ELSE 0 END) * 100.0 / COUNT(*) AS percentage " +
+	           "FROM session_attendance sa " +
+	           "JOIN timetable_session ts ON sa.session_id = ts.id " +
+	           "GROUP BY ts.department, sa.student_id) t " +
+	           "GROUP BY t.department",
+	           nativeQuery = true)
+	    List<Object[]> calculateAverageAttendanceGroupedByDepartment();
 	    
 	    /**
 	     * Simple fallback: Get average attendance without complex grouping
@@ -75,17 +89,26 @@ public interface SessionAttendanceRepository extends JpaRepository<SessionAttend
 	            @Param("semester") int semester);
 
 	    /**
-	     * Check if attendance already marked for a session
-	     * Fixed to properly access subject.id through relationship
+	     * IDs of the given sessions that already have attendance on a date
+	     * Resolves the marked status for a whole day's schedule in one query
+	     */
+	    @Query("SELECT DISTINCT sa.timetableSession.id FROM SessionAttendance sa " +
+	           "WHERE sa.timetableSession.id IN :sessionIds AND sa.date = :date")
+	    List<Long> findMarkedSessionIds(
+	            @Param("sessionIds") Collection<Long> sessionIds,
+	            @Param("date") LocalDate date);
+
+	    /**
+	     * Attended (PRESENT or OD) and total records per student within a date range
+	     * Row: [studentId, attended, total]
 	     */
-	    @Query("SELECT CASE WHEN COUNT(sa) > 0 THEN true ELSE false END " +
+	    @Query("SELECT sa.student.id, " +
+	           "SUM(CASE WHEN sa.status IN ('PRESENT','OD') THEN 1 ELSE 0 END), COUNT(sa) " +
 	           "FROM SessionAttendance sa " +
-	           "WHERE sa.timetableSession.subject.id = :subjectId " +
-	           "AND sa.date = :date " +
-	           "AND sa.timetableSession.startTime = :sessionTime")
-	    boolean existsByTimetableSessionSubjectIdAndDateAndTimetableSessionStartTime(
-	            @Param("subjectId") Long subjectId,
-	            @Param("date") LocalDate date,
-	            @Param("sessionTime") LocalTime sessionTime);
+	           "WHERE sa.date BETWEEN :from AND :to " +
+	           "GROUP BY sa.student.id")
+	    List<Object[]> countAttendanceByStudentBetween(
+	            @Param("from") LocalDate from,
+	            @Param("to") LocalDate to);
 
 }
@@ -1,18 +1,29 @@
 package com.attendance.repository;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import com.attendance.model.Staff;
+import jakarta.persistence.QueryHint;
 import java.util.Optional;
 import java.util.List;
 
-public interface StaffRepository extends JpaRepository<Staff, Long> {
+public interface StaffRepository extends JpaRepository<Staff, Long>, StaffRepositoryCustom {
     
+    // Resolved on every staff request; served from the query cache until staff changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Staff> findByUserId(Long userId);
     
-    Optional<Staff> findByStaffCode(String staffCode);
-    
     Long countByDepartment(String department);
     
+    /**
+     * Staff headcount for every department in one pass
+     * Returns: department, staff count
+     */
+    @Query("SELECT s.department, COUNT(s) FROM Staff s GROUP BY s.department")
+    List<Object[]> countGroupedByDepartment();
+    
     List<Staff> findByDepartment(String department);
     
     List<Staff> findByActiveTrue();
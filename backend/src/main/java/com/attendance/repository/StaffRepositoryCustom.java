@@ -0,0 +1,13 @@
+package com.attendance.repository;
+
+import java.util.Optional;
+
+import com.attendance.model.Staff;
+
+/**
+ * Staff lookups that go through Hibernate's natural-ID cache
+ */
+public interface StaffRepositoryCustom {
+
+    Optional<Staff> findByStaffCode(String staffCode);
+}
@@ -0,0 +1,32 @@
+package com.attendance.repository;
+
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.attendance.model.Staff;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Resolves staff codes via the natural-ID cache, so repeated lookups
+ * of the same code skip the database entirely
+ */
+public class StaffRepositoryCustomImpl implements StaffRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Staff> findByStaffCode(String staffCode) {
+        if (staffCode == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(Staff.class)
+            .loadOptional(staffCode);
+    }
+}
@@ -4,6 +4,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import com.attendance.model.Student;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
@@ -45,4 +46,11 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
         @Param("section") String section);
 
     List<Student> findByDepartmentAndSemesterAndActiveTrue(String department, int semester);
-}
\ No newline at end of file
+
+    List<Student> findByActiveTrue();
+
+    List<Student> findByDepartmentIgnoreCaseAndActiveTrue(String department);
+
+    @Query("SELECT s.rollNo FROM Student s WHERE s.rollNo IN :rollNos")
+    List<String> findExistingRollNos(@Param("rollNos") Collection<String> rollNos);
+}
@@ -1,16 +1,18 @@
 package com.attendance.repository;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import com.attendance.model.Subject;
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 
-public interface SubjectRepository extends JpaRepository<Subject, Long> {
-    
-    Optional<Subject> findBySubjectCode(String subjectCode);
+public interface SubjectRepository extends JpaRepository<Subject, Long>, SubjectRepositoryCustom {
     
     Optional<Subject> findBySubjectName(String subjectName);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Subject> findByDepartmentAndSemester(String department, int semester);
     
     List<Subject> findByDepartment(String department);
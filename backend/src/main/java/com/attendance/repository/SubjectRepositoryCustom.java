@@ -0,0 +1,13 @@
+package com.attendance.repository;
+
+import java.util.Optional;
+
+import com.attendance.model.Subject;
+
+/**
+ * Subject lookups that go through Hibernate's natural-ID cache
+ */
+public interface SubjectRepositoryCustom {
+
+    Optional<Subject> findBySubjectCode(String subjectCode);
+}
@@ -0,0 +1,32 @@
+package com.attendance.repository;
+
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.attendance.model.Subject;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Resolves subject codes via the natural-ID cache, so repeated lookups
+ * of the same code skip the database entirely
+ */
+public class SubjectRepositoryCustomImpl implements SubjectRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Subject> findBySubjectCode(String subjectCode) {
+        if (subjectCode == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(Subject.class)
+            .loadOptional(subjectCode);
+    }
+}
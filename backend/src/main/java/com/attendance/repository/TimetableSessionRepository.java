@@ -87,4 +87,23 @@ public interface TimetableSessionRepository
     
     List<TimetableSession> findByDepartmentAndSemesterAndSectionAndActiveTrue(
             String department, int semester, String section);
+
+    // Full weekly timetable of a class with subject and staff loaded, used to build cached projections
+    @Query("SELECT ts FROM TimetableSession ts " +
+           "LEFT JOIN FETCH ts.subject " +
+           "LEFT JOIN FETCH ts.staff " +
+           "WHERE ts.department = :department AND ts.semester = :semester " +
+           "AND ts.section = :section AND ts.active = true")
+    List<TimetableSession> findClassTimetable(
+            @Param("department") String department,
+            @Param("semester") int semester,
+            @Param("section") String section);
+
+    // Active weekly slots per class, subject and weekday, used by the eligibility forecast
+    // Row: [department, semester, section, subjectCode, dayOfWeek, slotCount]
+    @Query("SELECT ts.department, ts.semester, ts.section, sub.subjectCode, ts.dayOfWeek, COUNT(ts) " +
+           "FROM TimetableSession ts LEFT JOIN ts.subject sub " +
+           "WHERE ts.active = true " +
+           "GROUP BY ts.department, ts.semester, ts.section, sub.subjectCode, ts.dayOfWeek")
+    List<Object[]> countActiveSlotsByClassAndDay();
 }
@@ -0,0 +1,122 @@
+package com.attendance.security;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.attendance.event.CacheInvalidationEvent;
+import com.attendance.event.UserAccountChangedEvent;
+import com.attendance.model.AccountRevocation;
+import com.attendance.model.CacheInvalidation.Topic;
+import com.attendance.repository.AccountRevocationRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Remembers when each account was last disabled, deleted or had its role changed,
+ * so JwtFilter can reject access tokens issued before that change without a query.
+ *
+ * Access tokens carry the role and linked record ids as claims, so a token issued
+ * before the change would otherwise stay usable until it expires. Each change is
+ * also written to account_revocations in the transaction that makes it, and rows
+ * younger than the token lifetime are loaded at startup, so a restarted or newly
+ * joined node rejects the same tokens. Changes made on other nodes while running
+ * arrive through the invalidation bus with the time they were made there.
+ */
+@Component
+public class AccountChangeTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountChangeTracker.class);
+
+    // Lower-cased username -> epoch millisecond of the latest committed change
+    private final Map<String, Long> changedAt = new ConcurrentHashMap<>();
+
+    private final AccountRevocationRepository revocationRepository;
+    private final long retentionMillis;
+
+    public AccountChangeTracker(AccountRevocationRepository revocationRepository,
+                                @Value("${jwt.expiration}") long accessTokenLifetimeMillis) {
+        this.revocationRepository = revocationRepository;
+        this.retentionMillis = accessTokenLifetimeMillis + 1000;
+    }
+
+    @PostConstruct
+    public void load() {
+        Instant cutoff = Instant.now().minusMillis(retentionMillis);
+        for (AccountRevocation revocation : revocationRepository.findByChangedAtAfter(cutoff)) {
+            changedAt.merge(normalize(revocation.getUsername()), revocation.getChangedAt().toEpochMilli(), Math::max);
+        }
+        logger.info("🔐 Loaded {} recent account changes", changedAt.size());
+    }
+
+    /**
+     * True when the account changed at or after the millisecond the token was issued,
+     * so a token issued right after the change in the same second stays valid
+     */
+    public boolean isRevoked(String username, long issuedAtMillis) {
+        Long changed = changedAt.get(normalize(username));
+        return changed != null && issuedAtMillis <= changed;
+    }
+
+    public void accountChanged(String username) {
+        accountChanged(username, System.currentTimeMillis());
+    }
+
+    public void accountChanged(String username, long changedAtMillis) {
+        long now = System.currentTimeMillis();
+        changedAt.merge(normalize(username), changedAtMillis, Math::max);
+        changedAt.values().removeIf(changed -> changed < now - retentionMillis);
+        logger.info("🔐 Access tokens issued up to {} are revoked for {}",
+                Instant.ofEpochMilli(changedAtMillis), username);
+    }
+
+    /**
+     * Persist the change with the data it describes; joins the publisher's transaction
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void recordAccountChange(UserAccountChangedEvent event) {
+        if (event.getUsername() != null) {
+            revocationRepository.recordChange(normalize(event.getUsername()), Instant.now());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        if (event.getUsername() != null) {
+            accountChanged(event.getUsername());
+        }
+    }
+
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.getTopic() == Topic.USER_ACCOUNT) {
+            accountChanged(event.getKey(), event.getChangedAt().toEpochMilli());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        try {
+            int deleted = revocationRepository.deleteOlderThan(Instant.now().minusMillis(retentionMillis));
+            if (deleted > 0) {
+                logger.debug("🧹 Purged {} expired account changes", deleted);
+            }
+        } catch (Exception e) {
+            logger.error("❌ Account change purge failed: {}", e.getMessage());
+        }
+    }
+
+    private static String normalize(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+}
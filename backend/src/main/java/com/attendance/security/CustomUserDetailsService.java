@@ -1,7 +1,10 @@
 package com.attendance.security;
 
+import java.util.List;
+
 import com.attendance.model.User;
 import com.attendance.repository.UserRepository;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
 
@@ -22,11 +25,11 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .orElseThrow(() ->
                         new UsernameNotFoundException("User not found"));
 
-        return org.springframework.security.core.userdetails.User
-                .withUsername(user.getUsername())
-                .password(user.getPassword())
-                .authorities(user.getRole())   // ROLE_ADMIN / ROLE_STAFF / ROLE_STUDENT
-                .disabled(!user.isEnabled())   
-                .build();
+        return new AuthenticatedUser(
+                user.getId(),
+                user.getUsername(),
+                user.getPassword(),
+                user.isEnabled(),
+                List.of(new SimpleGrantedAuthority(user.getRole())));   // ROLE_ADMIN / ROLE_STAFF / ROLE_STUDENT
     }
 }
@@ -1,25 +1,43 @@
 package com.attendance.security;
 
+import com.attendance.repository.StaffRepository;
+import com.attendance.repository.StudentRepository;
 import jakarta.servlet.*;
 import jakarta.servlet.http.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 public class JwtFilter extends GenericFilter {
 
+    private static final Logger logger = LoggerFactory.getLogger(JwtFilter.class);
+
     private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private final AccountChangeTracker accountChangeTracker;
+    private final TokenRevocationList tokenRevocationList;
+    private final StudentRepository studentRepository;
+    private final StaffRepository staffRepository;
 
     public JwtFilter(JwtUtil jwtUtil,
-                     CustomUserDetailsService uds) {
+                     AccountChangeTracker accountChangeTracker,
+                     TokenRevocationList tokenRevocationList,
+                     StudentRepository studentRepository,
+                     StaffRepository staffRepository) {
         this.jwtUtil = jwtUtil;
-        this.userDetailsService = uds;
+        this.accountChangeTracker = accountChangeTracker;
+        this.tokenRevocationList = tokenRevocationList;
+        this.studentRepository = studentRepository;
+        this.staffRepository = staffRepository;
     }
 
     @Override
@@ -35,25 +53,71 @@ public class JwtFilter extends GenericFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
 
             String token = authHeader.substring(7);
-            String username = jwtUtil.extractUsername(token);
-
-            UserDetails userDetails =
-                    userDetailsService.loadUserByUsername(username);
+            Optional<TokenIdentity> identity = jwtUtil.extractIdentity(token);
 
-            UsernamePasswordAuthenticationToken auth =
-                    new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities());
+            if (identity.isPresent()) {
+                authenticateFromClaims(request, identity.get());
+            } else {
+                // Refresh tokens and pre-claims access tokens are not bearer credentials;
+                // clients holding an old access token get a 401 and refresh
+                logger.debug("🔐 Rejected bearer token that is not an access token");
+            }
+        }
 
-            auth.setDetails(
-                    new WebAuthenticationDetailsSource()
-                            .buildDetails(request));
+        chain.doFilter(req, res);
+    }
 
-            SecurityContextHolder.getContext()
-                    .setAuthentication(auth);
+    /**
+     * Builds the authentication straight from the signed claims; no database access
+     * unless the handler asks for the linked Student or Staff record
+     */
+    private void authenticateFromClaims(HttpServletRequest request, TokenIdentity identity) {
+        if (accountChangeTracker.isRevoked(identity.username(), identity.issuedAtMillis())) {
+            logger.debug("🔐 Rejected access token issued before an account change for {}",
+                    identity.username());
+            return;
+        }
+        if (tokenRevocationList.isRevoked(identity.tokenId())) {
+            logger.debug("🔐 Rejected revoked access token for {}", identity.username());
+            return;
         }
 
-        chain.doFilter(req, res);
+        UserDetails userDetails = new AuthenticatedUser(
+                identity.userId(),
+                identity.username(),
+                "",
+                true,
+                List.of(new SimpleGrantedAuthority(identity.role())));
+
+        Long studentId = identity.studentId();
+        Long staffId = identity.staffId();
+        ResolvedPrincipal principal = new ResolvedPrincipal(
+                identity.userId(),
+                identity.username(),
+                identity.role(),
+                studentId,
+                staffId,
+                () -> studentId != null ? studentRepository.findById(studentId) : Optional.empty(),
+                () -> staffId != null ? staffRepository.findById(staffId) : Optional.empty());
+
+        authenticate(request, userDetails, principal);
+    }
+
+    private void authenticate(HttpServletRequest request, UserDetails userDetails,
+                              ResolvedPrincipal principal) {
+        UsernamePasswordAuthenticationToken auth =
+                new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities());
+
+        auth.setDetails(
+                new WebAuthenticationDetailsSource()
+                        .buildDetails(request));
+
+        SecurityContextHolder.getContext()
+                .setAuthentication(auth);
+
+        request.setAttribute(ResolvedPrincipal.REQUEST_ATTRIBUTE, principal);
     }
-}
\ No newline at end of file
+}
@@ -2,13 +2,18 @@ package com.attendance.security;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.attendance.model.User;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -19,6 +24,19 @@ public class JwtUtil {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
     private static final int MINIMUM_SECRET_LENGTH = 64;
 
+    // Token kind; JwtFilter only accepts access tokens as bearer credentials
+    static final String CLAIM_TYPE = "typ";
+    static final String TYPE_ACCESS = "access";
+    static final String TYPE_REFRESH = "refresh";
+
+    // Identity claims carried by access tokens
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_STUDENT_ID = "studentId";
+    static final String CLAIM_STAFF_ID = "staffId";
+    // iat only has one-second resolution; AccountChangeTracker compares in milliseconds
+    static final String CLAIM_ISSUED_AT_MILLIS = "iatMs";
+
     @Value("${jwt.secret}")
     private String secret;
 
@@ -28,6 +46,16 @@ public class JwtUtil {
     @Value("${jwt.refresh-expiration}")
     private long refreshExpirationTime;
 
+    // Built once after the secret is validated; both are immutable and thread-safe
+    private Key signingKey;
+    private JwtParser parser;
+
+    private final VerifiedTokenCache verifiedTokens;
+
+    public JwtUtil(VerifiedTokenCache verifiedTokens) {
+        this.verifiedTokens = verifiedTokens;
+    }
+
     /**
      * Validates JWT secret on application startup
      * Application will FAIL TO START if secret is invalid or missing
@@ -63,17 +91,47 @@ public class JwtUtil {
         }
         
         logger.info("JWT secret validation passed. Secret length: {} characters", secret.length());
+
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signingKey;
     }
 
-    public String generateToken(String username) {
-        return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
+    /**
+     * Verifies the token and returns its claims.
+     * A token verified earlier is served from VerifiedTokenCache until it expires.
+     */
+    private Claims verifiedClaims(String token) {
+        return verifiedTokens.verify(token, t -> parser.parseClaimsJws(t).getBody());
+    }
+
+    /**
+     * Access token carrying the user's role, id and linked Student or Staff id,
+     * so JwtFilter can authenticate the request without loading the account
+     */
+    public String generateToken(User user, Long studentId, Long staffId) {
+        long now = System.currentTimeMillis();
+        var builder = Jwts.builder()
+                .setSubject(user.getUsername())
+                .claim(CLAIM_TYPE, TYPE_ACCESS)
+                .claim(CLAIM_ROLE, user.getRole())
+                .claim(CLAIM_USER_ID, user.getId());
+        if (studentId != null) {
+            builder.claim(CLAIM_STUDENT_ID, studentId);
+        }
+        if (staffId != null) {
+            builder.claim(CLAIM_STAFF_ID, staffId);
+        }
+        return builder
+                .claim(CLAIM_ISSUED_AT_MILLIS, now)
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expirationTime))
                 .signWith(getSigningKey())
                 .compact();
     }
@@ -81,6 +139,8 @@ public class JwtUtil {
     public String generateRefreshToken(String username) {
         return Jwts.builder()
                 .setSubject(username)
+                .claim(CLAIM_TYPE, TYPE_REFRESH)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + refreshExpirationTime))
                 .signWith(getSigningKey())
@@ -88,31 +148,46 @@ public class JwtUtil {
     }
 
     public String extractUsername(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return verifiedClaims(token).getSubject();
+    }
 
-        return claims.getSubject();
+    /**
+     * Identity claims of a verified access token, or empty for refresh tokens
+     * and for tokens from older releases, which carry no type claim
+     */
+    public Optional<TokenIdentity> extractIdentity(String token) {
+        Claims claims = verifiedClaims(token);
+        if (!TYPE_ACCESS.equals(claims.get(CLAIM_TYPE, String.class))) {
+            return Optional.empty();
+        }
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || role == null || claims.getIssuedAt() == null) {
+            return Optional.empty();
+        }
+        Long issuedAtMillis = claims.get(CLAIM_ISSUED_AT_MILLIS, Long.class);
+        return Optional.of(new TokenIdentity(
+                claims.getSubject(),
+                userId,
+                role,
+                claims.get(CLAIM_STUDENT_ID, Long.class),
+                claims.get(CLAIM_STAFF_ID, Long.class),
+                claims.getId(),
+                issuedAtMillis != null ? issuedAtMillis : claims.getIssuedAt().getTime(),
+                claims.getExpiration().getTime() / 1000));
     }
 
     public boolean isTokenExpired(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            
-            return claims.getExpiration().before(new Date());
+            return verifiedClaims(token).getExpiration().before(new Date());
         } catch (Exception e) {
             return true;
         }
     }
 
     public boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        Claims claims = verifiedClaims(token);
+        return claims.getSubject().equals(username)
+                && claims.getExpiration().after(new Date());
     }
 }
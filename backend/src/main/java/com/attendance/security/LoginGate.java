@@ -0,0 +1,175 @@
+package com.attendance.security;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Admission control for password logins
+ *
+ * BCrypt is deliberately slow, so a burst of logins on servlet threads starves every
+ * other endpoint. Logins run on a small dedicated pool instead, sized below the core
+ * count so marking and dashboards keep CPU to spare; once its queue is full further
+ * logins are turned away at once with a Retry-After. Accounts that keep failing are
+ * locked for a short while without spending a BCrypt round on them.
+ */
+@Component
+public class LoginGate implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginGate.class);
+
+    // Bound on tracked usernames, so failures for random names cannot grow the map forever
+    private static final int MAX_TRACKED_ACCOUNTS = 50_000;
+
+    private final ThreadPoolExecutor workers;
+    private final int maxFailures;
+    private final long failureWindowMillis;
+    private final long lockoutMillis;
+    private final long retryAfterSeconds;
+
+    // Lower-cased username -> recent failures
+    private final Map<String, Failures> failures = new ConcurrentHashMap<>();
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong lockedOut = new AtomicLong();
+
+    public LoginGate(@Value("${security.login.workers:0}") int workers,
+                     @Value("${security.login.queue-capacity:200}") int queueCapacity,
+                     @Value("${security.login.max-failures:5}") int maxFailures,
+                     @Value("${security.login.failure-window-seconds:300}") long failureWindowSeconds,
+                     @Value("${security.login.lockout-seconds:60}") long lockoutSeconds,
+                     @Value("${security.login.retry-after-seconds:5}") long retryAfterSeconds) {
+        // 0 means half the cores, leaving the rest for everything else
+        int threads = workers > 0 ? workers : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "login-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.maxFailures = maxFailures;
+        this.failureWindowMillis = failureWindowSeconds * 1000;
+        this.lockoutMillis = lockoutSeconds * 1000;
+        this.retryAfterSeconds = retryAfterSeconds;
+        logger.info("🔑 Login pool ready: {} workers, queue of {}", threads, queueCapacity);
+    }
+
+    /**
+     * Run a login on the worker pool
+     *
+     * @throws RejectedExecutionException when the queue is full; answer 503 with getRetryAfterSeconds()
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> login) {
+        try {
+            return CompletableFuture.supplyAsync(login, workers);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw e;
+        }
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * Seconds the account stays locked, or 0 when it may try to log in
+     */
+    public long lockedSeconds(String username) {
+        Failures entry = failures.get(normalize(username));
+        if (entry == null) {
+            return 0;
+        }
+        long remaining = entry.lockedUntil - System.currentTimeMillis();
+        if (remaining <= 0) {
+            return 0;
+        }
+        lockedOut.incrementAndGet();
+        return TimeUnit.MILLISECONDS.toSeconds(remaining) + 1;
+    }
+
+    public void recordFailure(String username) {
+        long now = System.currentTimeMillis();
+        if (failures.size() >= MAX_TRACKED_ACCOUNTS) {
+            failures.values().removeIf(entry -> entry.isStale(now, failureWindowMillis));
+        }
+        Failures entry = failures.compute(normalize(username), (key, existing) ->
+            existing == null || existing.isStale(now, failureWindowMillis)
+                ? new Failures(now)
+                : existing);
+        synchronized (entry) {
+            entry.count++;
+            if (entry.count >= maxFailures) {
+                entry.lockedUntil = now + lockoutMillis;
+                entry.count = 0;
+                entry.windowStart = now;
+                logger.warn("🔒 Login locked for {} after {} failed attempts", username, maxFailures);
+            }
+        }
+    }
+
+    public void recordSuccess(String username) {
+        failures.remove(normalize(username));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.login.active", workers, ThreadPoolExecutor::getActiveCount)
+            .description("Logins being verified")
+            .register(registry);
+        Gauge.builder("app.login.queued", workers, executor -> executor.getQueue().size())
+            .description("Logins waiting for a worker")
+            .register(registry);
+        FunctionCounter.builder("app.login.rejected", rejected, AtomicLong::get)
+            .description("Logins turned away because the queue was full")
+            .register(registry);
+        FunctionCounter.builder("app.login.locked", lockedOut, AtomicLong::get)
+            .description("Login attempts refused while the account was locked")
+            .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private static String normalize(String username) {
+        return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Failures {
+        private long windowStart;
+        private int count;
+        private volatile long lockedUntil;
+
+        private Failures(long now) {
+            this.windowStart = now;
+        }
+
+        private boolean isStale(long now, long windowMillis) {
+            return windowStart < now - windowMillis && lockedUntil < now;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.attendance.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.attendance.model.RefreshToken;
+import com.attendance.repository.RefreshTokenRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Persistence of issued refresh tokens by their SHA-256 hash
+ *
+ * Lookups go through a 32-byte unique index instead of the 500-character JWT, and
+ * expired rows are purged in bounded chunks on a schedule rather than only when
+ * someone presents them, so the table stays at roughly one row per active session.
+ * The row count is refreshed by each purge and exported as app.refresh.tokens.
+ * Created only after RefreshTokenSchemaMigration has brought the table up to date.
+ */
+@Component
+@DependsOn("refreshTokenSchemaMigration")
+public class RefreshTokenStore implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenStore.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final int purgeBatchSize;
+
+    private final AtomicLong storedTokens = new AtomicLong();
+    private final AtomicLong purgedTokens = new AtomicLong();
+
+    public RefreshTokenStore(RefreshTokenRepository refreshTokenRepository,
+                             @Value("${security.refresh-token.purge-batch-size:1000}") int purgeBatchSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    public RefreshToken save(Long userId, String token, Instant expiryDate) {
+        return refreshTokenRepository.save(new RefreshToken(userId, hash(token), expiryDate));
+    }
+
+    public Optional<RefreshToken> find(String token) {
+        return refreshTokenRepository.findByTokenHash(hash(token));
+    }
+
+    public void delete(RefreshToken refreshToken) {
+        refreshTokenRepository.delete(refreshToken);
+    }
+
+    public void deleteAllForUser(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * Remove expired tokens a chunk at a time until none are left
+     */
+    @Scheduled(initialDelayString = "${security.refresh-token.purge-initial-delay-ms:60000}",
+               fixedDelayString = "${security.refresh-token.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        try {
+            Instant now = Instant.now();
+            long start = System.nanoTime();
+            long deleted = 0;
+            int chunk;
+            do {
+                chunk = refreshTokenRepository.deleteExpired(now, purgeBatchSize);
+                deleted += chunk;
+            } while (chunk == purgeBatchSize);
+
+            purgedTokens.addAndGet(deleted);
+            storedTokens.set(refreshTokenRepository.count());
+            if (deleted > 0) {
+                logger.info("🧹 Purged {} expired refresh tokens in {} ms ({} remain)",
+                    deleted, (System.nanoTime() - start) / 1_000_000, storedTokens.get());
+            }
+        } catch (Exception e) {
+            logger.error("❌ Refresh token purge failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.refresh.tokens", storedTokens, AtomicLong::get)
+            .description("Stored refresh tokens as of the last purge")
+            .register(registry);
+        FunctionCounter.builder("app.refresh.tokens.purged", purgedTokens, AtomicLong::get)
+            .description("Expired refresh tokens removed by the scheduled purge")
+            .register(registry);
+    }
+
+    static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
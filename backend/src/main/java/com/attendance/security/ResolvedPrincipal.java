@@ -0,0 +1,113 @@
+package com.attendance.security;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import com.attendance.exception.ResourceNotFoundException;
+import com.attendance.model.Staff;
+import com.attendance.model.Student;
+
+/**
+ * Identity of the caller, resolved once per request by JwtFilter.
+ *
+ * The linked Student or Staff record is loaded on first access and
+ * reused for the rest of the request, so controllers and services never
+ * look the user up again. Inject it into a controller method by declaring
+ * a ResolvedPrincipal parameter.
+ */
+public class ResolvedPrincipal {
+
+    public static final String REQUEST_ATTRIBUTE = ResolvedPrincipal.class.getName();
+
+    private final Long userId;
+    private final String username;
+    private final String role;
+    private final Long knownStudentId;
+    private final Long knownStaffId;
+    private final Supplier<Optional<Student>> studentLoader;
+    private final Supplier<Optional<Staff>> staffLoader;
+
+    private Optional<Student> student;
+    private Optional<Staff> staff;
+
+    public ResolvedPrincipal(Long userId, String username, String role,
+                             Supplier<Optional<Student>> studentLoader,
+                             Supplier<Optional<Staff>> staffLoader) {
+        this(userId, username, role, null, null, studentLoader, staffLoader);
+    }
+
+    /**
+     * Principal whose linked Student/Staff ids are already known (from token claims),
+     * so getStudentId()/getStaffId() need no lookup
+     */
+    public ResolvedPrincipal(Long userId, String username, String role,
+                             Long studentId, Long staffId,
+                             Supplier<Optional<Student>> studentLoader,
+                             Supplier<Optional<Staff>> staffLoader) {
+        this.userId = userId;
+        this.username = username;
+        this.role = role;
+        this.knownStudentId = studentId;
+        this.knownStaffId = staffId;
+        this.studentLoader = studentLoader;
+        this.staffLoader = staffLoader;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public boolean isStudent() {
+        return "ROLE_STUDENT".equals(role);
+    }
+
+    public boolean isStaff() {
+        return "ROLE_STAFF".equals(role);
+    }
+
+    public Optional<Student> getStudent() {
+        if (student == null) {
+            student = isStudent() ? studentLoader.get() : Optional.empty();
+        }
+        return student;
+    }
+
+    public Optional<Staff> getStaff() {
+        if (staff == null) {
+            staff = isStaff() ? staffLoader.get() : Optional.empty();
+        }
+        return staff;
+    }
+
+    public Long getStudentId() {
+        if (knownStudentId != null || !isStudent()) {
+            return knownStudentId;
+        }
+        return getStudent().map(Student::getId).orElse(null);
+    }
+
+    public Long getStaffId() {
+        if (knownStaffId != null || !isStaff()) {
+            return knownStaffId;
+        }
+        return getStaff().map(Staff::getId).orElse(null);
+    }
+
+    public Student requireStudent() {
+        return getStudent()
+            .orElseThrow(() -> new ResourceNotFoundException("Student", "user", username));
+    }
+
+    public Staff requireStaff() {
+        return getStaff()
+            .orElseThrow(() -> new ResourceNotFoundException("Staff", "user", username));
+    }
+}
@@ -0,0 +1,37 @@
+package com.attendance.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import com.attendance.exception.UnauthorizedException;
+
+/**
+ * Supplies the request's ResolvedPrincipal to controller methods
+ */
+@Component
+public class ResolvedPrincipalArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return ResolvedPrincipal.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter,
+                                  ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest,
+                                  WebDataBinderFactory binderFactory) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        Object principal = request != null ? request.getAttribute(ResolvedPrincipal.REQUEST_ATTRIBUTE) : null;
+        if (principal == null) {
+            throw new UnauthorizedException("Authentication required");
+        }
+        return principal;
+    }
+}
@@ -44,6 +44,8 @@ public class SecurityConfig {
                 .requestMatchers("/api/teacher/**").permitAll() // Public access for teacher endpoints
                 .requestMatchers("/api/staff/**").permitAll() // Public access for staff timetable endpoints
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/api/attendance/**")
                 .hasAnyRole("ADMIN", "STAFF")
                 .requestMatchers("/api/reports/**")
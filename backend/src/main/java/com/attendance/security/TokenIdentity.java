@@ -0,0 +1,18 @@
+package com.attendance.security;
+
+/**
+ * Identity claims carried by an access token: who the caller is, their role,
+ * and the Student or Staff record linked to the account (null when none).
+ * tokenId is the jti claim; issuedAtMillis is in epoch milliseconds and
+ * expiresAt in epoch seconds.
+ */
+public record TokenIdentity(
+        String username,
+        Long userId,
+        String role,
+        Long studentId,
+        Long staffId,
+        String tokenId,
+        long issuedAtMillis,
+        long expiresAt) {
+}
@@ -0,0 +1,136 @@
+package com.attendance.security;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.attendance.cache.BloomFilter;
+import com.attendance.cache.CacheInvalidationBus;
+import com.attendance.event.CacheInvalidationEvent;
+import com.attendance.model.CacheInvalidation.Topic;
+import com.attendance.model.RevokedToken;
+import com.attendance.repository.RevokedTokenRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Access tokens revoked before they expire, checked by JwtFilter on every request
+ *
+ * Almost every token presented was never revoked, so a Bloom filter answers first and
+ * only its rare positives consult the exact set. Both are rebuilt from revoked_tokens
+ * at startup; revocations on other nodes arrive through the invalidation bus. Entries
+ * are dropped once the token would have expired anyway.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final int expectedTokens;
+
+    // Token id (jti) -> epoch second the token expires
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    // Replaced wholesale on rebuild; writers hold the monitor, readers never block
+    private volatile BloomFilter filter;
+    private int filterCapacity;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               CacheInvalidationBus invalidationBus,
+                               @Value("${security.revocation.expected-tokens:10000}") int expectedTokens) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.invalidationBus = invalidationBus;
+        this.expectedTokens = expectedTokens;
+    }
+
+    @PostConstruct
+    public synchronized void load() {
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(Instant.now())) {
+            revoked.put(token.getTokenId(), token.getExpiresAt().getEpochSecond());
+        }
+        rebuildFilter();
+        logger.info("🔐 Loaded {} revoked access tokens", revoked.size());
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null
+            && filter.mightContain(tokenId)
+            && revoked.containsKey(tokenId);
+    }
+
+    /**
+     * Revoke one access token on every node until it expires
+     */
+    public void revoke(String tokenId, long expiresAtSeconds) {
+        if (tokenId == null || revoked.containsKey(tokenId)) {
+            return;
+        }
+        try {
+            revokedTokenRepository.save(new RevokedToken(tokenId, Instant.ofEpochSecond(expiresAtSeconds)));
+        } catch (DataIntegrityViolationException e) {
+            // Revoked at the same moment on another node, which publishes it too
+            logger.debug("🔐 Access token {} was already revoked", tokenId);
+        }
+        invalidationBus.publish(Topic.TOKEN_REVOKED, tokenId + "|" + expiresAtSeconds);
+        remember(tokenId, expiresAtSeconds);
+    }
+
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.getTopic() == Topic.TOKEN_REVOKED) {
+            String[] parts = event.getKey().split("\\|", 2);
+            remember(parts[0], Long.parseLong(parts[1]));
+        }
+    }
+
+    /**
+     * Forget tokens that have expired by now and size a fresh filter for the rest
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        try {
+            int deleted = revokedTokenRepository.deleteExpired(Instant.now());
+            long now = System.currentTimeMillis() / 1000;
+            synchronized (this) {
+                revoked.values().removeIf(expiresAt -> expiresAt < now);
+                rebuildFilter();
+            }
+            if (deleted > 0) {
+                logger.debug("🧹 Purged {} expired token revocations", deleted);
+            }
+        } catch (Exception e) {
+            logger.error("❌ Token revocation purge failed: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void remember(String tokenId, long expiresAtSeconds) {
+        if (revoked.put(tokenId, expiresAtSeconds) != null) {
+            return;
+        }
+        if (revoked.size() > filterCapacity) {
+            rebuildFilter();
+        } else {
+            filter.add(tokenId);
+        }
+    }
+
+    private void rebuildFilter() {
+        int capacity = Math.max(expectedTokens, revoked.size() * 2);
+        BloomFilter rebuilt = BloomFilter.create(capacity, FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::add);
+        filterCapacity = capacity;
+        filter = rebuilt;
+    }
+}
@@ -0,0 +1,66 @@
+package com.attendance.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.attendance.cache.ExpiringCache;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Claims of tokens whose signature has already been checked, keyed by the
+ * SHA-256 digest of the token so raw tokens are not kept in memory.
+ *
+ * An entry expires together with its token, so an expired token is always
+ * handed back to the parser, which rejects it.
+ */
+@Component
+public class VerifiedTokenCache extends ExpiringCache<String, Claims> {
+
+    // Parsed claims map (subject, role, ids, iat, exp) plus the digest key
+    private static final int BYTES_PER_ENTRY = 960;
+
+    public VerifiedTokenCache(@Value("${jwt.verified-cache.max-entries:10000}") int maxEntries) {
+        super("verified-tokens", maxEntries, BYTES_PER_ENTRY);
+    }
+
+    /**
+     * Cached claims of the token, or the result of verifier when it has not been seen
+     */
+    public Claims verify(String token, Function<String, Claims> verifier) {
+        String digest = digest(token);
+
+        Claims cached = getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+
+        long start = System.nanoTime();
+        Claims claims = verifier.apply(token);
+        stats().recordLoad(System.nanoTime() - start);
+
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            put(digest, claims, expiration.getTime());
+        }
+        return claims;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
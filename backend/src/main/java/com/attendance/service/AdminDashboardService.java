@@ -6,7 +6,7 @@ import com.attendance.dto.AdminDashboardDTO.ProgrammeDTO;
 import com.attendance.repository.*;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -57,43 +57,60 @@ public class AdminDashboardService {
     /**
      * Get all programmes for Curriculum Registry
      * Groups students and faculty by department
-     * FIXED: Now reads from classes table with JOIN to students
+     * Reads from classes table with JOIN to students
+     * 
+     * All per-department statistics are fetched in one grouped query each,
+     * so the number of queries stays constant regardless of department count
      */
     public List<ProgrammeDTO> getAllProgrammes() {
-        // Get all departments from classes table with student counts via JOIN
+        // Get all departments from classes table with class and student counts via JOIN
         List<Object[]> departmentData = classRepository.findDepartmentStatisticsFromClasses();
         
+        // Faculty count per department
+        Map<String, Long> facultyCounts = new HashMap<>();
+        for (Object[] row : staffRepository.countGroupedByDepartment()) {
+            facultyCounts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        
+        // Distinct years per department (already ordered by department, year)
+        Map<String, List<String>> yearsByDepartment = new HashMap<>();
+        for (Object[] row : classRepository.findDistinctDepartmentYears()) {
+            yearsByDepartment
+                .computeIfAbsent((String) row[0], key -> new ArrayList<>())
+                .add("Year " + row[1]);
+        }
+        
+        // Average attendance per department
+        Map<String, Double> attendanceByDepartment = new HashMap<>();
+        for (Object[] row : attendanceRepository.calculateAverageAttendanceGroupedByDepartment()) {
+            if (row[1] != null) {
+                attendanceByDepartment.put((String) row[0], ((Number) row[1]).doubleValue());
+            }
+        }
+        
         return departmentData.stream()
             .map(row -> {
                 String department = (String) row[0];
                 Long classCount = (Long) row[1];
                 Long studentCount = (Long) row[2];
                 
-                // Get faculty count for this department
-                Long facultyCount = staffRepository.countByDepartment(department);
-                
-                // Get distinct years for this department from classes table
-                List<String> years = classRepository.findDistinctYearsStringByDepartment(department);
-                
-                // Calculate average attendance for this department
-                Double avgAttendance = calculateDepartmentAttendance(department);
-                
-                return new ProgrammeDTO(
+                ProgrammeDTO programme = new ProgrammeDTO(
                     department, // Programme name = Department name
                     department,
                     studentCount.intValue(),
-                    facultyCount.intValue(),
-                    avgAttendance,
-                    years
+                    facultyCounts.getOrDefault(department, 0L).intValue(),
+                    roundAttendance(attendanceByDepartment.get(department)),
+                    yearsByDepartment.getOrDefault(department, List.of())
                 );
+                programme.setClassCount(classCount.intValue());
+                return programme;
             })
             .collect(Collectors.toList());
     }
 
     // ========== HELPER METHODS ==========
 
-    private Double calculateDepartmentAttendance(String department) {
-        Double avg = attendanceRepository.calculateAverageAttendanceByDepartment(department);
+    private Double roundAttendance(Double avg) {
         return avg != null ? Math.round(avg * 100.0) / 100.0 : 0.0;
     }
 
@@ -0,0 +1,222 @@
+package com.attendance.service;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.attendance.dto.AttendanceCubeDTO;
+import com.attendance.dto.AttendanceCubeDTO.CubeCellDTO;
+import com.attendance.event.AttendanceRecordedEvent;
+import com.attendance.exception.BadRequestException;
+import com.attendance.model.AttendanceStatus;
+import com.attendance.repository.AttendanceCubeCellRepository;
+
+/**
+ * Attendance cube over department, semester, section, subject and week
+ *
+ * attendance_cube_cell holds the finest grain; every attendance write adjusts one
+ * cell in the same transaction. Any roll-up or drill-down is a GROUP BY over the
+ * cells, so slices never scan session_attendance.
+ */
+@Service
+public class AttendanceCubeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceCubeService.class);
+
+    // Guard against slices too fine to be useful as a response
+    private static final int MAX_CELLS = 10000;
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO attendance_cube_cell " +
+        "(department, semester, section, subject_id, week_start, present_count, absent_count, od_count) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE present_count = GREATEST(present_count + ?, 0), " +
+        "absent_count = GREATEST(absent_count + ?, 0), od_count = GREATEST(od_count + ?, 0)";
+
+    public enum Dimension {
+        DEPARTMENT("c.department"),
+        SEMESTER("c.semester"),
+        SECTION("c.section"),
+        SUBJECT("c.subject_id"),
+        WEEK("c.week_start");
+
+        private final String column;
+
+        Dimension(String column) {
+            this.column = column;
+        }
+    }
+
+    private final AttendanceCubeCellRepository cellRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public AttendanceCubeService(AttendanceCubeCellRepository cellRepository, JdbcTemplate jdbcTemplate) {
+        this.cellRepository = cellRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    @EventListener
+    public void onAttendanceRecorded(AttendanceRecordedEvent event) {
+        if (event.getDepartment() == null || event.getDate() == null
+                || event.getPreviousStatus() == event.getStatus()) {
+            return;
+        }
+        long[] deltas = new long[3];
+        if (event.getPreviousStatus() != null) {
+            deltas[column(event.getPreviousStatus())]--;
+        }
+        if (event.getStatus() != null) {
+            deltas[column(event.getStatus())]++;
+        }
+
+        jdbcTemplate.update(UPSERT_SQL,
+            event.getDepartment(),
+            event.getSemester(),
+            event.getSection() != null ? event.getSection() : "",
+            event.getSubjectId() != null ? event.getSubjectId() : 0L,
+            Date.valueOf(weekStart(event.getDate())),
+            Math.max(deltas[0], 0), Math.max(deltas[1], 0), Math.max(deltas[2], 0),
+            deltas[0], deltas[1], deltas[2]);
+    }
+
+    private static int column(AttendanceStatus status) {
+        return switch (status) {
+            case PRESENT -> 0;
+            case ABSENT -> 1;
+            case OD -> 2;
+        };
+    }
+
+    /**
+     * Counts grouped by the given dimensions, restricted by the optional filters
+     * An empty groupBy rolls everything up into a single cell.
+     */
+    public AttendanceCubeDTO slice(List<Dimension> groupBy, String department, Integer semester,
+                                   String section, Long subjectId, LocalDate from, LocalDate to) {
+        List<Dimension> dimensions = groupBy.stream().distinct().toList();
+        boolean bySubject = dimensions.contains(Dimension.SUBJECT);
+
+        StringBuilder select = new StringBuilder("SELECT ");
+        for (Dimension dimension : dimensions) {
+            select.append(dimension.column).append(", ");
+        }
+        if (bySubject) {
+            select.append("MAX(sub.name), ");
+        }
+        select.append("SUM(c.present_count), SUM(c.absent_count), SUM(c.od_count) FROM attendance_cube_cell c");
+        if (bySubject) {
+            select.append(" LEFT JOIN subject sub ON sub.id = c.subject_id");
+        }
+
+        List<Object> args = new ArrayList<>();
+        select.append(" WHERE 1 = 1");
+        if (department != null && !department.isBlank()) {
+            select.append(" AND c.department = ?");
+            args.add(department);
+        }
+        if (semester != null) {
+            select.append(" AND c.semester = ?");
+            args.add(semester);
+        }
+        if (section != null && !section.isBlank()) {
+            select.append(" AND c.section = ?");
+            args.add(section);
+        }
+        if (subjectId != null) {
+            select.append(" AND c.subject_id = ?");
+            args.add(subjectId);
+        }
+        if (from != null) {
+            select.append(" AND c.week_start >= ?");
+            args.add(Date.valueOf(weekStart(from)));
+        }
+        if (to != null) {
+            select.append(" AND c.week_start <= ?");
+            args.add(Date.valueOf(weekStart(to)));
+        }
+
+        if (!dimensions.isEmpty()) {
+            String columns = dimensions.stream().map(d -> d.column).collect(Collectors.joining(", "));
+            select.append(" GROUP BY ").append(columns).append(" ORDER BY ").append(columns);
+        }
+        select.append(" LIMIT ").append(MAX_CELLS + 1);
+
+        List<CubeCellDTO> cells = jdbcTemplate.query(select.toString(),
+            (rs, rowNum) -> toCell(rs, dimensions, bySubject), args.toArray());
+        if (cells.size() > MAX_CELLS) {
+            throw new BadRequestException("Slice has more than " + MAX_CELLS + " cells; add filters or group by fewer dimensions");
+        }
+        return new AttendanceCubeDTO(dimensions.stream().map(Enum::name).toList(), cells);
+    }
+
+    private static CubeCellDTO toCell(ResultSet rs, List<Dimension> dimensions, boolean bySubject) throws SQLException {
+        int index = dimensions.size() + (bySubject ? 1 : 0);
+        CubeCellDTO cell = new CubeCellDTO(rs.getLong(index + 1), rs.getLong(index + 2), rs.getLong(index + 3));
+
+        for (int i = 0; i < dimensions.size(); i++) {
+            int column = i + 1;
+            switch (dimensions.get(i)) {
+                case DEPARTMENT -> cell.setDepartment(rs.getString(column));
+                case SEMESTER -> cell.setSemester(rs.getInt(column));
+                case SECTION -> {
+                    String section = rs.getString(column);
+                    cell.setSection(section == null || section.isEmpty() ? null : section);
+                }
+                case SUBJECT -> {
+                    long subjectId = rs.getLong(column);
+                    cell.setSubjectId(subjectId != 0 ? subjectId : null);
+                    cell.setSubjectName(rs.getString(dimensions.size() + 1));
+                }
+                case WEEK -> cell.setWeekStart(rs.getDate(column).toLocalDate());
+            }
+        }
+        return cell;
+    }
+
+    /**
+     * Backfill on first start; later writes keep the cube current
+     */
+    public void rebuildIfEmpty() {
+        if (cellRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recompute every cell from session_attendance
+     */
+    @Transactional
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        jdbcTemplate.update("DELETE FROM attendance_cube_cell");
+        String week = "DATE_SUB(sa.attendance_date, INTERVAL WEEKDAY(sa.attendance_date) DAY)";
+        int cells = jdbcTemplate.update(
+            "INSERT INTO attendance_cube_cell " +
+            "(department, semester, section, subject_id, week_start, present_count, absent_count, od_count) " +
+            "SELECT ts.department, ts.semester, COALESCE(ts.section, ''), COALESCE(ts.subject_id, 0), " + week + ", " +
+            "SUM(CASE WHEN sa.status = 'PRESENT' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN sa.status = 'ABSENT' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN sa.status = 'OD' THEN 1 ELSE 0 END) " +
+            "FROM session_attendance sa JOIN timetable_session ts ON ts.id = sa.session_id " +
+            "WHERE ts.department IS NOT NULL " +
+            "GROUP BY ts.department, ts.semester, COALESCE(ts.section, ''), COALESCE(ts.subject_id, 0), " + week);
+        logger.info("🧊 Attendance cube rebuilt with {} cells in {} ms", cells, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,331 @@
+package com.attendance.service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.attendance.dto.AttendanceDistributionDTO;
+import com.attendance.event.AttendanceRecordedEvent;
+import com.attendance.event.CacheInvalidationEvent;
+import com.attendance.model.CacheInvalidation.Topic;
+import com.attendance.model.Student;
+import com.attendance.repository.StudentRepository;
+
+/**
+ * In-memory histograms of per-student attendance percentage
+ *
+ * Every student with at least one record sits in one 1% bucket of the histogram
+ * for their department, department-semester and class. When a record is committed
+ * the student moves from the old bucket to the new one, so median, p10, p90 and
+ * the count below a threshold are read without touching the database.
+ * Records committed on other nodes arrive through the invalidation bus and are
+ * applied the same way. A nightly rebuild corrects drift from writes made outside
+ * the service layer.
+ */
+@Service
+public class AttendanceDistributionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceDistributionService.class);
+
+    public static final String SCOPE_DEPARTMENT = "DEPARTMENT";
+    public static final String SCOPE_SEMESTER = "SEMESTER";
+    public static final String SCOPE_CLASS = "CLASS";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StudentRepository studentRepository;
+
+    // Guarded by this
+    private Map<Long, StudentRatio> students = new HashMap<>();
+    private Map<String, Histogram> histograms = new HashMap<>();
+    // Changes applied while a rebuild is reading; null when no rebuild is running
+    private List<Change> changesDuringRebuild;
+
+    public AttendanceDistributionService(JdbcTemplate jdbcTemplate,
+                                         StudentRepository studentRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.studentRepository = studentRepository;
+    }
+
+    /**
+     * Attendance ratio of one student and the groups it is counted in
+     */
+    private static final class StudentRatio {
+        final String department;
+        final int semester;
+        final String section;
+        long present;
+        long total;
+
+        StudentRatio(String department, int semester, String section) {
+            this.department = department;
+            this.semester = semester;
+            this.section = section;
+        }
+
+        int bucket() {
+            return total > 0 ? (int) Math.floor(present * 100.0 / total) : -1;
+        }
+
+        String[] groupKeys() {
+            return new String[] {
+                groupKey(SCOPE_DEPARTMENT, department, null, null),
+                groupKey(SCOPE_SEMESTER, department, semester, null),
+                groupKey(SCOPE_CLASS, department, semester, section)
+            };
+        }
+    }
+
+    /**
+     * One committed attendance change, kept so it can be replayed onto a rebuild
+     */
+    private record Change(Long studentId, String department, int semester, String section,
+                          int presentDelta, int totalDelta) {
+    }
+
+    /**
+     * Student counts in 1% buckets, index 0..100
+     */
+    private static final class Histogram {
+        final int[] counts = new int[101];
+        int size;
+
+        void add(int bucket) {
+            counts[bucket]++;
+            size++;
+        }
+
+        void remove(int bucket) {
+            if (counts[bucket] > 0) {
+                counts[bucket]--;
+                size--;
+            }
+        }
+
+        /**
+         * Smallest bucket holding at least the given fraction of students
+         */
+        Integer percentile(double fraction) {
+            if (size == 0) {
+                return null;
+            }
+            long rank = Math.max(1, (long) Math.ceil(fraction * size));
+            long seen = 0;
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                seen += counts[bucket];
+                if (seen >= rank) {
+                    return bucket;
+                }
+            }
+            return 100;
+        }
+
+        int countBelow(double threshold) {
+            int limit = (int) Math.min(101, Math.ceil(threshold));
+            int below = 0;
+            for (int bucket = 0; bucket < limit; bucket++) {
+                below += counts[bucket];
+            }
+            return below;
+        }
+    }
+
+    public static String groupKey(String scope, String department, Integer semester, String section) {
+        return switch (scope) {
+            case SCOPE_DEPARTMENT -> scope + ":" + department;
+            case SCOPE_SEMESTER -> scope + ":" + department + "|" + semester;
+            default -> scope + ":" + department + "|" + semester + "|" + (section != null ? section : "");
+        };
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAttendanceRecorded(AttendanceRecordedEvent event) {
+        int presentDelta = event.presentDelta();
+        int totalDelta = event.totalDelta();
+        if (presentDelta == 0 && totalDelta == 0) {
+            return;
+        }
+
+        StudentRatio ratio;
+        synchronized (this) {
+            ratio = students.get(event.getStudentId());
+        }
+        Change change;
+        if (ratio != null) {
+            change = new Change(event.getStudentId(), ratio.department, ratio.semester, ratio.section,
+                                presentDelta, totalDelta);
+        } else {
+            // First record for this student since the last rebuild
+            Student student = studentRepository.findById(event.getStudentId()).orElse(null);
+            if (student == null || student.getDepartment() == null) {
+                return;
+            }
+            change = new Change(event.getStudentId(), student.getDepartment(), student.getSemester(),
+                                student.getSection(), presentDelta, totalDelta);
+        }
+        apply(change);
+    }
+
+    /**
+     * Another node committed an attendance change; move the student here as well
+     */
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.getTopic() == Topic.ATTENDANCE) {
+            AttendanceRecordedEvent.fromFeedKey(event.getKey()).ifPresent(this::onAttendanceRecorded);
+        }
+    }
+
+    private synchronized void apply(Change change) {
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+        apply(change, students, histograms);
+    }
+
+    private static void apply(Change change, Map<Long, StudentRatio> students, Map<String, Histogram> histograms) {
+        StudentRatio ratio = students.computeIfAbsent(change.studentId(),
+            id -> new StudentRatio(change.department(), change.semester(), change.section()));
+        int oldBucket = ratio.bucket();
+        ratio.present = Math.max(0, ratio.present + change.presentDelta());
+        ratio.total = Math.max(0, ratio.total + change.totalDelta());
+        int newBucket = ratio.bucket();
+        if (oldBucket == newBucket) {
+            return;
+        }
+        for (String key : ratio.groupKeys()) {
+            Histogram histogram = histograms.computeIfAbsent(key, k -> new Histogram());
+            if (oldBucket >= 0) {
+                histogram.remove(oldBucket);
+            }
+            if (newBucket >= 0) {
+                histogram.add(newBucket);
+            }
+        }
+    }
+
+    /**
+     * Distribution for one group; an empty group reports zero students and null percentiles
+     */
+    public synchronized AttendanceDistributionDTO getDistribution(String scope, String department,
+                                                                  Integer semester, String section,
+                                                                  double threshold, boolean includeHistogram) {
+        String key = groupKey(scope, department, semester, section);
+        return toDTO(scope, key.substring(scope.length() + 1), histograms.get(key), threshold, includeHistogram);
+    }
+
+    /**
+     * Distributions of every group in a scope, ordered by key
+     */
+    public synchronized List<AttendanceDistributionDTO> getAllDistributions(String scope, double threshold) {
+        String prefix = scope + ":";
+        Map<String, Histogram> matching = new TreeMap<>();
+        histograms.forEach((key, histogram) -> {
+            if (key.startsWith(prefix) && histogram.size > 0) {
+                matching.put(key.substring(prefix.length()), histogram);
+            }
+        });
+        return matching.entrySet().stream()
+            .map(entry -> toDTO(scope, entry.getKey(), entry.getValue(), threshold, false))
+            .toList();
+    }
+
+    private AttendanceDistributionDTO toDTO(String scope, String key, Histogram histogram,
+                                            double threshold, boolean includeHistogram) {
+        if (histogram == null) {
+            return new AttendanceDistributionDTO(scope, key, 0, null, null, null, threshold, 0,
+                includeHistogram ? new int[101] : null);
+        }
+        return new AttendanceDistributionDTO(
+            scope,
+            key,
+            histogram.size,
+            histogram.percentile(0.5),
+            histogram.percentile(0.1),
+            histogram.percentile(0.9),
+            threshold,
+            histogram.countBelow(threshold),
+            includeHistogram ? histogram.counts.clone() : null
+        );
+    }
+
+    /**
+     * Rebuild every histogram from one grouped query and swap it in
+     *
+     * Changes committed while the query runs may be missing from its result, so they
+     * are collected and replayed onto the rebuilt histograms before the swap. A change
+     * committed in the instant between opening the collection and the query taking its
+     * snapshot is counted twice until the next rebuild.
+     */
+    @Scheduled(cron = "${attendance.distribution.rebuild-cron:0 30 2 * * *}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        try {
+            rebuildAndSwap(start);
+        } finally {
+            synchronized (this) {
+                changesDuringRebuild = null;
+            }
+        }
+    }
+
+    private void rebuildAndSwap(long start) {
+        Map<Long, StudentRatio> rebuiltStudents = new HashMap<>();
+        Map<String, Histogram> rebuiltHistograms = new HashMap<>();
+
+        // A forward-only cursor with MySQL's streaming fetch size hands over one student
+        // at a time instead of buffering the whole grouped result
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    "SELECT s.id, s.department, s.semester, s.section, " +
+                    "SUM(CASE WHEN sa.status IN ('PRESENT','OD') THEN 1 ELSE 0 END), COUNT(*) " +
+                    "FROM session_attendance sa JOIN student s ON s.id = sa.student_id " +
+                    "WHERE s.department IS NOT NULL " +
+                    "GROUP BY s.id, s.department, s.semester, s.section",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(Integer.MIN_VALUE);
+                return statement;
+            },
+            rs -> {
+                StudentRatio ratio = new StudentRatio(rs.getString(2), rs.getInt(3), rs.getString(4));
+                ratio.present = rs.getLong(5);
+                ratio.total = rs.getLong(6);
+                rebuiltStudents.put(rs.getLong(1), ratio);
+
+                int bucket = ratio.bucket();
+                if (bucket >= 0) {
+                    for (String key : ratio.groupKeys()) {
+                        rebuiltHistograms.computeIfAbsent(key, k -> new Histogram()).add(bucket);
+                    }
+                }
+            });
+
+        int replayed;
+        synchronized (this) {
+            replayed = changesDuringRebuild.size();
+            for (Change change : changesDuringRebuild) {
+                apply(change, rebuiltStudents, rebuiltHistograms);
+            }
+            students = rebuiltStudents;
+            histograms = rebuiltHistograms;
+        }
+        logger.info("📊 Attendance distributions rebuilt for {} students in {} ms ({} changes replayed)",
+                    rebuiltStudents.size(), System.currentTimeMillis() - start, replayed);
+    }
+}
@@ -0,0 +1,261 @@
+package com.attendance.service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.attendance.analytics.CountMinSketch;
+import com.attendance.analytics.HyperLogLog;
+import com.attendance.analytics.SpaceSaving;
+import com.attendance.dto.ApproximateAbsenceDTO;
+import com.attendance.dto.ApproximateAbsenceDTO.DistinctCountDTO;
+import com.attendance.dto.ApproximateAbsenceDTO.FrequencyDTO;
+import com.attendance.dto.ApproximateAbsenceDTO.HeavyHitterDTO;
+import com.attendance.event.AttendanceRecordedEvent;
+import com.attendance.event.CacheInvalidationEvent;
+import com.attendance.exception.BadRequestException;
+import com.attendance.model.AttendanceStatus;
+import com.attendance.model.CacheInvalidation.Topic;
+import com.attendance.model.Student;
+import com.attendance.repository.StudentRepository;
+
+/**
+ * Approximate absence analytics backed by monthly sketches
+ *
+ * Each calendar month keeps a HyperLogLog of absent students, a Count-Min sketch of
+ * absences per student and a Space-Saving top-K of frequent absentees. Sketches are
+ * fed on write, including absences committed on other nodes, and merged at query
+ * time, so multi-year questions never scan session_attendance. Sketches only grow:
+ * an absence corrected to PRESENT stays counted until the nightly rebuild.
+ */
+@Service
+public class AttendanceSketchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceSketchService.class);
+
+    private static final int HLL_PRECISION = 14;
+    private static final double CMS_EPSILON = 0.001;
+    private static final double CMS_DELTA = 0.01;
+    private static final int TOP_K_CAPACITY = 500;
+    private static final int MAX_TOP_K = 100;
+    private static final int MAX_MONTHS = 120;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StudentRepository studentRepository;
+
+    private volatile Map<YearMonth, MonthSketches> months = new ConcurrentHashMap<>();
+
+    // Absences recorded while a rebuild is scanning; null when no rebuild is running
+    private final Object rebuildLock = new Object();
+    private List<Absence> absencesDuringRebuild;
+
+    public AttendanceSketchService(JdbcTemplate jdbcTemplate, StudentRepository studentRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.studentRepository = studentRepository;
+    }
+
+    /**
+     * Sketches for the absences of one calendar month
+     */
+    private static final class MonthSketches {
+        final HyperLogLog absentStudents = new HyperLogLog(HLL_PRECISION);
+        final CountMinSketch absencesPerStudent = new CountMinSketch(CMS_EPSILON, CMS_DELTA);
+        final SpaceSaving topAbsentees = new SpaceSaving(TOP_K_CAPACITY);
+
+        synchronized void recordAbsence(long studentId) {
+            absentStudents.add(studentId);
+            absencesPerStudent.add(studentId, 1);
+            topAbsentees.add(studentId, 1);
+        }
+
+        synchronized void mergeInto(MonthSketches target) {
+            target.absentStudents.merge(absentStudents);
+            target.absencesPerStudent.merge(absencesPerStudent);
+            target.topAbsentees.merge(topAbsentees);
+        }
+    }
+
+    private record Absence(YearMonth month, long studentId) {
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAttendanceRecorded(AttendanceRecordedEvent event) {
+        if (event.getStatus() != AttendanceStatus.ABSENT
+                || event.getPreviousStatus() == AttendanceStatus.ABSENT
+                || event.getDate() == null) {
+            return;
+        }
+        Absence absence = new Absence(YearMonth.from(event.getDate()), event.getStudentId());
+        Map<YearMonth, MonthSketches> target;
+        synchronized (rebuildLock) {
+            if (absencesDuringRebuild != null) {
+                absencesDuringRebuild.add(absence);
+            }
+            // Taken under the lock so a swap cannot make the absence count twice
+            target = months;
+        }
+        record(target, absence);
+    }
+
+    /**
+     * Another node committed an attendance change; feed its absence in here as well
+     */
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.getTopic() == Topic.ATTENDANCE) {
+            AttendanceRecordedEvent.fromFeedKey(event.getKey()).ifPresent(this::onAttendanceRecorded);
+        }
+    }
+
+    private static void record(Map<YearMonth, MonthSketches> target, Absence absence) {
+        target.computeIfAbsent(absence.month(), month -> new MonthSketches())
+              .recordAbsence(absence.studentId());
+    }
+
+    /**
+     * Distinct absent students and the most frequent absentees between two dates
+     */
+    public ApproximateAbsenceDTO getAbsenteeSummary(LocalDate from, LocalDate to, int k) {
+        if (k < 1 || k > MAX_TOP_K) {
+            throw new BadRequestException("k must be between 1 and " + MAX_TOP_K);
+        }
+        YearMonth fromMonth = YearMonth.from(from);
+        YearMonth toMonth = YearMonth.from(to);
+        MonthSketches merged = mergeRange(fromMonth, toMonth);
+
+        HyperLogLog hll = merged.absentStudents;
+        long distinct = hll.estimate();
+        double rse = hll.relativeStandardError();
+        long margin = (long) Math.ceil(2 * rse * distinct);
+
+        List<SpaceSaving.Counter> top = merged.topAbsentees.top(k);
+        Map<Long, Student> students = studentRepository.findAllById(
+                top.stream().map(SpaceSaving.Counter::item).toList())
+            .stream()
+            .collect(Collectors.toMap(Student::getId, Function.identity()));
+
+        List<HeavyHitterDTO> topAbsentees = new ArrayList<>(top.size());
+        for (SpaceSaving.Counter counter : top) {
+            Student student = students.get(counter.item());
+            // Both sketches overestimate, so the smaller one is the tighter answer
+            long estimate = Math.min(counter.count(), merged.absencesPerStudent.estimate(counter.item()));
+            topAbsentees.add(new HeavyHitterDTO(
+                counter.item(),
+                student != null ? student.getRollNo() : null,
+                student != null ? student.getName() : null,
+                estimate,
+                Math.max(0, counter.count() - counter.error())
+            ));
+        }
+
+        ApproximateAbsenceDTO dto = new ApproximateAbsenceDTO(fromMonth, toMonth,
+            merged.absencesPerStudent.getTotalCount());
+        dto.setDistinctAbsentStudents(new DistinctCountDTO(distinct, rse,
+            Math.max(0, distinct - margin), distinct + margin));
+        dto.setTopAbsentees(topAbsentees);
+        return dto;
+    }
+
+    /**
+     * Approximate number of absences of one student between two dates
+     */
+    public ApproximateAbsenceDTO getStudentAbsences(Long studentId, LocalDate from, LocalDate to) {
+        YearMonth fromMonth = YearMonth.from(from);
+        YearMonth toMonth = YearMonth.from(to);
+        CountMinSketch sketch = mergeRange(fromMonth, toMonth).absencesPerStudent;
+
+        ApproximateAbsenceDTO dto = new ApproximateAbsenceDTO(fromMonth, toMonth, sketch.getTotalCount());
+        dto.setStudentAbsences(new FrequencyDTO(studentId, sketch.estimate(studentId),
+            sketch.errorBound(), sketch.confidence()));
+        return dto;
+    }
+
+    private MonthSketches mergeRange(YearMonth fromMonth, YearMonth toMonth) {
+        if (fromMonth.isAfter(toMonth)) {
+            throw new BadRequestException("fromDate must not be after toDate");
+        }
+        if (ChronoUnit.MONTHS.between(fromMonth, toMonth) >= MAX_MONTHS) {
+            throw new BadRequestException("Range too large: at most " + MAX_MONTHS + " months");
+        }
+        MonthSketches merged = new MonthSketches();
+        Map<YearMonth, MonthSketches> current = months;
+        for (YearMonth month = fromMonth; !month.isAfter(toMonth); month = month.plusMonths(1)) {
+            MonthSketches sketches = current.get(month);
+            if (sketches != null) {
+                sketches.mergeInto(merged);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Rebuild every month from one pass over the absence records and swap it in
+     *
+     * Absences committed while the scan runs may be missing from it, so they are
+     * collected and replayed onto the rebuilt sketches before the swap.
+     */
+    @Scheduled(cron = "${attendance.sketch.rebuild-cron:0 45 2 * * *}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (rebuildLock) {
+            absencesDuringRebuild = new ArrayList<>();
+        }
+        try {
+            rebuildAndSwap(start);
+        } finally {
+            synchronized (rebuildLock) {
+                absencesDuringRebuild = null;
+            }
+        }
+    }
+
+    private void rebuildAndSwap(long start) {
+        Map<YearMonth, MonthSketches> rebuilt = new ConcurrentHashMap<>();
+        long[] rows = {0};
+
+        // A forward-only cursor with MySQL's streaming fetch size feeds rows into the
+        // sketches one at a time instead of buffering the whole result
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    "SELECT student_id, attendance_date FROM session_attendance " +
+                    "WHERE status = 'ABSENT' AND student_id IS NOT NULL",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(Integer.MIN_VALUE);
+                return statement;
+            },
+            rs -> {
+                YearMonth month = YearMonth.from(rs.getDate(2).toLocalDate());
+                rebuilt.computeIfAbsent(month, m -> new MonthSketches()).recordAbsence(rs.getLong(1));
+                rows[0]++;
+            });
+
+        int replayed;
+        synchronized (rebuildLock) {
+            replayed = absencesDuringRebuild.size();
+            for (Absence absence : absencesDuringRebuild) {
+                record(rebuilt, absence);
+            }
+            months = rebuilt;
+        }
+        logger.info("📊 Absence sketches rebuilt from {} records over {} months in {} ms ({} absences replayed)",
+                    rows[0], rebuilt.size(), System.currentTimeMillis() - start, replayed);
+    }
+}
@@ -0,0 +1,302 @@
+package com.attendance.service;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.attendance.dto.AttendanceTrendDTO;
+import com.attendance.dto.AttendanceTrendDTO.TrendPointDTO;
+import com.attendance.event.AttendanceRecordedEvent;
+import com.attendance.exception.BadRequestException;
+import com.attendance.model.AttendanceTrendBucket;
+import com.attendance.model.AttendanceTrendBucket.Granularity;
+import com.attendance.model.AttendanceTrendBucket.Scope;
+import com.attendance.repository.AttendanceTrendBucketRepository;
+
+/**
+ * Attendance time series at college, department, class and subject level
+ *
+ * Every committed attendance write adds its delta to the DAY, WEEK and MONTH bucket
+ * of each scope. Deltas are coalesced in memory and flushed in one JDBC batch per
+ * interval, outside the marking transaction, so concurrent marks never queue on the
+ * shared COLLEGE rows. Rows are always written in the same sorted order, which keeps
+ * concurrent flushes from different nodes from deadlocking each other. Trend reads
+ * only touch attendance_trend_bucket and may trail the latest marks by one interval.
+ */
+@Service
+public class AttendanceTrendService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceTrendService.class);
+
+    // Upper bound on points per response, roughly ten years of days
+    private static final int MAX_POINTS = 3700;
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO attendance_trend_bucket " +
+        "(granularity, scope, scope_key, bucket_start, present_count, total_count) " +
+        "VALUES (?, ?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE present_count = present_count + ?, total_count = total_count + ?";
+
+    // Lock order for the upserts, identical on every node
+    private static final Comparator<BucketKey> BATCH_ORDER = Comparator
+        .comparing(BucketKey::granularity)
+        .thenComparing(BucketKey::scope)
+        .thenComparing(BucketKey::scopeKey)
+        .thenComparing(BucketKey::bucketStart);
+
+    private static final String PRESENT_SUM =
+        "SUM(CASE WHEN sa.status IN ('PRESENT','OD') THEN 1 ELSE 0 END)";
+
+    private final AttendanceTrendBucketRepository bucketRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    // Deltas of committed marks not yet written, guarded by this
+    private Map<BucketKey, long[]> pending = new HashMap<>();
+    // Held while writing buckets so a flush and a rebuild never interleave
+    private final Object flushLock = new Object();
+
+    public AttendanceTrendService(AttendanceTrendBucketRepository bucketRepository,
+                                  JdbcTemplate jdbcTemplate) {
+        this.bucketRepository = bucketRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public static String classKey(String department, int semester, String section) {
+        return department + "|" + semester + "|" + (section != null ? section : "");
+    }
+
+    public static LocalDate bucketStart(Granularity granularity, LocalDate date) {
+        return switch (granularity) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAttendanceRecorded(AttendanceRecordedEvent event) {
+        int presentDelta = event.presentDelta();
+        int totalDelta = event.totalDelta();
+        if ((presentDelta == 0 && totalDelta == 0) || event.getDate() == null) {
+            return;
+        }
+
+        Map<Scope, String> scopes = new EnumMap<>(Scope.class);
+        scopes.put(Scope.COLLEGE, "");
+        if (event.getDepartment() != null) {
+            scopes.put(Scope.DEPARTMENT, event.getDepartment());
+            scopes.put(Scope.CLASS, classKey(event.getDepartment(), event.getSemester(), event.getSection()));
+        }
+        if (event.getSubjectId() != null) {
+            scopes.put(Scope.SUBJECT, String.valueOf(event.getSubjectId()));
+        }
+
+        synchronized (this) {
+            for (Map.Entry<Scope, String> scope : scopes.entrySet()) {
+                for (Granularity granularity : Granularity.values()) {
+                    BucketKey key = new BucketKey(granularity, scope.getKey(), scope.getValue(),
+                                                  bucketStart(granularity, event.getDate()));
+                    long[] delta = pending.computeIfAbsent(key, k -> new long[2]);
+                    delta[0] += presentDelta;
+                    delta[1] += totalDelta;
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the coalesced deltas in one batch; on failure they are kept for the next flush
+     */
+    @Scheduled(fixedDelayString = "${attendance.trend.flush-interval-ms:1000}")
+    @Transactional
+    public void flush() {
+        synchronized (flushLock) {
+            Map<BucketKey, long[]> drained;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                drained = pending;
+                pending = new HashMap<>();
+            }
+
+            List<BucketKey> keys = new ArrayList<>(drained.keySet());
+            keys.sort(BATCH_ORDER);
+            List<Object[]> batch = new ArrayList<>(keys.size());
+            for (BucketKey key : keys) {
+                long[] delta = drained.get(key);
+                if (delta[0] == 0 && delta[1] == 0) {
+                    continue;
+                }
+                batch.add(new Object[] {
+                    key.granularity().name(),
+                    key.scope().name(),
+                    key.scopeKey(),
+                    Date.valueOf(key.bucketStart()),
+                    Math.max(delta[0], 0),
+                    Math.max(delta[1], 0),
+                    delta[0],
+                    delta[1]
+                });
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+            } catch (RuntimeException e) {
+                // The transaction rolls back, so the next flush retries the same deltas
+                synchronized (this) {
+                    drained.forEach((key, delta) -> {
+                        long[] merged = pending.computeIfAbsent(key, k -> new long[2]);
+                        merged[0] += delta[0];
+                        merged[1] += delta[1];
+                    });
+                }
+                logger.error("❌ Failed to flush {} attendance trend buckets: {}", batch.size(), e.getMessage());
+                throw e;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Attendance trend deltas lost on shutdown; run a rebuild to recover them");
+        }
+    }
+
+    /**
+     * Trend for one scope over [from, to], one point per bucket including empty ones
+     */
+    public AttendanceTrendDTO getTrend(Granularity granularity, Scope scope, String scopeKey,
+                                       LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new BadRequestException("A valid from/to date range is required");
+        }
+        String key = scope == Scope.COLLEGE ? "" : scopeKey;
+        if (key == null || (scope != Scope.COLLEGE && key.isBlank())) {
+            throw new BadRequestException("A key is required for " + scope + " trends");
+        }
+
+        LocalDate firstBucket = bucketStart(granularity, from);
+        LocalDate lastBucket = bucketStart(granularity, to);
+        long points = switch (granularity) {
+            case DAY -> ChronoUnit.DAYS.between(firstBucket, lastBucket) + 1;
+            case WEEK -> ChronoUnit.WEEKS.between(firstBucket, lastBucket) + 1;
+            case MONTH -> ChronoUnit.MONTHS.between(firstBucket, lastBucket) + 1;
+        };
+        if (points > MAX_POINTS) {
+            throw new BadRequestException("Range too large for " + granularity + " granularity; use a coarser one");
+        }
+
+        Map<LocalDate, AttendanceTrendBucket> buckets = new HashMap<>();
+        for (AttendanceTrendBucket bucket : bucketRepository
+                .findByGranularityAndScopeAndScopeKeyAndBucketStartBetweenOrderByBucketStart(
+                    granularity, scope, key, firstBucket, lastBucket)) {
+            buckets.put(bucket.getBucketStart(), bucket);
+        }
+
+        List<TrendPointDTO> series = new ArrayList<>((int) points);
+        for (LocalDate start = firstBucket; !start.isAfter(lastBucket); start = next(granularity, start)) {
+            AttendanceTrendBucket bucket = buckets.get(start);
+            series.add(bucket != null
+                ? new TrendPointDTO(start, bucket.getPresentCount(), bucket.getTotalCount())
+                : new TrendPointDTO(start, 0, 0));
+        }
+        return new AttendanceTrendDTO(granularity.name(), scope.name(), key, firstBucket, lastBucket, series);
+    }
+
+    /**
+     * Backfill on first start; later writes keep the buckets current
+     */
+    public void rebuildIfEmpty() {
+        if (bucketRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recompute all buckets: day buckets from session_attendance,
+     * week and month buckets rolled up from the day buckets
+     */
+    @Transactional
+    public void rebuild() {
+        synchronized (flushLock) {
+            // Queued deltas belong to committed marks, which the rebuild reads anyway
+            synchronized (this) {
+                pending = new HashMap<>();
+            }
+            rebuildBuckets();
+        }
+    }
+
+    private void rebuildBuckets() {
+        long start = System.currentTimeMillis();
+        jdbcTemplate.update("DELETE FROM attendance_trend_bucket");
+
+        String insert = "INSERT INTO attendance_trend_bucket " +
+            "(granularity, scope, scope_key, bucket_start, present_count, total_count) ";
+
+        jdbcTemplate.update(insert +
+            "SELECT 'DAY', 'COLLEGE', '', sa.attendance_date, " + PRESENT_SUM + ", COUNT(*) " +
+            "FROM session_attendance sa GROUP BY sa.attendance_date");
+        jdbcTemplate.update(insert +
+            "SELECT 'DAY', 'DEPARTMENT', ts.department, sa.attendance_date, " + PRESENT_SUM + ", COUNT(*) " +
+            "FROM session_attendance sa JOIN timetable_session ts ON ts.id = sa.session_id " +
+            "WHERE ts.department IS NOT NULL GROUP BY ts.department, sa.attendance_date");
+        jdbcTemplate.update(insert +
+            "SELECT 'DAY', 'CLASS', CONCAT(ts.department, '|', ts.semester, '|', COALESCE(ts.section, '')), " +
+            "sa.attendance_date, " + PRESENT_SUM + ", COUNT(*) " +
+            "FROM session_attendance sa JOIN timetable_session ts ON ts.id = sa.session_id " +
+            "WHERE ts.department IS NOT NULL " +
+            "GROUP BY ts.department, ts.semester, ts.section, sa.attendance_date");
+        jdbcTemplate.update(insert +
+            "SELECT 'DAY', 'SUBJECT', CAST(ts.subject_id AS CHAR), sa.attendance_date, " + PRESENT_SUM + ", COUNT(*) " +
+            "FROM session_attendance sa JOIN timetable_session ts ON ts.id = sa.session_id " +
+            "WHERE ts.subject_id IS NOT NULL GROUP BY ts.subject_id, sa.attendance_date");
+
+        jdbcTemplate.update(insert +
+            "SELECT 'WEEK', scope, scope_key, DATE_SUB(bucket_start, INTERVAL WEEKDAY(bucket_start) DAY), " +
+            "SUM(present_count), SUM(total_count) FROM attendance_trend_bucket WHERE granularity = 'DAY' " +
+            "GROUP BY scope, scope_key, DATE_SUB(bucket_start, INTERVAL WEEKDAY(bucket_start) DAY)");
+        jdbcTemplate.update(insert +
+            "SELECT 'MONTH', scope, scope_key, DATE_SUB(bucket_start, INTERVAL DAYOFMONTH(bucket_start) - 1 DAY), " +
+            "SUM(present_count), SUM(total_count) FROM attendance_trend_bucket WHERE granularity = 'DAY' " +
+            "GROUP BY scope, scope_key, DATE_SUB(bucket_start, INTERVAL DAYOFMONTH(bucket_start) - 1 DAY)");
+
+        logger.info("📈 Attendance trend buckets rebuilt in {} ms", System.currentTimeMillis() - start);
+    }
+
+    private static LocalDate next(Granularity granularity, LocalDate start) {
+        return switch (granularity) {
+            case DAY -> start.plusDays(1);
+            case WEEK -> start.plusWeeks(1);
+            case MONTH -> start.plusMonths(1);
+        };
+    }
+
+    private record BucketKey(Granularity granularity, Scope scope, String scopeKey, LocalDate bucketStart) {
+    }
+}
@@ -15,6 +15,9 @@ public class ClassService {
     @Autowired
     private ClassRepository classRepository;
 
+    @Autowired
+    private ReferenceCacheService referenceCacheService;
+
     // Get all classes
     public List<ClassDTO> getAllClasses() {
         return classRepository.findAll()
@@ -56,6 +59,7 @@ public class ClassService {
         classEntity.setActive(classDTO.isActive());
 
         Classes savedClass = classRepository.save(classEntity);
+        referenceCacheService.referenceDataChanged();
         return convertToDTO(savedClass);
     }
 
@@ -70,6 +74,7 @@ public class ClassService {
             classEntity.setActive(classDTO.isActive());
 
             Classes updatedClass = classRepository.save(classEntity);
+            referenceCacheService.referenceDataChanged();
             return convertToDTO(updatedClass);
         });
     }
@@ -78,6 +83,7 @@ public class ClassService {
     public boolean deleteClass(Long id) {
         if (classRepository.existsById(id)) {
             classRepository.deleteById(id);
+            referenceCacheService.referenceDataChanged();
             return true;
         }
         return false;
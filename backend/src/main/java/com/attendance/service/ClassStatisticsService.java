@@ -0,0 +1,105 @@
+package com.attendance.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.attendance.event.AttendanceRecordedEvent;
+import com.attendance.model.ClassAttendanceSummary;
+import com.attendance.repository.ClassAttendanceSummaryRepository;
+
+/**
+ * Maintains the class_attendance_summary table.
+ *
+ * Attendance counters move with every AttendanceRecordedEvent and student
+ * counters with StudentService writes, so dashboards read one row per class
+ * instead of counting students and scanning attendance per class.
+ */
+@Service
+public class ClassStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassStatisticsService.class);
+
+    private final ClassAttendanceSummaryRepository summaryRepository;
+
+    public ClassStatisticsService(ClassAttendanceSummaryRepository summaryRepository) {
+        this.summaryRepository = summaryRepository;
+    }
+
+    /**
+     * Fetch summaries for every department-semester pair in the given departments,
+     * keyed by "department|semester"
+     */
+    public Map<String, ClassAttendanceSummary> getSummaries(Collection<String> departments) {
+        Map<String, ClassAttendanceSummary> summaries = new HashMap<>();
+        if (departments == null || departments.isEmpty()) {
+            return summaries;
+        }
+        List<ClassAttendanceSummary> rows = summaryRepository.findByDepartmentIn(departments);
+        for (ClassAttendanceSummary row : rows) {
+            summaries.put(key(row.getDepartment(), row.getSemester()), row);
+        }
+        return summaries;
+    }
+
+    public static String key(String department, int semester) {
+        return department + "|" + semester;
+    }
+
+    @EventListener
+    public void onAttendanceRecorded(AttendanceRecordedEvent event) {
+        if (event.getDepartment() == null) {
+            return;
+        }
+        int presentDelta = event.presentDelta();
+        int totalDelta = event.totalDelta();
+        if (presentDelta != 0 || totalDelta != 0) {
+            summaryRepository.adjustAttendanceCounts(
+                event.getDepartment(), event.getSemester(), presentDelta, totalDelta);
+        }
+    }
+
+    public void studentAdded(String department, int semester) {
+        studentsAdded(department, semester, 1);
+    }
+
+    public void studentsAdded(String department, int semester, int count) {
+        if (department != null && count != 0) {
+            summaryRepository.adjustStudentCount(department, semester, count);
+        }
+    }
+
+    public void studentRemoved(String department, int semester) {
+        if (department != null) {
+            summaryRepository.adjustStudentCount(department, semester, -1);
+        }
+    }
+
+    public void studentMoved(String oldDepartment, int oldSemester, String newDepartment, int newSemester) {
+        if (key(String.valueOf(oldDepartment), oldSemester).equals(key(String.valueOf(newDepartment), newSemester))) {
+            return;
+        }
+        studentRemoved(oldDepartment, oldSemester);
+        studentAdded(newDepartment, newSemester);
+    }
+
+    /**
+     * Recompute every summary row from the student and session_attendance tables.
+     * Used at startup and after bulk fixes that bypass the service layer.
+     */
+    @Transactional
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        summaryRepository.deleteAllRows();
+        summaryRepository.insertStudentCounts();
+        summaryRepository.mergeAttendanceCounts();
+        logger.info("📊 Class statistics rebuilt in {} ms", System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,166 @@
+package com.attendance.service;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.attendance.cache.CacheInvalidationBus;
+import com.attendance.event.AttendanceRecordedEvent;
+import com.attendance.event.CacheInvalidationEvent;
+import com.attendance.model.CacheInvalidation.Topic;
+
+/**
+ * Cheap version counters behind the dashboard ETags
+ *
+ * Each counter moves when something a dashboard shows changes: a student's attendance,
+ * the marked state of a staff member's sessions, the student record itself, any
+ * timetable, subject or staff assignment (via TimetableProjectionService's generation),
+ * or a class or staff record (via ReferenceCacheService's generation). An ETag built
+ * from them can be compared against If-None-Match before any dashboard query runs.
+ *
+ * Counters live in memory, so every ETag carries a per-process nonce: after a restart,
+ * or on another node, old ETags simply stop matching. Changes made on other nodes
+ * arrive through the invalidation bus and move the same counters here.
+ */
+@Service
+public class DashboardVersionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardVersionService.class);
+
+    private final TimetableProjectionService timetableProjectionService;
+    private final ReferenceCacheService referenceCacheService;
+    private final CacheInvalidationBus invalidationBus;
+
+    private final String nonce = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    // Single sequence so a value is never reused for the same key
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Bumped by bulk maintenance that rewrites data behind the counters
+    private final AtomicLong epoch = new AtomicLong();
+
+    private final Map<Long, Long> studentAttendance = new ConcurrentHashMap<>();
+    private final Map<Long, Long> staffAttendance = new ConcurrentHashMap<>();
+    private final Map<Long, Long> studentRecords = new ConcurrentHashMap<>();
+
+    public DashboardVersionService(TimetableProjectionService timetableProjectionService,
+                                   ReferenceCacheService referenceCacheService,
+                                   CacheInvalidationBus invalidationBus) {
+        this.timetableProjectionService = timetableProjectionService;
+        this.referenceCacheService = referenceCacheService;
+        this.invalidationBus = invalidationBus;
+    }
+
+    /**
+     * Full student dashboard: identity, attendance and weekly timetable
+     */
+    public String studentDashboardETag(Long studentId) {
+        return tag("sd", studentId,
+            studentRecords.getOrDefault(studentId, 0L),
+            studentAttendance.getOrDefault(studentId, 0L),
+            timetableProjectionService.getGeneration(),
+            referenceCacheService.getGeneration());
+    }
+
+    /**
+     * Weekly timetable of the student's class
+     */
+    public String studentTimetableETag(Long studentId) {
+        return tag("st", studentId,
+            studentRecords.getOrDefault(studentId, 0L),
+            timetableProjectionService.getGeneration(),
+            referenceCacheService.getGeneration());
+    }
+
+    /**
+     * Today's sessions of a staff member, including whether each one is marked
+     */
+    public String staffTodaySessionsETag(Long staffId) {
+        return tag("ss", staffId,
+            staffAttendance.getOrDefault(staffId, 0L),
+            timetableProjectionService.getGeneration(),
+            referenceCacheService.getGeneration(),
+            LocalDate.now().toEpochDay());
+    }
+
+    public void studentChanged(Long studentId) {
+        if (studentId != null) {
+            bumpStudentRecord(studentId);
+            invalidationBus.publish(Topic.STUDENT, studentId.toString());
+        }
+    }
+
+    /**
+     * Invalidate every ETag on every node; used after seeding or data repair
+     */
+    public void invalidateAll() {
+        reset();
+        invalidationBus.publish(Topic.DASHBOARDS, null);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAttendanceRecorded(AttendanceRecordedEvent event) {
+        bumpAttendance(event.getStudentId(), event.getStaffId());
+    }
+
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        switch (event.getTopic()) {
+            case STUDENT -> bumpStudentRecord(Long.valueOf(event.getKey()));
+            case DASHBOARDS -> reset();
+            case ATTENDANCE -> {
+                // "studentId|staffId|...", either id may be "null"
+                String[] ids = event.getKey().split("\\|", -1);
+                bumpAttendance(parseId(ids[0]), ids.length > 1 ? parseId(ids[1]) : null);
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void bumpStudentRecord(Long studentId) {
+        studentRecords.put(studentId, sequence.incrementAndGet());
+    }
+
+    private void bumpAttendance(Long studentId, Long staffId) {
+        long version = sequence.incrementAndGet();
+        if (studentId != null) {
+            studentAttendance.put(studentId, version);
+        }
+        if (staffId != null) {
+            staffAttendance.put(staffId, version);
+        }
+    }
+
+    private void reset() {
+        epoch.incrementAndGet();
+        studentAttendance.clear();
+        staffAttendance.clear();
+        studentRecords.clear();
+        logger.info("🗑️ Dashboard versions reset");
+    }
+
+    private static Long parseId(String value) {
+        return value.isEmpty() || "null".equals(value) ? null : Long.valueOf(value);
+    }
+
+    private String tag(String view, Long id, long... versions) {
+        StringBuilder etag = new StringBuilder(view)
+            .append('-').append(nonce)
+            .append('-').append(epoch.get())
+            .append('-').append(id);
+        for (long version : versions) {
+            etag.append('-').append(version);
+        }
+        return etag.toString();
+    }
+}
@@ -0,0 +1,244 @@
+package com.attendance.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.attendance.dto.EligibilityForecastDTO;
+import com.attendance.dto.EligibilityForecastDTO.ClassRemainingDTO;
+import com.attendance.dto.EligibilityForecastDTO.StudentForecastDTO;
+import com.attendance.exception.BadRequestException;
+import com.attendance.model.Student;
+import com.attendance.repository.SessionAttendanceRepository;
+import com.attendance.repository.StudentRepository;
+import com.attendance.repository.TimetableSessionRepository;
+
+/**
+ * Bulk exam-eligibility forecast
+ *
+ * A few queries feed one in-memory pass: attendance counters per student for the
+ * term so far and for today, active weekly slots per class and subject, and the
+ * active students. Remaining sessions are the weekly slots multiplied by how often
+ * each weekday occurs from today (or term start, if later) to term end, less the
+ * student's sessions already marked today; holidays are not known to the system.
+ * A student with p attended out of t, facing r remaining sessions, must attend
+ * max(0, ceil(threshold * (t + r) - p)) of them.
+ */
+@Service
+public class EligibilityForecastService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EligibilityForecastService.class);
+
+    private static final String UNASSIGNED_SUBJECT = "UNASSIGNED";
+
+    private final SessionAttendanceRepository attendanceRepository;
+    private final TimetableSessionRepository timetableRepository;
+    private final StudentRepository studentRepository;
+
+    public EligibilityForecastService(SessionAttendanceRepository attendanceRepository,
+                                      TimetableSessionRepository timetableRepository,
+                                      StudentRepository studentRepository) {
+        this.attendanceRepository = attendanceRepository;
+        this.timetableRepository = timetableRepository;
+        this.studentRepository = studentRepository;
+    }
+
+    /**
+     * Remaining-session counts of one class
+     */
+    private static final class ClassRemaining {
+        final String department;
+        final int semester;
+        final String section;
+        final Map<String, Integer> bySubject = new TreeMap<>();
+        int total;
+
+        ClassRemaining(String department, int semester, String section) {
+            this.department = department;
+            this.semester = semester;
+            this.section = section;
+        }
+    }
+
+    /**
+     * Forecast every student, optionally limited to one department and/or status
+     *
+     * @param termStart First day counted towards current attendance
+     * @param termEnd Last teaching day of the term
+     * @param threshold Required attendance percentage, e.g. 75
+     */
+    @Transactional(readOnly = true)
+    public EligibilityForecastDTO forecast(LocalDate termStart, LocalDate termEnd, double threshold,
+                                           String department, String status) {
+        return forecast(termStart, termEnd, threshold, department, status, LocalDate.now());
+    }
+
+    EligibilityForecastDTO forecast(LocalDate termStart, LocalDate termEnd, double threshold,
+                                    String department, String status, LocalDate today) {
+        if (termStart == null || termEnd == null || termStart.isAfter(termEnd)) {
+            throw new BadRequestException("A valid termStart/termEnd range is required");
+        }
+        if (threshold <= 0 || threshold > 100) {
+            throw new BadRequestException("threshold must be between 0 and 100");
+        }
+        long start = System.currentTimeMillis();
+
+        // Today's sessions count as remaining until they are marked
+        LocalDate remainingFrom = today.isBefore(termStart) ? termStart : today;
+        Map<String, ClassRemaining> remaining = countRemainingSessions(remainingFrom, termEnd);
+
+        LocalDate countedUntil = today.isBefore(termEnd) ? today : termEnd;
+        Map<Long, long[]> counters = countAttendance(termStart, countedUntil);
+        boolean todayInTerm = !today.isBefore(termStart) && !today.isAfter(termEnd);
+        Map<Long, long[]> markedToday = todayInTerm ? countAttendance(today, today) : Map.of();
+
+        EligibilityForecastDTO result = new EligibilityForecastDTO(termStart, countedUntil, termEnd, threshold);
+        List<StudentForecastDTO> students = new ArrayList<>();
+        double fraction = threshold / 100.0;
+        List<Student> candidates = department != null && !department.isBlank()
+            ? studentRepository.findByDepartmentIgnoreCaseAndActiveTrue(department)
+            : studentRepository.findByActiveTrue();
+        for (Student student : candidates) {
+            ClassRemaining classRemaining = remaining.get(
+                AttendanceTrendService.classKey(student.getDepartment(), student.getSemester(), student.getSection()));
+            long[] marked = markedToday.get(student.getId());
+            // Sessions marked today are already in t, so they are not remaining as well
+            int r = Math.max(0, (classRemaining != null ? classRemaining.total : 0)
+                - (marked != null ? (int) marked[1] : 0));
+            long[] counter = counters.getOrDefault(student.getId(), new long[2]);
+            long p = counter[0];
+            long t = counter[1];
+
+            // Small epsilon keeps exact boundaries (e.g. 0.75 * 40 = 30) from rounding up
+            long required = Math.max(0, (long) Math.ceil(fraction * (t + r) - p - 1e-9));
+            String forecastStatus = required == 0 ? EligibilityForecastDTO.SAFE
+                : required <= r ? EligibilityForecastDTO.AT_RISK
+                : EligibilityForecastDTO.CANNOT_REACH;
+
+            switch (forecastStatus) {
+                case EligibilityForecastDTO.SAFE -> result.setSafeCount(result.getSafeCount() + 1);
+                case EligibilityForecastDTO.AT_RISK -> result.setAtRiskCount(result.getAtRiskCount() + 1);
+                default -> result.setCannotReachCount(result.getCannotReachCount() + 1);
+            }
+            if (status != null && !status.isBlank() && !status.equalsIgnoreCase(forecastStatus)) {
+                continue;
+            }
+
+            StudentForecastDTO dto = new StudentForecastDTO();
+            dto.setStudentId(student.getId());
+            dto.setRollNo(student.getRollNo());
+            dto.setName(student.getName());
+            dto.setDepartment(student.getDepartment());
+            dto.setSemester(student.getSemester());
+            dto.setSection(student.getSection());
+            dto.setAttended(p);
+            dto.setTotal(t);
+            dto.setCurrentPercentage(t > 0 ? Math.round(p * 10000.0 / t) / 100.0 : 0.0);
+            dto.setRemainingSessions(r);
+            dto.setRequiredSessions(required);
+            dto.setMaxMissable(Math.max(0, r - required));
+            dto.setStatus(forecastStatus);
+            students.add(dto);
+        }
+
+        // Most urgent first: cannot reach, then least slack
+        students.sort(Comparator
+            .comparing((StudentForecastDTO s) -> !EligibilityForecastDTO.CANNOT_REACH.equals(s.getStatus()))
+            .thenComparingLong(StudentForecastDTO::getMaxMissable)
+            .thenComparing(StudentForecastDTO::getRollNo, Comparator.nullsLast(Comparator.naturalOrder())));
+        result.setStudents(students);
+
+        List<ClassRemainingDTO> classes = new ArrayList<>();
+        remaining.values().stream()
+            .filter(c -> department == null || department.isBlank() || department.equalsIgnoreCase(c.department))
+            .sorted(Comparator.comparing((ClassRemaining c) -> c.department)
+                .thenComparingInt(c -> c.semester)
+                .thenComparing(c -> c.section != null ? c.section : ""))
+            .forEach(c -> classes.add(new ClassRemainingDTO(c.department, c.semester, c.section, c.total, c.bySubject)));
+        result.setClasses(classes);
+
+        logger.info("🎯 Eligibility forecast for {} students computed in {} ms",
+                    students.size(), System.currentTimeMillis() - start);
+        return result;
+    }
+
+    /**
+     * Attended and total records per student between two dates, inclusive
+     */
+    private Map<Long, long[]> countAttendance(LocalDate from, LocalDate to) {
+        Map<Long, long[]> counters = new HashMap<>();
+        if (from.isAfter(to)) {
+            return counters;
+        }
+        for (Object[] row : attendanceRepository.countAttendanceByStudentBetween(from, to)) {
+            counters.put(((Number) row[0]).longValue(),
+                new long[] { ((Number) row[1]).longValue(), ((Number) row[2]).longValue() });
+        }
+        return counters;
+    }
+
+    /**
+     * Scheduled sessions per class and subject between two dates, inclusive
+     */
+    private Map<String, ClassRemaining> countRemainingSessions(LocalDate from, LocalDate to) {
+        Map<DayOfWeek, Integer> occurrences = countWeekdays(from, to);
+        Map<String, ClassRemaining> remaining = new HashMap<>();
+
+        for (Object[] row : timetableRepository.countActiveSlotsByClassAndDay()) {
+            DayOfWeek day = parseDay((String) row[4]);
+            if (day == null) {
+                continue;
+            }
+            int sessions = occurrences.getOrDefault(day, 0) * ((Number) row[5]).intValue();
+            String department = (String) row[0];
+            int semester = ((Number) row[1]).intValue();
+            String section = (String) row[2];
+            ClassRemaining classRemaining = remaining.computeIfAbsent(
+                AttendanceTrendService.classKey(department, semester, section),
+                key -> new ClassRemaining(department, semester, section));
+            String subject = row[3] != null ? (String) row[3] : UNASSIGNED_SUBJECT;
+            classRemaining.bySubject.merge(subject, sessions, Integer::sum);
+            classRemaining.total += sessions;
+        }
+        return remaining;
+    }
+
+    private static Map<DayOfWeek, Integer> countWeekdays(LocalDate from, LocalDate to) {
+        Map<DayOfWeek, Integer> occurrences = new EnumMap<>(DayOfWeek.class);
+        if (from.isAfter(to)) {
+            return occurrences;
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        for (int offset = 0; offset < 7 && offset < days; offset++) {
+            DayOfWeek day = from.plusDays(offset).getDayOfWeek();
+            occurrences.put(day, (int) ((days - offset + 6) / 7));
+        }
+        return occurrences;
+    }
+
+    private static DayOfWeek parseDay(String day) {
+        if (day == null || day.isBlank()) {
+            return null;
+        }
+        String upper = day.trim().toUpperCase(Locale.ENGLISH);
+        for (DayOfWeek candidate : DayOfWeek.values()) {
+            if (candidate.name().equals(upper) || (upper.length() >= 3 && candidate.name().startsWith(upper))) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,109 @@
+package com.attendance.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.attendance.cache.CacheInvalidationBus;
+import com.attendance.event.CacheInvalidationEvent;
+import com.attendance.model.CacheInvalidation.Topic;
+import com.attendance.model.Classes;
+import com.attendance.model.Staff;
+import com.attendance.model.Subject;
+import com.attendance.model.TimetableSession;
+import com.attendance.model.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Eviction hooks for the second-level cache
+ *
+ * Writes made through JPA keep this node's cache current on their own; these are
+ * for direct JDBC updates, which Hibernate never sees, and for writes made on
+ * another node, which reach us through the invalidation bus.
+ */
+@Service
+public class ReferenceCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceCacheService.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheInvalidationBus invalidationBus;
+
+    // Moves whenever classes or staff change here or on another node
+    private final AtomicLong generation = new AtomicLong();
+
+    public ReferenceCacheService(EntityManagerFactory entityManagerFactory,
+                                 CacheInvalidationBus invalidationBus) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.invalidationBus = invalidationBus;
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+
+    /**
+     * Changes on every class or staff change, so it doubles as a reference data version
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Drop cached timetable sessions and every cached query result
+     */
+    public void evictTimetableSessions() {
+        Cache cache = cache();
+        cache.evictEntityData(TimetableSession.class);
+        cache.evictQueryRegions();
+        logger.debug("🧹 Evicted timetable sessions from the second-level cache");
+    }
+
+    /**
+     * A class or staff record changed here; this node's cache is already current,
+     * so only the other nodes are told. Joins the caller's transaction when there is one.
+     */
+    public void referenceDataChanged() {
+        generation.incrementAndGet();
+        invalidationBus.publish(Topic.REFERENCE, null);
+    }
+
+    /**
+     * Another node changed timetables or reference data, or an account.
+     * The regions are small, so they are dropped whole rather than by id.
+     */
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        Cache cache = cache();
+        switch (event.getTopic()) {
+            case TIMETABLES -> {
+                cache.evictEntityData(TimetableSession.class);
+                cache.evictEntityData(Subject.class);
+                cache.evictEntityData(Staff.class);
+                cache.evictEntityData(Classes.class);
+                cache.evictCollectionData(Staff.class.getName() + ".subjects");
+                cache.evictNaturalIdData(Staff.class);
+                cache.evictNaturalIdData(Subject.class);
+                cache.evictQueryRegions();
+                logger.debug("🧹 Evicted reference data changed on another node");
+            }
+            case REFERENCE -> {
+                generation.incrementAndGet();
+                cache.evictEntityData(Classes.class);
+                cache.evictEntityData(Staff.class);
+                cache.evictCollectionData(Staff.class.getName() + ".subjects");
+                cache.evictNaturalIdData(Staff.class);
+                cache.evictQueryRegions();
+                logger.debug("🧹 Evicted classes and staff changed on another node");
+            }
+            case USER_ACCOUNT -> cache.evictEntityData(User.class);
+            default -> {
+            }
+        }
+    }
+}
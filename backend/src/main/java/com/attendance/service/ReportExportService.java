@@ -0,0 +1,273 @@
+package com.attendance.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.attendance.exception.ResourceNotFoundException;
+import com.attendance.export.ColumnarAttendanceWriter;
+import com.attendance.model.AttendanceStatus;
+import com.attendance.model.Student;
+import com.attendance.repository.StudentRepository;
+
+/**
+ * CSV export of attendance reports
+ *
+ * A download runs at the client's pace, so no query result is ever held open while
+ * writing to it: summaries are aggregated by MySQL a page of students at a time and
+ * each page is read completely before it is written, which returns the connection to
+ * the pool between pages. Memory holds one page plus the ordered student ids.
+ */
+@Service
+public class ReportExportService {
+
+    private static final String SUMMARY_HEADER =
+        "Roll Number,Student Name,Department,Year,Semester,Section,Total Sessions,Present Sessions,Attendance %,Status";
+
+    private static final String SUMMARY_COLUMNS =
+        "SELECT s.roll_no, s.name, s.department, s.semester, s.section, " +
+        "COUNT(sa.id) AS total, " +
+        "COALESCE(SUM(CASE WHEN sa.status IN ('PRESENT','OD') THEN 1 ELSE 0 END), 0) AS present ";
+
+    private static final String STUDENT_ORDER =
+        " ORDER BY s.department, s.semester, s.section, s.roll_no, s.id";
+
+    private static final String SUMMARY_GROUPING =
+        " GROUP BY s.id, s.roll_no, s.name, s.department, s.semester, s.section" + STUDENT_ORDER;
+
+    // Students aggregated per query
+    private static final int PAGE_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final StudentRepository studentRepository;
+
+    public ReportExportService(DataSource dataSource, StudentRepository studentRepository) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // Fetch size Integer.MIN_VALUE makes Connector/J stream the result set instead of buffering it
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.studentRepository = studentRepository;
+    }
+
+    /**
+     * One row per student with attendance on the given date
+     */
+    public void writeDailyReport(LocalDate date, String department, Integer year, Writer out) throws IOException {
+        writePeriodicReport(date, date, department, year, out);
+    }
+
+    /**
+     * One row per student with attendance between the given dates
+     */
+    public void writePeriodicReport(LocalDate fromDate, LocalDate toDate, String department, Integer year,
+                                    Writer out) throws IOException {
+        StringBuilder students = new StringBuilder(
+            "SELECT s.id FROM student s WHERE EXISTS (SELECT 1 FROM session_attendance sa " +
+            "WHERE sa.student_id = s.id AND sa.attendance_date BETWEEN ? AND ?)");
+        List<Object> studentArgs = new ArrayList<>(List.of(fromDate, toDate));
+        appendStudentFilters(students, studentArgs, department, year, null);
+
+        writeSummary(students, studentArgs,
+            "FROM session_attendance sa JOIN student s ON s.id = sa.student_id " +
+            "WHERE sa.attendance_date BETWEEN ? AND ?", List.of(fromDate, toDate), out);
+    }
+
+    /**
+     * One row per student, including students with no attendance yet
+     */
+    public void writeSemesterReport(String department, Integer year, Integer semester, Writer out) throws IOException {
+        StringBuilder students = new StringBuilder("SELECT s.id FROM student s WHERE 1 = 1");
+        List<Object> studentArgs = new ArrayList<>();
+        appendStudentFilters(students, studentArgs, department, year, semester);
+
+        writeSummary(students, studentArgs,
+            "FROM student s LEFT JOIN session_attendance sa ON sa.student_id = s.id WHERE 1 = 1", List.of(), out);
+    }
+
+    /**
+     * Find the student for a per-student export
+     * Called before the response is opened so a bad roll number still gets a 404
+     */
+    public Student findStudent(String rollNumber) {
+        return studentRepository.findByRollNo(rollNumber)
+            .orElseThrow(() -> new ResourceNotFoundException("Student", "rollNo", rollNumber));
+    }
+
+    /**
+     * Every attendance record of one student, optionally limited to a date range
+     * One student's records are few enough to read in full before writing.
+     */
+    public void writeStudentReport(Student student, LocalDate fromDate, LocalDate toDate, Writer out) throws IOException {
+        StringBuilder sql = new StringBuilder(
+            "SELECT sa.attendance_date, ts.day_of_week, ts.session_number, ts.start_time, " +
+            "sub.code, sub.name, sa.status " +
+            "FROM session_attendance sa " +
+            "LEFT JOIN timetable_session ts ON ts.id = sa.session_id " +
+            "LEFT JOIN subject sub ON sub.id = ts.subject_id " +
+            "WHERE sa.student_id = ?");
+        List<Object> args = new ArrayList<>(List.of(student.getId()));
+        if (fromDate != null && toDate != null) {
+            sql.append(" AND sa.attendance_date BETWEEN ? AND ?");
+            args.add(fromDate);
+            args.add(toDate);
+        }
+        sql.append(" ORDER BY sa.attendance_date, ts.session_number");
+
+        List<Object[]> rows = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new Object[] {
+            student.getRollNo(),
+            student.getName(),
+            rs.getDate(1).toLocalDate(),
+            rs.getString(2),
+            rs.getObject(3),
+            rs.getTime(4) != null ? rs.getTime(4).toLocalTime() : null,
+            rs.getString(5),
+            rs.getString(6),
+            rs.getString(7)
+        }, args.toArray());
+
+        out.write("Roll Number,Student Name,Date,Day,Period,Start Time,Subject Code,Subject Name,Status\n");
+        for (Object[] row : rows) {
+            writeRow(out, row);
+        }
+        out.flush();
+    }
+
+    /**
+     * Raw attendance records between two dates in the columnar extract format
+     * Rows are streamed from MySQL into primitive columns, then written in one pass
+     * once the result set is closed.
+     */
+    public void writeColumnarExtract(LocalDate fromDate, LocalDate toDate, String department,
+                                     OutputStream out) throws IOException {
+        StringBuilder sql = new StringBuilder(
+            "SELECT sa.attendance_date, sa.status, " +
+            "s.id, s.roll_no, s.name, s.department, s.semester, s.section, " +
+            "ts.id, ts.day_of_week, ts.session_number, sub.id, sub.code, sub.name " +
+            "FROM session_attendance sa " +
+            "JOIN student s ON s.id = sa.student_id " +
+            "JOIN timetable_session ts ON ts.id = sa.session_id " +
+            "LEFT JOIN subject sub ON sub.id = ts.subject_id " +
+            "WHERE sa.attendance_date BETWEEN ? AND ?");
+        List<Object> args = new ArrayList<>(List.of(fromDate, toDate));
+        appendStudentFilters(sql, args, department, null, null);
+        sql.append(" ORDER BY sa.attendance_date, ts.id, s.id");
+
+        ColumnarAttendanceWriter writer = new ColumnarAttendanceWriter(fromDate, toDate);
+        streamingJdbcTemplate.query(sql.toString(), rs -> {
+            long studentId = rs.getLong(3);
+            if (!writer.hasStudent(studentId)) {
+                writer.addStudent(studentId, rs.getString(4), rs.getString(5), rs.getString(6),
+                                  rs.getInt(7), rs.getString(8));
+            }
+            long sessionId = rs.getLong(9);
+            if (!writer.hasSession(sessionId)) {
+                Long subjectId = rs.getObject(12) != null ? rs.getLong(12) : null;
+                if (subjectId != null && !writer.hasSubject(subjectId)) {
+                    writer.addSubject(subjectId, rs.getString(13), rs.getString(14));
+                }
+                writer.addSession(sessionId, rs.getString(10), rs.getInt(11), subjectId);
+            }
+            writer.addRow(rs.getDate(1).toLocalDate(), sessionId, studentId,
+                          AttendanceStatus.valueOf(rs.getString(2)));
+        }, args.toArray());
+        writer.writeTo(out);
+    }
+
+    private void appendStudentFilters(StringBuilder sql, List<Object> args,
+                                      String department, Integer year, Integer semester) {
+        if (department != null && !department.isEmpty()) {
+            sql.append(" AND s.department = ?");
+            args.add(department);
+        }
+        if (year != null) {
+            sql.append(" AND s.semester IN (?, ?)");
+            args.add(year * 2 - 1);
+            args.add(year * 2);
+        }
+        if (semester != null) {
+            sql.append(" AND s.semester = ?");
+            args.add(semester);
+        }
+    }
+
+    /**
+     * Aggregate and write the summary of the selected students, one page at a time
+     *
+     * @param studentSql Query selecting the ids of the students to report on
+     * @param from FROM and WHERE clauses of the aggregate, without the student filter
+     */
+    private void writeSummary(StringBuilder studentSql, List<Object> studentArgs,
+                              String from, List<Object> fromArgs, Writer out) throws IOException {
+        studentSql.append(STUDENT_ORDER);
+        List<Long> studentIds = jdbcTemplate.queryForList(studentSql.toString(), Long.class, studentArgs.toArray());
+
+        out.write(SUMMARY_HEADER);
+        out.write('\n');
+        for (int start = 0; start < studentIds.size(); start += PAGE_SIZE) {
+            List<Long> page = studentIds.subList(start, Math.min(start + PAGE_SIZE, studentIds.size()));
+            String sql = SUMMARY_COLUMNS + from
+                + " AND s.id IN (" + String.join(",", Collections.nCopies(page.size(), "?")) + ")"
+                + SUMMARY_GROUPING;
+            List<Object> args = new ArrayList<>(fromArgs);
+            args.addAll(page);
+
+            List<Object[]> rows = jdbcTemplate.query(sql, (rs, rowNum) -> summaryRow(rs), args.toArray());
+            for (Object[] row : rows) {
+                writeRow(out, row);
+            }
+        }
+        out.flush();
+    }
+
+    private static Object[] summaryRow(ResultSet rs) throws SQLException {
+        int semester = rs.getInt(4);
+        long total = rs.getLong(6);
+        long present = rs.getLong(7);
+        double percentage = total > 0 ? Math.round(present * 10000.0 / total) / 100.0 : 0.0;
+        return new Object[] {
+            rs.getString(1),
+            rs.getString(2),
+            rs.getString(3),
+            "Year " + ((semester + 1) / 2),
+            semester,
+            rs.getString(5),
+            total,
+            present,
+            percentage,
+            percentage >= 75.0 ? "Qualified" : "Shortage"
+        };
+    }
+
+    private static void writeRow(Writer out, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(escape(values[i]));
+        }
+        out.write('\n');
+    }
+
+    private static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -4,8 +4,12 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.attendance.event.AttendanceRecordedEvent;
+import com.attendance.model.AttendanceStatus;
 import com.attendance.model.SessionAttendance;
 import com.attendance.model.Student;
 import com.attendance.model.TimetableSession;
@@ -20,19 +24,23 @@ public class SessionAttendanceService {
     private final SessionAttendanceRepository repo;
     private final TimetableSessionRepository timetableSessionRepository;
     private final StudentRepository studentRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public SessionAttendanceService(SessionAttendanceRepository repo,
                                     TimetableSessionRepository timetableSessionRepository,
-                                    StudentRepository studentRepository) {
+                                    StudentRepository studentRepository,
+                                    ApplicationEventPublisher eventPublisher) {
         this.repo = repo;
         this.timetableSessionRepository = timetableSessionRepository;
         this.studentRepository = studentRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Mark attendance using simplified DTO
      * FIXED: Now requires timetableSessionId - NO AUTO-CREATION
      */
+    @Transactional
     public SessionAttendance markAttendance(AttendanceSubmissionDTO dto) {
         System.out.println("📝 Processing attendance submission: " + dto);
         
@@ -63,9 +71,11 @@ public class SessionAttendanceService {
             );
         
         SessionAttendance attendance;
+        AttendanceStatus previousStatus = null;
         if (existing.isPresent()) {
             System.out.println("📝 Updating existing attendance record");
             attendance = existing.get();
+            previousStatus = attendance.getStatus();
             attendance.setStatus(dto.getStatus());
         } else {
             System.out.println("📝 Creating new attendance record");
@@ -79,6 +89,7 @@ public class SessionAttendanceService {
         // Save and return
         SessionAttendance saved = repo.save(attendance);
         System.out.println("✅ Attendance record saved with ID: " + saved.getId());
+        publishRecorded(saved, session, previousStatus);
         return saved;
     }
 
@@ -87,6 +98,7 @@ public class SessionAttendanceService {
      * Legacy method for backward compatibility
      * FIXED: Now requires valid timetableSession with ID - NO AUTO-CREATION
      */
+    @Transactional
     public SessionAttendance mark(SessionAttendance attendance) {
         if (attendance.getTimetableSession() == null || 
             attendance.getTimetableSession().getId() == null || 
@@ -96,20 +108,55 @@ public class SessionAttendanceService {
 
         LocalDate today = LocalDate.now();
 
+        // Callers may pass a session reference carrying only its ID
+        TimetableSession session = attendance.getTimetableSession();
+        if (session.getDepartment() == null) {
+            session = timetableSessionRepository.findById(session.getId())
+                .orElseThrow(() -> new RuntimeException("TimetableSession not found with ID: " + attendance.getTimetableSession().getId()));
+        }
+
         Optional<SessionAttendance> existing =
             repo.findByStudentIdAndTimetableSessionIdAndDate(
                 attendance.getStudent().getId(),
-                attendance.getTimetableSession().getId(),
+                session.getId(),
                 today
             );
 
         if (existing.isPresent()) {
             SessionAttendance record = existing.get();
+            AttendanceStatus previousStatus = record.getStatus();
             record.setStatus(attendance.getStatus());
-            return repo.save(record);
+            SessionAttendance saved = repo.save(record);
+            publishRecorded(saved, session, previousStatus);
+            return saved;
         }
 
         attendance.setDate(today);
-        return repo.save(attendance);
+        SessionAttendance saved = repo.save(attendance);
+        publishRecorded(saved, session, null);
+        return saved;
+    }
+
+    /**
+     * Notify aggregate maintainers; listeners run inside the current transaction
+     * so a rolled-back mark never leaves counters behind
+     */
+    private void publishRecorded(SessionAttendance saved, TimetableSession session, AttendanceStatus previousStatus) {
+        if (previousStatus == saved.getStatus()) {
+            return;
+        }
+        eventPublisher.publishEvent(new AttendanceRecordedEvent(
+            saved.getId(),
+            saved.getStudentId(),
+            session.getId(),
+            session.getSubject() != null ? session.getSubject().getId() : null,
+            session.getStaff() != null ? session.getStaff().getId() : null,
+            session.getDepartment(),
+            session.getSemester(),
+            session.getSection(),
+            saved.getDate(),
+            previousStatus,
+            saved.getStatus()
+        ));
     }
 }
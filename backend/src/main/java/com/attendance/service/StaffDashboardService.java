@@ -5,9 +5,9 @@ import com.attendance.dto.StaffDashboardDTO;
 import com.attendance.dto.StaffDashboardDTO.AssignedClassDTO;
 import com.attendance.dto.StaffDashboardDTO.StaffInfoDTO;
 import com.attendance.dto.StaffDashboardDTO.TodaySessionDTO;
+import com.attendance.model.ClassAttendanceSummary;
 import com.attendance.model.Staff;
 import com.attendance.model.TimetableSession;
-import com.attendance.model.User;
 import com.attendance.repository.*;
 
 import java.time.LocalDate;
@@ -18,43 +18,36 @@ import java.util.stream.Collectors;
 /**
  * Service for Staff/Teacher Dashboard
  * Provides assigned classes in format: [Year] [Department] [Class]
+ * The Staff record is resolved once per request (see ResolvedPrincipal) and passed in
  */
 @Service
 public class StaffDashboardService {
 
-    private final StaffRepository staffRepository;
     private final TimetableSessionRepository timetableRepository;
-    private final StudentRepository studentRepository;
     private final SessionAttendanceRepository attendanceRepository;
-    private final UserRepository userRepository;
+    private final ClassStatisticsService classStatisticsService;
 
-    public StaffDashboardService(StaffRepository staffRepository,
-                                TimetableSessionRepository timetableRepository,
-                                StudentRepository studentRepository,
+    public StaffDashboardService(TimetableSessionRepository timetableRepository,
                                 SessionAttendanceRepository attendanceRepository,
-                                UserRepository userRepository) {
-        this.staffRepository = staffRepository;
+                                ClassStatisticsService classStatisticsService) {
         this.timetableRepository = timetableRepository;
-        this.studentRepository = studentRepository;
         this.attendanceRepository = attendanceRepository;
-        this.userRepository = userRepository;
+        this.classStatisticsService = classStatisticsService;
     }
 
     /**
      * Get complete staff dashboard
      */
-    public StaffDashboardDTO getStaffDashboard(String username) {
+    public StaffDashboardDTO getStaffDashboard(Staff staff) {
         try {
-            Staff staff = findStaffByUsername(username);
-            
             // Build staff info
             StaffInfoDTO staffInfo = buildStaffInfo(staff);
             
             // Get assigned classes
-            AssignedClassDTO[] assignedClasses = getAssignedClasses(username);
+            AssignedClassDTO[] assignedClasses = getAssignedClasses(staff);
             
             // Get today's sessions
-            TodaySessionDTO[] todaySessions = getTodaySessions(username);
+            TodaySessionDTO[] todaySessions = getTodaySessions(staff);
             
             return new StaffDashboardDTO(
                 staffInfo,
@@ -62,7 +55,7 @@ public class StaffDashboardService {
                 Arrays.asList(todaySessions)
             );
         } catch (Exception e) {
-            System.err.println("❌ Error in getStaffDashboard for user '" + username + "': " + e.getMessage());
+            System.err.println("❌ Error in getStaffDashboard for staff '" + staff.getStaffCode() + "': " + e.getMessage());
             e.printStackTrace();
             throw new RuntimeException("Failed to get staff dashboard: " + e.getMessage(), e);
         }
@@ -72,10 +65,8 @@ public class StaffDashboardService {
      * Get all classes assigned to this staff member
      * Format: [Year] [Department] [Class]
      */
-    public AssignedClassDTO[] getAssignedClasses(String username) {
+    public AssignedClassDTO[] getAssignedClasses(Staff staff) {
         try {
-            Staff staff = findStaffByUsername(username);
-            
             // Get all timetable sessions for this faculty
             List<TimetableSession> sessions = timetableRepository.findByStaffIdAndActiveTrue(staff.getId());
             System.out.println("📚 Found " + sessions.size() + " sessions for staff: " + staff.getName());
@@ -83,8 +74,15 @@ public class StaffDashboardService {
             // Group by unique department-semester combinations
             Map<String, List<TimetableSession>> groupedSessions = sessions.stream()
                 .collect(Collectors.groupingBy(session -> 
-                    session.getDepartment() + "|" + session.getSemester()
+                    ClassStatisticsService.key(session.getDepartment(), session.getSemester())
                 ));
+
+            // Student counts and averages for every group come from the maintained summaries in one query
+            Set<String> departments = sessions.stream()
+                .map(TimetableSession::getDepartment)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+            Map<String, ClassAttendanceSummary> summaries = classStatisticsService.getSummaries(departments);
             
             return groupedSessions.entrySet().stream()
                 .map(entry -> {
@@ -101,17 +99,9 @@ public class StaffDashboardService {
                             .findFirst()
                             .orElse(staff.getSubject());
                     
-                    // Get student count for this department and semester
-                    Long studentCount = studentRepository.countByDepartmentAndSemester(department, semester);
-                    
-                    // Get average attendance for this class - using simple fallback to avoid complex SQL errors
-                    Double avgAttendance = null;
-                    try {
-                        avgAttendance = attendanceRepository.getSimpleAverageAttendance(department, semester);
-                    } catch (Exception e) {
-                        System.err.println("⚠️  Could not calculate attendance for " + department + " Sem " + semester + ": " + e.getMessage());
-                        avgAttendance = 0.0;
-                    }
+                    ClassAttendanceSummary summary = summaries.get(entry.getKey());
+                    long studentCount = summary != null ? summary.getStudentCount() : 0L;
+                    double avgAttendance = summary != null ? summary.getAveragePercentage() : 0.0;
                     
                     return new AssignedClassDTO(
                         year,
@@ -119,13 +109,13 @@ public class StaffDashboardService {
                         "B.Sc " + department, // className
                         section != null ? section : "A",
                         subjectName,
-                        studentCount.intValue(),
-                        avgAttendance != null ? Math.round(avgAttendance * 100.0) / 100.0 : 0.0
+                        (int) studentCount,
+                        Math.round(avgAttendance * 100.0) / 100.0
                     );
                 })
                 .toArray(AssignedClassDTO[]::new);
         } catch (Exception e) {
-            System.err.println("❌ Error in getAssignedClasses for user '" + username + "': " + e.getMessage());
+            System.err.println("❌ Error in getAssignedClasses for staff '" + staff.getStaffCode() + "': " + e.getMessage());
             e.printStackTrace();
             throw new RuntimeException("Failed to get assigned classes: " + e.getMessage(), e);
         }
@@ -134,10 +124,8 @@ public class StaffDashboardService {
     /**
      * Get today's teaching sessions
      */
-    public TodaySessionDTO[] getTodaySessions(String username) {
+    public TodaySessionDTO[] getTodaySessions(Staff staff) {
         try {
-            Staff staff = findStaffByUsername(username);
-            
             // Get current day of week
             String today = LocalDate.now().getDayOfWeek()
                 .getDisplayName(TextStyle.FULL, Locale.ENGLISH);
@@ -149,13 +137,16 @@ public class StaffDashboardService {
                 .findByFacultyIdAndDayOfWeekAndIsActiveTrue(staff.getId(), today);
             
             System.out.println("📚 Found " + todaySessions.size() + " sessions for today");
+
+            // Resolve the marked status of every session in one query
+            Set<Long> markedSessionIds = findMarkedSessionIds(todaySessions, LocalDate.now());
             
             return todaySessions.stream()
                 .sorted(Comparator.comparing(TimetableSession::getStartTime))
                 .map(session -> {
                     try {
                         // Check if attendance is marked for this session
-                        Boolean attendanceMarked = checkAttendanceMarked(session, LocalDate.now());
+                        Boolean attendanceMarked = markedSessionIds.contains(session.getId());
                         
                         Long classId = session.getClassEntity() != null ? session.getClassEntity().getId() : null;
                         
@@ -219,7 +210,7 @@ public class StaffDashboardService {
                 })
                 .toArray(TodaySessionDTO[]::new);
         } catch (Exception e) {
-            System.err.println("❌ Error in getTodaySessions for user '" + username + "': " + e.getMessage());
+            System.err.println("❌ Error in getTodaySessions for staff '" + staff.getStaffCode() + "': " + e.getMessage());
             e.printStackTrace();
             throw new RuntimeException("Failed to get today's sessions: " + e.getMessage(), e);
         }
@@ -227,23 +218,6 @@ public class StaffDashboardService {
 
     // ========== HELPER METHODS ==========
 
-    private Staff findStaffByUsername(String username) {
-        try {
-            // Try case-insensitive lookup first
-            User user = userRepository.findByUsernameIgnoreCase(username)
-                .orElseThrow(() -> new RuntimeException("User not found: " + username));
-            
-            Staff staff = staffRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("Staff not found for user: " + username));
-            
-            System.out.println("✅ Found staff: " + staff.getName() + " (ID=" + staff.getId() + ") for user: " + username);
-            return staff;
-        } catch (Exception e) {
-            System.err.println("❌ Error finding staff for username '" + username + "': " + e.getMessage());
-            throw new RuntimeException("Failed to find staff for user: " + username, e);
-        }
-    }
-
     private StaffInfoDTO buildStaffInfo(Staff staff) {
         List<String> subjects = Optional.ofNullable(staff.getSubjects())
                 .orElse(List.of())
@@ -263,12 +237,13 @@ public class StaffDashboardService {
         );
     }
 
-    private Boolean checkAttendanceMarked(TimetableSession session, LocalDate date) {
-        // Check if attendance records exist for this session and date
-        return attendanceRepository.existsByTimetableSessionSubjectIdAndDateAndTimetableSessionStartTime(
-            session.getSubject().getId(),
-            date,
-            session.getStartTime()
-        );
+    private Set<Long> findMarkedSessionIds(List<TimetableSession> sessions, LocalDate date) {
+        if (sessions.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<Long> sessionIds = sessions.stream()
+            .map(TimetableSession::getId)
+            .toList();
+        return new HashSet<>(attendanceRepository.findMarkedSessionIds(sessionIds, date));
     }
 }
@@ -2,9 +2,11 @@ package com.attendance.service;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.attendance.event.UserAccountChangedEvent;
 import com.attendance.exception.ResourceNotFoundException;
 import com.attendance.model.Staff;
 import com.attendance.model.User;
@@ -17,14 +19,22 @@ public class StaffService {
 
     private final StaffRepository staffRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReferenceCacheService referenceCacheService;
 
-    public StaffService(StaffRepository staffRepository, UserRepository userRepository) {
+    public StaffService(StaffRepository staffRepository, UserRepository userRepository,
+                        ApplicationEventPublisher eventPublisher,
+                        ReferenceCacheService referenceCacheService) {
         this.staffRepository = staffRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.referenceCacheService = referenceCacheService;
     }
 
     public Staff save(Staff staff) {
-        return staffRepository.save(staff);
+        Staff saved = staffRepository.save(staff);
+        referenceCacheService.referenceDataChanged();
+        return saved;
     }
 
     public List<Staff> getAll() {
@@ -41,13 +51,16 @@ public class StaffService {
         existing.setName(staff.getName());
         existing.setDepartment(staff.getDepartment());
         existing.setActive(staff.isActive());
-        return staffRepository.save(existing);
+        Staff saved = staffRepository.save(existing);
+        referenceCacheService.referenceDataChanged();
+        return saved;
     }
 
     public void disable(Long id) {
         Staff staff = getById(id);
         staff.setActive(false);
         staffRepository.save(staff);
+        referenceCacheService.referenceDataChanged();
     }
 
     public void delete(Long id) {
@@ -59,10 +72,12 @@ public class StaffService {
         
         // Delete the staff first (due to foreign key constraint)
         staffRepository.deleteById(id);
+        referenceCacheService.referenceDataChanged();
         
         // Then delete the associated user if it exists
         if (associatedUser != null) {
             userRepository.deleteById(associatedUser.getId());
+            eventPublisher.publishEvent(new UserAccountChangedEvent(associatedUser.getUsername()));
         }
     }
 }
@@ -8,8 +8,6 @@ import com.attendance.dto.WeeklyTimetableDTO.TimetableSlotDTO;
 import com.attendance.dto.FacultyDTO;
 import com.attendance.model.Student;
 import com.attendance.model.Staff;
-import com.attendance.model.TimetableSession;
-import com.attendance.model.User;
 import com.attendance.repository.*;
 
 import java.time.DayOfWeek;
@@ -21,49 +19,41 @@ import java.util.stream.Collectors;
 /**
  * Service for Student Dashboard
  * Generates dashboard data matching StudentPortal.tsx frontend requirements
+ * The Student is resolved once per request (see ResolvedPrincipal) and passed in
  */
 @Service
 public class StudentDashboardService {
 
-    private final StudentRepository studentRepository;
     private final SessionAttendanceRepository attendanceRepository;
-    private final TimetableSessionRepository timetableRepository;
     private final SubjectRepository subjectRepository;
-    private final UserRepository userRepository;
     private final StaffRepository staffRepository;
+    private final TimetableProjectionService timetableProjectionService;
 
-    public StudentDashboardService(StudentRepository studentRepository,
-                                  SessionAttendanceRepository attendanceRepository,
-                                  TimetableSessionRepository timetableRepository,
+    public StudentDashboardService(SessionAttendanceRepository attendanceRepository,
                                   SubjectRepository subjectRepository,
-                                  UserRepository userRepository,
-                                  StaffRepository staffRepository) {
-        this.studentRepository = studentRepository;
+                                  StaffRepository staffRepository,
+                                  TimetableProjectionService timetableProjectionService) {
         this.attendanceRepository = attendanceRepository;
-        this.timetableRepository = timetableRepository;
         this.subjectRepository = subjectRepository;
-        this.userRepository = userRepository;
         this.staffRepository = staffRepository;
+        this.timetableProjectionService = timetableProjectionService;
     }
 
     /**
      * Get complete dashboard for student
      */
-    public StudentDashboardDTO getStudentDashboard(String username) {
-        // Find student by username
-        Student student = findStudentByUsername(username);
-        
+    public StudentDashboardDTO getStudentDashboard(Student student) {
         // Build identity
         StudentDashboardDTO.StudentIdentityDTO identity = buildStudentIdentity(student);
         
         // Get subject-wise attendance
-        SubjectAttendanceDTO[] subjectAttendance = getStudentAttendance(username);
+        SubjectAttendanceDTO[] subjectAttendance = getStudentAttendance(student);
         
         // Calculate overall attendance
         Double overallPercentage = calculateOverallAttendance(subjectAttendance);
         
         // Get weekly timetable
-        WeeklyTimetableDTO timetable = getStudentTimetable(username);
+        WeeklyTimetableDTO timetable = getStudentTimetable(student);
         
         return new StudentDashboardDTO(identity, overallPercentage, 
                                       Arrays.asList(subjectAttendance), timetable);
@@ -73,9 +63,7 @@ public class StudentDashboardService {
      * Get subject-wise attendance for student
      * Maps to: ALEX_ATTENDANCE_DATA in StudentPortal.tsx
      */
-    public SubjectAttendanceDTO[] getStudentAttendance(String username) {
-        Student student = findStudentByUsername(username);
-        
+    public SubjectAttendanceDTO[] getStudentAttendance(Student student) {
         System.out.println("🔍 Fetching attendance for student: " + student.getName() + " (ID: " + student.getId() + ")");
         
         // Query attendance records grouped by subject
@@ -109,122 +97,37 @@ public class StudentDashboardService {
      * Get weekly timetable for student's class
      * Maps to: MASTER_TIMETABLE in StudentPortal.tsx
      */
-    public WeeklyTimetableDTO getStudentTimetable(String username) {
-        Student student = findStudentByUsername(username);
-        
+    public WeeklyTimetableDTO getStudentTimetable(Student student) {
         System.out.println("📅 Fetching weekly timetable for: " + student.getName());
-        System.out.println("   Department: " + student.getDepartment());
-        System.out.println("   Semester: " + student.getSemester());
-        System.out.println("   Section: " + student.getSection());
         
-        // Get all timetable sessions for this student's department, semester, and section
-        List<TimetableSession> sessions = timetableRepository
-            .findByDepartmentAndSemesterAndSectionAndActiveTrue(
-                student.getDepartment(), 
+        // Served from the precompiled class projection; rebuilt only when the timetable changes
+        return timetableProjectionService.getClassTimetable(
+                student.getDepartment(),
                 student.getSemester(),
-                student.getSection()
-            );
-        
-        System.out.println("   ✅ Found " + sessions.size() + " total sessions");
-        
-        // Group by day of week
-        Map<String, List<TimetableSlotDTO>> schedule = new LinkedHashMap<>();
-        
-        // Initialize all days
-        String[] daysOfWeek = {"Sunday", "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday"};
-        for (String day : daysOfWeek) {
-            schedule.put(day, new ArrayList<>());
-        }
-        
-        // Populate schedule
-        for (TimetableSession session : sessions) {
-            String day = session.getDayOfWeek();
-            String subjectName = session.getSubjectName();
-            String facultyName = session.getFacultyName();
-            String location = session.getLocation();
-            
-            System.out.println("   📌 " + day + ": " + subjectName + " by " + facultyName + " at " + location);
-            
-            // Ensure the day exists in schedule (handle case variations)
-            if (!schedule.containsKey(day)) {
-                schedule.put(day, new ArrayList<>());
-            }
-            
-            TimetableSlotDTO slot = new TimetableSlotDTO(
-                session.getStartTime().toString(),
-                session.getEndTime().toString(),
-                subjectName != null ? subjectName : "-",
-                facultyName != null ? facultyName : "-",
-                location != null ? location : "-"
-            );
-            schedule.get(day).add(slot);
-        }
-        
-        // Sort each day's slots by start time
-        schedule.values().forEach(slots -> 
-            slots.sort(Comparator.comparing(TimetableSlotDTO::getStartTime))
-        );
-        
-        return new WeeklyTimetableDTO(schedule);
+                student.getSection())
+            .weekly();
     }
 
     /**
      * Get today's timetable only
      */
-    public TimetableSlotDTO[] getTodayTimetable(String username) {
-        Student student = findStudentByUsername(username);
-        
+    public TimetableSlotDTO[] getTodayTimetable(Student student) {
         // Get current day of week
         String today = LocalDate.now().getDayOfWeek()
             .getDisplayName(TextStyle.FULL, Locale.ENGLISH);
         
-        System.out.println("📅 Fetching today's timetable for student: " + student.getName());
-        System.out.println("   Department: " + student.getDepartment());
-        System.out.println("   Semester: " + student.getSemester());
-        System.out.println("   Section: " + student.getSection());
-        System.out.println("   Today: " + today);
+        System.out.println("📅 Fetching today's timetable for student: " + student.getName() + " (" + today + ")");
         
-        // Use case-insensitive query with section filter
-        List<TimetableSession> todaySessions = timetableRepository
-            .findByDepartmentAndSemesterAndSectionAndDayOfWeekIgnoreCaseAndActiveTrue(
-                student.getDepartment(), 
+        return timetableProjectionService.getClassTimetable(
+                student.getDepartment(),
                 student.getSemester(),
-                student.getSection(),
-                today);
-        
-        System.out.println("   ✅ Found " + todaySessions.size() + " sessions for today");
-        
-        TimetableSlotDTO[] slots = todaySessions.stream()
-            .sorted(Comparator.comparing(TimetableSession::getStartTime))
-            .map(session -> {
-                String subjectName = session.getSubjectName();
-                String facultyName = session.getFacultyName();
-                String location = session.getLocation();
-                
-                System.out.println("      📌 " + session.getStartTime() + ": " + subjectName + " by " + facultyName);
-                
-                return new TimetableSlotDTO(
-                    session.getStartTime().toString(),
-                    session.getEndTime().toString(),
-                    subjectName != null ? subjectName : "-",
-                    facultyName != null ? facultyName : "-",
-                    location != null ? location : "-"
-                );
-            })
+                student.getSection())
+            .slotsForDay(today)
             .toArray(TimetableSlotDTO[]::new);
-            
-        return slots;
     }
 
     // ========== HELPER METHODS ==========
 
-    private Student findStudentByUsername(String username) {
-        User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("User not found: " + username));
-        return studentRepository.findByUserId(user.getId())
-            .orElseThrow(() -> new RuntimeException("Student not found for user: " + username));
-    }
-
     private StudentDashboardDTO.StudentIdentityDTO buildStudentIdentity(Student student) {
         return new StudentDashboardDTO.StudentIdentityDTO(
             String.valueOf(student.getId()),
@@ -250,9 +153,7 @@ public class StudentDashboardService {
     /**
      * Get faculty list for student's department
      */
-    public FacultyDTO[] getDepartmentFaculty(String username) {
-        Student student = findStudentByUsername(username);
-        
+    public FacultyDTO[] getDepartmentFaculty(Student student) {
         System.out.println("👥 Fetching faculty for department: " + student.getDepartment());
         
         // Get all active staff in the student's department
@@ -0,0 +1,408 @@
+package com.attendance.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.attendance.dto.StudentImportReportDTO;
+import com.attendance.exception.BadRequestException;
+import com.attendance.model.Classes;
+import com.attendance.repository.ClassRepository;
+import com.attendance.repository.StudentRepository;
+import com.attendance.repository.UserRepository;
+
+/**
+ * Bulk import of students, with their login accounts, from CSV
+ *
+ * Creates the same records as StudentService.saveDTO (student name as username,
+ * roll number as BCrypt-hashed password), but a chunk at a time: the file is read
+ * as a stream, uniqueness is checked with one IN query per chunk, passwords are
+ * hashed in parallel, and users and students are inserted with JDBC batches in
+ * one transaction per chunk. Rows that fail validation are reported and skipped.
+ */
+@Service
+public class StudentImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentImportService.class);
+
+    private static final String INSERT_USER_SQL =
+        "INSERT INTO users (username, password, role, enabled) VALUES (?, ?, 'ROLE_STUDENT', true)";
+
+    private static final String INSERT_STUDENT_SQL =
+        "INSERT INTO student (roll_no, name, department, semester, section, email, phone, " +
+        "class_id, user_id, active, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, true, ?, ?)";
+
+    private final StudentRepository studentRepository;
+    private final UserRepository userRepository;
+    private final ClassRepository classRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ClassStatisticsService classStatisticsService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int hashThreads;
+
+    public StudentImportService(StudentRepository studentRepository,
+                                UserRepository userRepository,
+                                ClassRepository classRepository,
+                                PasswordEncoder passwordEncoder,
+                                ClassStatisticsService classStatisticsService,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${student.import.chunk-size:500}") int chunkSize,
+                                @Value("${student.import.hash-threads:0}") int hashThreads) {
+        this.studentRepository = studentRepository;
+        this.userRepository = userRepository;
+        this.classRepository = classRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.classStatisticsService = classStatisticsService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        // 0 leaves one core for request handling
+        this.hashThreads = hashThreads > 0
+            ? hashThreads
+            : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    /**
+     * Import a CSV with a header row naming at least rollNo, name, department and
+     * semester; section, email and phone are optional. Column order is free.
+     */
+    public StudentImportReportDTO importCsv(InputStream csv) throws IOException {
+        long start = System.currentTimeMillis();
+        StudentImportReportDTO report = new StudentImportReportDTO();
+        ImportContext context = new ImportContext(report, loadActiveClasses());
+
+        ForkJoinPool hashPool = new ForkJoinPool(hashThreads);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                throw new BadRequestException("CSV file is empty");
+            }
+            Map<String, Integer> columns = parseHeader(headerLine);
+
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            int lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                report.setTotalRows(report.getTotalRows() + 1);
+                ImportRow row = parseRow(lineNumber, line, columns, context);
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() >= chunkSize) {
+                    importChunk(chunk, context, hashPool);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, context, hashPool);
+            }
+        } finally {
+            hashPool.shutdown();
+        }
+
+        report.setDurationMillis(System.currentTimeMillis() - start);
+        logger.info("📥 Student import: {} of {} rows imported in {} ms ({} rejected)",
+            report.getImported(), report.getTotalRows(), report.getDurationMillis(), report.getFailed());
+        return report;
+    }
+
+    private Map<String, Integer> parseHeader(String headerLine) {
+        List<String> names = splitCsvLine(stripBom(headerLine));
+        if (names == null) {
+            throw new BadRequestException("CSV header is malformed");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+            columns.putIfAbsent("rollnumber".equals(name) ? "rollno" : name, i);
+        }
+        for (String required : List.of("rollno", "name", "department", "semester")) {
+            if (!columns.containsKey(required)) {
+                throw new BadRequestException(
+                    "CSV header must include rollNo, name, department and semester columns");
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Validate one line on its own and against earlier lines; null when it was rejected
+     */
+    private ImportRow parseRow(int lineNumber, String line, Map<String, Integer> columns, ImportContext context) {
+        StudentImportReportDTO report = context.report;
+        List<String> fields = splitCsvLine(line);
+        if (fields == null) {
+            report.addError(lineNumber, null, "Unterminated quoted field");
+            return null;
+        }
+
+        ImportRow row = new ImportRow();
+        row.line = lineNumber;
+        row.rollNo = field(fields, columns, "rollno");
+        row.name = field(fields, columns, "name");
+        row.department = field(fields, columns, "department");
+        row.email = field(fields, columns, "email");
+        row.phone = field(fields, columns, "phone");
+        row.section = StudentService.normalizeSection(field(fields, columns, "section"));
+
+        String error = validate(row, field(fields, columns, "semester"));
+        if (error == null && !context.seenRollNos.add(row.rollNo.toLowerCase(Locale.ROOT))) {
+            error = "Roll number appears more than once in the file";
+        }
+        if (error == null && !context.seenUsernames.add(row.name.toLowerCase(Locale.ROOT))) {
+            error = "User with this name appears more than once in the file";
+        }
+        if (error != null) {
+            report.addError(lineNumber, row.rollNo, error);
+            return null;
+        }
+
+        Classes classEntity = context.classes.get(classKey(row.department, row.semester, row.section));
+        row.classId = classEntity != null ? classEntity.getId() : null;
+        return row;
+    }
+
+    private static String validate(ImportRow row, String semester) {
+        if (row.rollNo == null) {
+            return "Roll number is required";
+        }
+        if (row.name == null) {
+            return "Name is required";
+        }
+        if (row.department == null) {
+            return "Department is required";
+        }
+        try {
+            row.semester = Integer.parseInt(semester);
+        } catch (NumberFormatException e) {
+            return "Semester must be a number";
+        }
+        if (row.semester < 1) {
+            return "Semester must be at least 1";
+        }
+        // Column limits of the student and users tables
+        if (row.rollNo.length() > 20) {
+            return "Roll number must be at most 20 characters";
+        }
+        if (row.name.length() > 100 || row.department.length() > 100) {
+            return "Name and department must be at most 100 characters";
+        }
+        if ((row.email != null && row.email.length() > 100) || (row.phone != null && row.phone.length() > 15)) {
+            return "Email must be at most 100 and phone at most 15 characters";
+        }
+        return null;
+    }
+
+    private void importChunk(List<ImportRow> chunk, ImportContext context, ForkJoinPool hashPool) {
+        StudentImportReportDTO report = context.report;
+
+        // One query each for roll numbers and usernames already in the database
+        Set<String> existingRollNos = lowerCase(studentRepository.findExistingRollNos(
+            chunk.stream().map(row -> row.rollNo).toList()));
+        Set<String> existingUsernames = lowerCase(userRepository.findExistingUsernames(
+            chunk.stream().map(row -> row.name).toList()));
+
+        List<ImportRow> rows = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (existingRollNos.contains(row.rollNo.toLowerCase(Locale.ROOT))) {
+                report.addError(row.line, row.rollNo, "Roll number already exists");
+            } else if (existingUsernames.contains(row.name.toLowerCase(Locale.ROOT))) {
+                report.addError(row.line, row.rollNo, "User with this name already exists");
+            } else {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            hashPool.submit(() -> rows.parallelStream()
+                .forEach(row -> row.passwordHash = passwordEncoder.encode(row.rollNo)))
+                .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Student import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(rows));
+            report.setImported(report.getImported() + rows.size());
+        } catch (DataAccessException e) {
+            // Most likely a concurrent insert of the same roll number or username
+            logger.warn("⚠️ Student import chunk of {} rows failed: {}", rows.size(), e.getMessage());
+            for (ImportRow row : rows) {
+                report.addError(row.line, row.rollNo, "Could not be saved together with its chunk; retry this row");
+            }
+        }
+    }
+
+    private void insert(List<ImportRow> rows) {
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, rows.stream()
+            .map(row -> new Object[] { row.name, row.passwordHash })
+            .toList());
+
+        Map<String, Long> userIds = new HashMap<>();
+        for (Object[] idAndName : userRepository.findIdsByUsernames(rows.stream().map(row -> row.name).toList())) {
+            userIds.put(((String) idAndName[1]).toLowerCase(Locale.ROOT), ((Number) idAndName[0]).longValue());
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_STUDENT_SQL, rows.stream()
+            .map(row -> new Object[] {
+                row.rollNo,
+                row.name,
+                row.department,
+                row.semester,
+                row.section,
+                row.email,
+                row.phone,
+                row.classId,
+                userIds.get(row.name.toLowerCase(Locale.ROOT)),
+                now,
+                now
+            })
+            .toList());
+
+        Map<String, Integer> added = new HashMap<>();
+        for (ImportRow row : rows) {
+            added.merge(row.department + "\u0000" + row.semester, 1, Integer::sum);
+        }
+        added.forEach((key, count) -> {
+            String[] parts = key.split("\u0000");
+            classStatisticsService.studentsAdded(parts[0], Integer.parseInt(parts[1]), count);
+        });
+    }
+
+    private Map<String, Classes> loadActiveClasses() {
+        Map<String, Classes> classes = new HashMap<>();
+        for (Classes classEntity : classRepository.findAll()) {
+            if (classEntity.isActive()) {
+                classes.putIfAbsent(classKey(
+                    classEntity.getDepartment(), classEntity.getSemester(), classEntity.getSection()), classEntity);
+            }
+        }
+        return classes;
+    }
+
+    private static String classKey(String department, int semester, String section) {
+        return department + "|" + semester + "|" + section;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Set<String> lowerCase(List<String> values) {
+        Set<String> lowered = new HashSet<>();
+        for (String value : values) {
+            lowered.add(value.toLowerCase(Locale.ROOT));
+        }
+        return lowered;
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    /**
+     * Split one CSV line, honouring double-quoted fields with "" escapes;
+     * null when a quote is left open
+     */
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static final class ImportRow {
+        private int line;
+        private String rollNo;
+        private String name;
+        private String department;
+        private int semester;
+        private String section;
+        private String email;
+        private String phone;
+        private Long classId;
+        private String passwordHash;
+    }
+
+    /**
+     * State carried across chunks of one import
+     */
+    private static final class ImportContext {
+        private final StudentImportReportDTO report;
+        private final Map<String, Classes> classes;
+        private final Set<String> seenRollNos = new HashSet<>();
+        private final Set<String> seenUsernames = new HashSet<>();
+
+        private ImportContext(StudentImportReportDTO report, Map<String, Classes> classes) {
+            this.report = report;
+            this.classes = classes;
+        }
+    }
+}
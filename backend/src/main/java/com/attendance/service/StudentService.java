@@ -3,12 +3,14 @@ package com.attendance.service;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.attendance.dto.StudentDTO;
 import com.attendance.dto.QuickAttendanceStudentDTO;
+import com.attendance.event.UserAccountChangedEvent;
 import com.attendance.exception.ResourceNotFoundException;
 import com.attendance.model.Classes;
 import com.attendance.model.Student;
@@ -25,17 +27,33 @@ public class StudentService {
 	private final UserRepository userRepository;
 	private final ClassRepository classRepository;
 	private final PasswordEncoder passwordEncoder;
+	private final ClassStatisticsService classStatisticsService;
+	private final DashboardVersionService dashboardVersionService;
+	private final ApplicationEventPublisher eventPublisher;
 
 	public StudentService(StudentRepository repo, UserRepository userRepository, 
-	                     ClassRepository classRepository, PasswordEncoder passwordEncoder) {
+	                     ClassRepository classRepository, PasswordEncoder passwordEncoder,
+	                     ClassStatisticsService classStatisticsService,
+	                     DashboardVersionService dashboardVersionService,
+	                     ApplicationEventPublisher eventPublisher) {
 		this.repo = repo;
 		this.userRepository = userRepository;
 		this.classRepository = classRepository;
 		this.passwordEncoder = passwordEncoder;
+		this.classStatisticsService = classStatisticsService;
+		this.dashboardVersionService = dashboardVersionService;
+		this.eventPublisher = eventPublisher;
 	}
 
 	public Student save(Student s) {
-		return repo.save(s);
+		boolean isNew = s.getId() == null;
+		Student saved = repo.save(s);
+		if (isNew) {
+			classStatisticsService.studentAdded(saved.getDepartment(), saved.getSemester());
+		} else {
+			dashboardVersionService.studentChanged(saved.getId());
+		}
+		return saved;
 	}
 
 	public List<Student> getAll() {
@@ -75,6 +93,7 @@ public class StudentService {
 		}
 		
 		Student saved = repo.save(student);
+		classStatisticsService.studentAdded(saved.getDepartment(), saved.getSemester());
 		return toDTO(saved);
 	}
 
@@ -131,6 +150,9 @@ public class StudentService {
 		// Normalize section: Convert numeric sections (1-8) to letter format (A-H)
 		studentDTO.setSection(normalizeSection(studentDTO.getSection()));
 
+		String oldDepartment = existing.getDepartment();
+		int oldSemester = existing.getSemester();
+
 		existing.setRollNo(studentDTO.getRollNo());
 		existing.setName(studentDTO.getName());
 		existing.setDepartment(studentDTO.getDepartment());
@@ -138,6 +160,8 @@ public class StudentService {
 		existing.setSection(studentDTO.getSection());
 
 		Student updated = repo.save(existing);
+		classStatisticsService.studentMoved(oldDepartment, oldSemester, updated.getDepartment(), updated.getSemester());
+		dashboardVersionService.studentChanged(updated.getId());
 		return toDTO(updated);
 	}
 
@@ -150,10 +174,13 @@ public class StudentService {
 		
 		// Delete the student first (due to foreign key constraint)
 		repo.deleteById(id);
+		classStatisticsService.studentRemoved(student.getDepartment(), student.getSemester());
+		dashboardVersionService.studentChanged(id);
 		
 		// Then delete the associated user if it exists
 		if (associatedUser != null) {
 			userRepository.deleteById(associatedUser.getId());
+			eventPublisher.publishEvent(new UserAccountChangedEvent(associatedUser.getUsername()));
 		}
 	}
 
@@ -215,7 +242,7 @@ public class StudentService {
 	 * Converts numeric sections (1-8) to letters (A-H)
 	 * Examples: "1" -> "A", "6" -> "F", "A" -> "A"
 	 */
-	private String normalizeSection(String section) {
+	static String normalizeSection(String section) {
 		if (section == null || section.trim().isEmpty()) {
 			return "A"; // Default to section A
 		}
@@ -28,13 +28,16 @@ public class TimetableManagementService {
     private final TimetableSessionRepository repository;
     private final StaffRepository staffRepository;
     private final StudentRepository studentRepository;
+    private final TimetableProjectionService timetableProjectionService;
 
     public TimetableManagementService(TimetableSessionRepository repository,
                                      StaffRepository staffRepository,
-                                     StudentRepository studentRepository) {
+                                     StudentRepository studentRepository,
+                                     TimetableProjectionService timetableProjectionService) {
         this.repository = repository;
         this.staffRepository = staffRepository;
         this.studentRepository = studentRepository;
+        this.timetableProjectionService = timetableProjectionService;
     }
 
     /**
@@ -148,6 +151,7 @@ public class TimetableManagementService {
         }
         
         TimetableSession saved = repository.save(session);
+        timetableProjectionService.invalidateAll();
         int studentCount = studentRepository.findByDepartmentAndSemesterAndActiveTrue(
             session.getDepartment(), session.getSemester()).size();
         logger.info("✅ Created session: {} {} at {} for subject: {} with {} students", 
@@ -195,7 +199,9 @@ public class TimetableManagementService {
         logger.info("✅ Updated session {}: Department={}, Semester={}, Students={}", 
                     id, existing.getDepartment(), existing.getSemester(), studentCount);
         
-        return repository.save(existing);
+        TimetableSession saved = repository.save(existing);
+        timetableProjectionService.invalidateAll();
+        return saved;
     }
 
     /**
@@ -244,6 +250,7 @@ public class TimetableManagementService {
      */
     public void deleteSession(Long id) {
         repository.deleteById(id);
+        timetableProjectionService.invalidateAll();
     }
 }
 
@@ -0,0 +1,392 @@
+package com.attendance.service;
+
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.attendance.cache.CacheInvalidationBus;
+import com.attendance.cache.CacheStats;
+import com.attendance.cache.ManagedCache;
+import com.attendance.dto.ApiResponse;
+import com.attendance.dto.PreparedJson;
+import com.attendance.dto.TimetableRowDTO.ClassPortalRowDTO;
+import com.attendance.dto.TimetableRowDTO.GridRowDTO;
+import com.attendance.dto.TimetableRowDTO.StaffPortalRowDTO;
+import com.attendance.dto.WeeklyTimetableDTO;
+import com.attendance.dto.WeeklyTimetableDTO.TimetableSlotDTO;
+import com.attendance.event.CacheInvalidationEvent;
+import com.attendance.model.CacheInvalidation.Topic;
+import com.attendance.model.TimetableSession;
+import com.attendance.repository.TimetableSessionRepository;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Precompiled, immutable timetable projections per class and per staff member
+ *
+ * Timetables change a few times per semester but are read on every portal load,
+ * so each view is built once from a single fetch-join query and served from memory
+ * until a timetable, subject or staff mutation calls invalidateAll(), on this node
+ * or (through the invalidation bus) on any other.
+ * The hottest views are also kept as serialized (and gzipped) API responses.
+ */
+@Service
+public class TimetableProjectionService implements ManagedCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimetableProjectionService.class);
+
+    private static final List<String> DAYS_OF_WEEK = List.of(
+        "Sunday", "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday");
+
+    // Slot, weekly DTO, grid and portal rows of one session, excluding the serialized bytes
+    private static final int BYTES_PER_SLOT = 1200;
+
+    private final TimetableSessionRepository timetableRepository;
+    private final JsonMapper jsonMapper;
+    private final CacheInvalidationBus invalidationBus;
+
+    private final Map<String, ClassTimetable> classTimetables = new ConcurrentHashMap<>();
+    private final Map<Long, StaffTimetable> staffTimetables = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation so a load that raced with a mutation is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private final CacheStats stats = new CacheStats();
+    private volatile int maxEntries;
+
+    public TimetableProjectionService(TimetableSessionRepository timetableRepository,
+                                      JsonMapper jsonMapper,
+                                      CacheInvalidationBus invalidationBus,
+                                      @Value("${timetable.projection.max-entries:2000}") int maxEntries) {
+        this.timetableRepository = timetableRepository;
+        this.jsonMapper = jsonMapper;
+        this.invalidationBus = invalidationBus;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * One timetable row, detached from the entity graph
+     */
+    public record Slot(
+        Long id,
+        String dayOfWeek,
+        LocalTime startTime,
+        LocalTime endTime,
+        String subjectName,
+        String subjectCode,
+        String staffName,
+        String staffCode,
+        String roomNumber,
+        String location,
+        String department,
+        int semester,
+        String section
+    ) {
+        static Slot of(TimetableSession session) {
+            return new Slot(
+                session.getId(),
+                session.getDayOfWeek(),
+                session.getStartTime(),
+                session.getEndTime(),
+                session.getSubjectName(),
+                session.getSubjectId(),
+                session.getFacultyName(),
+                session.getFacultyId(),
+                session.getRoomNumber(),
+                session.getLocation(),
+                session.getDepartment(),
+                session.getSemester(),
+                session.getSection()
+            );
+        }
+
+        /**
+         * Class context label used by the staff portal: "Year X Section - Department"
+         */
+        public String classContext() {
+            int year = (semester - 1) / 2 + 1;
+            return String.format("Year %d %s - %s", year, section, department);
+        }
+    }
+
+    /**
+     * Weekly timetable of one department/semester/section with its response views prebuilt
+     */
+    public record ClassTimetable(
+        List<Slot> slots,
+        WeeklyTimetableDTO weekly,
+        List<GridRowDTO> gridRows,
+        List<ClassPortalRowDTO> portalRows,
+        PreparedJson gridResponse
+    ) {
+        public List<TimetableSlotDTO> slotsForDay(String day) {
+            List<TimetableSlotDTO> daySlots = weekly.getSchedule().get(normalizeDay(day));
+            return daySlots != null ? daySlots : List.of();
+        }
+    }
+
+    /**
+     * Teaching schedule of one staff member
+     */
+    public record StaffTimetable(
+        List<Slot> slots,
+        List<StaffPortalRowDTO> portalRows,
+        PreparedJson portalResponse
+    ) {
+    }
+
+    public ClassTimetable getClassTimetable(String department, int semester, String section) {
+        String key = department + "|" + semester + "|" + section;
+        ClassTimetable cached = classTimetables.get(key);
+        if (cached != null) {
+            stats.recordHit();
+            return cached;
+        }
+        stats.recordMiss();
+        long loadGeneration = generation.get();
+        long start = System.nanoTime();
+        ClassTimetable built = buildClassTimetable(
+            timetableRepository.findClassTimetable(department, semester, section));
+        stats.recordLoad(System.nanoTime() - start);
+        return cacheIfCurrent(classTimetables, key, built, loadGeneration);
+    }
+
+    public StaffTimetable getStaffTimetable(Long staffId) {
+        StaffTimetable cached = staffTimetables.get(staffId);
+        if (cached != null) {
+            stats.recordHit();
+            return cached;
+        }
+        stats.recordMiss();
+        long loadGeneration = generation.get();
+        long start = System.nanoTime();
+        StaffTimetable built = buildStaffTimetable(timetableRepository.findByStaffIdAndActiveTrue(staffId));
+        stats.recordLoad(System.nanoTime() - start);
+        return cacheIfCurrent(staffTimetables, staffId, built, loadGeneration);
+    }
+
+    /**
+     * Changes on every invalidation, so it doubles as a timetable version
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Drop every projection here and on the other nodes; called after any timetable,
+     * subject or staff change
+     */
+    public void invalidateAll() {
+        evictAll();
+        invalidationBus.publish(Topic.TIMETABLES, null);
+    }
+
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.getTopic() == Topic.TIMETABLES) {
+            evictAll();
+        }
+    }
+
+    private void evictAll() {
+        generation.incrementAndGet();
+        int dropped = classTimetables.size() + staffTimetables.size();
+        classTimetables.clear();
+        staffTimetables.clear();
+        stats.recordInvalidations(dropped);
+        logger.info("🗑️ Timetable projections invalidated ({} dropped)", dropped);
+    }
+
+    private <K, V> V cacheIfCurrent(Map<K, V> cache, K key, V value, long loadGeneration) {
+        if (generation.get() != loadGeneration || maxEntries == 0) {
+            return value;
+        }
+        makeRoom(maxEntries - 1);
+        V existing = cache.putIfAbsent(key, value);
+        // An invalidation between the check and the put must not leave the stale value behind
+        if (generation.get() != loadGeneration) {
+            cache.remove(key, value);
+        }
+        return existing != null ? existing : value;
+    }
+
+    @Override
+    public String name() {
+        return "timetable-projections";
+    }
+
+    @Override
+    public long size() {
+        return classTimetables.size() + staffTimetables.size();
+    }
+
+    @Override
+    public int maxSize() {
+        return maxEntries;
+    }
+
+    @Override
+    public void resize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative");
+        }
+        maxEntries = maxSize;
+        makeRoom(maxSize);
+    }
+
+    @Override
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (ClassTimetable timetable : classTimetables.values()) {
+            bytes += (long) timetable.slots().size() * BYTES_PER_SLOT
+                + timetable.gridResponse().json().length
+                + timetable.gridResponse().gzipped().length;
+        }
+        for (StaffTimetable timetable : staffTimetables.values()) {
+            bytes += (long) timetable.slots().size() * BYTES_PER_SLOT
+                + timetable.portalResponse().json().length
+                + timetable.portalResponse().gzipped().length;
+        }
+        return bytes;
+    }
+
+    @Override
+    public CacheStats stats() {
+        return stats;
+    }
+
+    /**
+     * Drops arbitrary projections until at most limit remain; any of them is one query away
+     */
+    private void makeRoom(int limit) {
+        int evicted = 0;
+        Iterator<String> classKeys = classTimetables.keySet().iterator();
+        while (size() > limit && classKeys.hasNext()) {
+            classKeys.next();
+            classKeys.remove();
+            evicted++;
+        }
+        Iterator<Long> staffKeys = staffTimetables.keySet().iterator();
+        while (size() > limit && staffKeys.hasNext()) {
+            staffKeys.next();
+            staffKeys.remove();
+            evicted++;
+        }
+        stats.recordEvictions(evicted);
+    }
+
+    private ClassTimetable buildClassTimetable(List<TimetableSession> sessions) {
+        List<Slot> slots = toSortedSlots(sessions);
+
+        Map<String, List<TimetableSlotDTO>> schedule = new LinkedHashMap<>();
+        for (String day : DAYS_OF_WEEK) {
+            schedule.put(day, new ArrayList<>());
+        }
+        List<GridRowDTO> gridRows = new ArrayList<>(slots.size());
+        List<ClassPortalRowDTO> portalRows = new ArrayList<>(slots.size());
+
+        for (Slot slot : slots) {
+            schedule.computeIfAbsent(normalizeDay(slot.dayOfWeek()), day -> new ArrayList<>())
+                .add(new TimetableSlotDTO(
+                    slot.startTime().toString(),
+                    slot.endTime() != null ? slot.endTime().toString() : "-",
+                    slot.subjectName() != null ? slot.subjectName() : "-",
+                    slot.staffName() != null ? slot.staffName() : "-",
+                    slot.location() != null ? slot.location() : "-"
+                ));
+
+            gridRows.add(new GridRowDTO(
+                slot.id(),
+                slot.dayOfWeek(),
+                slot.startTime(),
+                slot.endTime(),
+                slot.subjectName(),
+                slot.subjectCode(),
+                slot.staffName(),
+                slot.staffCode(),
+                slot.roomNumber()
+            ));
+
+            portalRows.add(new ClassPortalRowDTO(
+                slot.id(),
+                slot.dayOfWeek(),
+                slot.startTime(),
+                slot.endTime(),
+                slot.subjectName(),
+                slot.classContext()
+            ));
+        }
+
+        schedule.replaceAll((day, daySlots) -> Collections.unmodifiableList(daySlots));
+        List<GridRowDTO> grid = Collections.unmodifiableList(gridRows);
+        return new ClassTimetable(
+            slots,
+            new WeeklyTimetableDTO(Collections.unmodifiableMap(schedule)),
+            grid,
+            Collections.unmodifiableList(portalRows),
+            PreparedJson.of(jsonMapper, ApiResponse.success(grid))
+        );
+    }
+
+    private StaffTimetable buildStaffTimetable(List<TimetableSession> sessions) {
+        List<Slot> slots = toSortedSlots(sessions);
+        List<StaffPortalRowDTO> portalRows = new ArrayList<>(slots.size());
+
+        for (Slot slot : slots) {
+            portalRows.add(new StaffPortalRowDTO(
+                slot.id(),
+                slot.dayOfWeek(),
+                slot.startTime(),
+                slot.endTime(),
+                slot.subjectName(),
+                slot.department(),
+                slot.semester(),
+                slot.section(),
+                slot.roomNumber(),
+                slot.classContext()
+            ));
+        }
+
+        List<StaffPortalRowDTO> portal = Collections.unmodifiableList(portalRows);
+        return new StaffTimetable(slots, portal, PreparedJson.of(jsonMapper, ApiResponse.success(portal)));
+    }
+
+    /**
+     * Sessions in day and start-time order; a session without a start time has no
+     * place in the week and is left out
+     */
+    private List<Slot> toSortedSlots(List<TimetableSession> sessions) {
+        List<Slot> slots = new ArrayList<>(sessions.size());
+        for (TimetableSession session : sessions) {
+            if (session.getStartTime() == null) {
+                logger.warn("⚠️ Timetable session {} has no start time; left out of the timetable", session.getId());
+                continue;
+            }
+            slots.add(Slot.of(session));
+        }
+        slots.sort(Comparator
+            .comparingInt((Slot slot) -> dayIndex(slot.dayOfWeek()))
+            .thenComparing(Slot::startTime));
+        return Collections.unmodifiableList(slots);
+    }
+
+    private static int dayIndex(String day) {
+        int index = DAYS_OF_WEEK.indexOf(normalizeDay(day));
+        return index >= 0 ? index : DAYS_OF_WEEK.size();
+    }
+
+    private static String normalizeDay(String day) {
+        if (day == null || day.isBlank()) {
+            return day;
+        }
+        String trimmed = day.trim();
+        return trimmed.substring(0, 1).toUpperCase(Locale.ENGLISH) + trimmed.substring(1).toLowerCase(Locale.ENGLISH);
+    }
+}
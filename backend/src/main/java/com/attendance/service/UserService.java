@@ -1,8 +1,10 @@
 package com.attendance.service;
 
+import com.attendance.event.UserAccountChangedEvent;
 import com.attendance.exception.ResourceNotFoundException;
 import com.attendance.model.User;
 import com.attendance.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,10 +18,13 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     public User createUser(String username, String password, String role) {
@@ -44,19 +49,22 @@ public class UserService {
     }
 
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User", "id", id);
-        }
-        userRepository.deleteById(id);
+        User user = getUserById(id);
+        userRepository.delete(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getUsername()));
     }
 
     public User updateUser(Long id, User updatedUser) {
         User existing = getUserById(id);
+        // Evict under the old name too, in case the username changes
+        eventPublisher.publishEvent(new UserAccountChangedEvent(existing.getUsername()));
         existing.setUsername(updatedUser.getUsername());
         if (updatedUser.getPassword() != null && !updatedUser.getPassword().isEmpty()) {
             existing.setPassword(passwordEncoder.encode(updatedUser.getPassword()));
         }
         existing.setRole(updatedUser.getRole());
-        return userRepository.save(existing);
+        User saved = userRepository.save(existing);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(saved.getUsername()));
+        return saved;
     }
 }
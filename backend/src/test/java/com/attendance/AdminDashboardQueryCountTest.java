@@ -0,0 +1,88 @@
+package com.attendance;
+
+import com.attendance.dto.AdminDashboardDTO.ProgrammeDTO;
+import com.attendance.model.Classes;
+import com.attendance.model.Staff;
+import com.attendance.model.User;
+import com.attendance.repository.ClassRepository;
+import com.attendance.repository.StaffRepository;
+import com.attendance.repository.UserRepository;
+import com.attendance.service.AdminDashboardService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the Curriculum Registry is built with a fixed number of queries,
+ * no matter how many departments exist
+ */
+@SpringBootTest(properties = QueryCounter.ENABLE_STATISTICS)
+@Transactional
+public class AdminDashboardQueryCountTest {
+
+    @Autowired
+    private AdminDashboardService dashboardService;
+
+    @Autowired
+    private ClassRepository classRepository;
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void testProgrammeQueryCountIsConstantAsDepartmentsGrow() {
+        QueryCounter queries = new QueryCounter(entityManagerFactory);
+
+        addDepartments("Query Count A", 2);
+        long queriesWithFewDepartments = queries.count(this::loadProgrammes);
+
+        addDepartments("Query Count B", 10);
+        long queriesWithManyDepartments = queries.count(this::loadProgrammes);
+
+        assertEquals(queriesWithFewDepartments, queriesWithManyDepartments,
+                "Query count should not depend on the number of departments");
+        assertTrue(queriesWithManyDepartments <= 4,
+                "Registry should need at most 4 queries, but used " + queriesWithManyDepartments);
+    }
+
+    private void loadProgrammes() {
+        List<ProgrammeDTO> programmes = dashboardService.getAllProgrammes();
+        assertFalse(programmes.isEmpty(), "Registry should contain the seeded departments");
+    }
+
+    private void addDepartments(String prefix, int count) {
+        for (int i = 1; i <= count; i++) {
+            String department = prefix + " " + i;
+
+            Classes classEntity = new Classes();
+            classEntity.setClassName("A");
+            classEntity.setDepartment(department);
+            classEntity.setYear(1);
+            classEntity.setSemester(1);
+            classEntity.setSection("A");
+            classRepository.save(classEntity);
+
+            User user = new User();
+            user.setUsername(department.toLowerCase().replace(' ', '.') + "@attendx.edu");
+            user.setPassword("not-a-real-hash");
+            user.setRole("ROLE_STAFF");
+            userRepository.save(user);
+
+            staffRepository.save(new Staff("QC-" + prefix.charAt(prefix.length() - 1) + i, "Staff " + i, department, user));
+        }
+        // Flush inserts so they are not counted against the registry queries
+        staffRepository.flush();
+    }
+}
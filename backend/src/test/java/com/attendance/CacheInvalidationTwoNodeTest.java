@@ -0,0 +1,155 @@
+package com.attendance;
+
+import com.attendance.dto.ClassDTO;
+import com.attendance.event.UserAccountChangedEvent;
+import com.attendance.model.Classes;
+import com.attendance.model.Staff;
+import com.attendance.repository.ClassRepository;
+import com.attendance.repository.StaffRepository;
+import com.attendance.security.AccountChangeTracker;
+import com.attendance.service.ClassService;
+import com.attendance.service.StaffService;
+import com.attendance.service.TimetableProjectionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs a second application instance against the same database and checks that
+ * changes made on one node evict the other node's caches within a bounded delay
+ */
+@SpringBootTest(properties = {
+        "cache.invalidation.node-id=node-a",
+        "cache.warmup.enabled=false"
+})
+public class CacheInvalidationTwoNodeTest {
+
+    private static final long MAX_CONVERGENCE_MILLIS = 2000;
+
+    @Autowired
+    private TimetableProjectionService timetableProjectionService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ClassService classService;
+
+    @Autowired
+    private StaffService staffService;
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    public void startSecondNode() {
+        nodeB = new SpringApplicationBuilder(AttendanceBackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        "cache.invalidation.node-id=node-b",
+                        "cache.warmup.enabled=false")
+                .run();
+    }
+
+    @AfterEach
+    public void stopSecondNode() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+    }
+
+    @Test
+    public void testTimetableChangeOnOneNodeEvictsTheOther() throws InterruptedException {
+        TimetableProjectionService nodeBTimetables = nodeB.getBean(TimetableProjectionService.class);
+        nodeBTimetables.getStaffTimetable(-1L);
+        assertTrue(nodeBTimetables.size() > 0, "Node B should have cached a projection");
+        long generationBefore = nodeBTimetables.getGeneration();
+
+        timetableProjectionService.invalidateAll();
+        long elapsed = awaitMillis(() -> nodeBTimetables.getGeneration() != generationBefore);
+
+        assertTrue(elapsed <= MAX_CONVERGENCE_MILLIS,
+                "Node B should drop its projections within " + MAX_CONVERGENCE_MILLIS + " ms, took " + elapsed);
+        assertEquals(0, nodeBTimetables.size(), "Node B should hold no stale projections");
+    }
+
+    @Test
+    public void testAccountChangeOnOneNodeRevokesTokensOnTheOther() throws InterruptedException {
+        AccountChangeTracker nodeBTracker = nodeB.getBean(AccountChangeTracker.class);
+        String username = "two.node." + System.nanoTime() + "@attendx.edu";
+        long issuedAt = System.currentTimeMillis();
+        assertFalse(nodeBTracker.isRevoked(username, issuedAt));
+
+        eventPublisher.publishEvent(new UserAccountChangedEvent(username));
+        long elapsed = awaitMillis(() -> nodeBTracker.isRevoked(username, issuedAt));
+
+        assertTrue(elapsed <= MAX_CONVERGENCE_MILLIS,
+                "Node B should revoke the token within " + MAX_CONVERGENCE_MILLIS + " ms, took " + elapsed);
+    }
+
+    @Test
+    public void testClassEditOnOneNodeEvictsTheOther() throws InterruptedException {
+        ClassRepository nodeBClasses = nodeB.getBean(ClassRepository.class);
+        ClassDTO created = classService.createClass(
+                new ClassDTO(null, "TN-A", "TWO-NODE-" + System.nanoTime(), 1, 1, "Z", true));
+        try {
+            // Load it into node B's second-level cache
+            assertEquals("TN-A", nodeBClasses.findById(created.getId()).map(Classes::getClassName).orElse(null));
+
+            created.setClassName("TN-B");
+            classService.updateClass(created.getId(), created);
+            long elapsed = awaitMillis(() -> "TN-B".equals(
+                    nodeBClasses.findById(created.getId()).map(Classes::getClassName).orElse(null)));
+
+            assertTrue(elapsed <= MAX_CONVERGENCE_MILLIS,
+                    "Node B should see the class edit within " + MAX_CONVERGENCE_MILLIS + " ms, took " + elapsed);
+        } finally {
+            classService.deleteClass(created.getId());
+        }
+    }
+
+    @Test
+    public void testStaffDisableOnOneNodeEvictsTheOther() throws InterruptedException {
+        Staff staff = staffRepository.findAll().stream().filter(Staff::isActive).findFirst().orElse(null);
+        assumeTrue(staff != null, "Needs an active staff member in the test database");
+        StaffRepository nodeBStaff = nodeB.getBean(StaffRepository.class);
+        try {
+            assertTrue(nodeBStaff.findById(staff.getId()).map(Staff::isActive).orElse(false));
+
+            staffService.disable(staff.getId());
+            long elapsed = awaitMillis(() -> !nodeBStaff.findById(staff.getId()).map(Staff::isActive).orElse(true));
+
+            assertTrue(elapsed <= MAX_CONVERGENCE_MILLIS,
+                    "Node B should see the staff disable within " + MAX_CONVERGENCE_MILLIS + " ms, took " + elapsed);
+        } finally {
+            staff.setActive(true);
+            staffService.update(staff.getId(), staff);
+        }
+    }
+
+    /**
+     * Milliseconds until the condition held, or a value past the bound if it never did
+     */
+    private long awaitMillis(BooleanSupplier condition) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() - start > MAX_CONVERGENCE_MILLIS * 2) {
+                return Long.MAX_VALUE;
+            }
+            Thread.sleep(10);
+        }
+        return System.currentTimeMillis() - start;
+    }
+}
@@ -0,0 +1,41 @@
+package com.attendance;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the statements Hibernate prepares while an action runs
+ *
+ * Statistics are off by default; tests using this add ENABLE_STATISTICS to their
+ * @SpringBootTest properties.
+ */
+public final class QueryCounter {
+
+    public static final String ENABLE_STATISTICS = "spring.jpa.properties.hibernate.generate_statistics=true";
+
+    private final Statistics statistics;
+
+    public QueryCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertTrue(statistics.isStatisticsEnabled(), "Query counts need " + ENABLE_STATISTICS);
+    }
+
+    /**
+     * Statements prepared while the action ran
+     */
+    public long count(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Second-level cache hits during the last counted action
+     */
+    public long secondLevelCacheHits() {
+        return statistics.getSecondLevelCacheHitCount();
+    }
+}
@@ -0,0 +1,103 @@
+package com.attendance;
+
+import com.attendance.model.Staff;
+import com.attendance.model.Subject;
+import com.attendance.model.User;
+import com.attendance.repository.StaffRepository;
+import com.attendance.repository.SubjectRepository;
+import com.attendance.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures how many statements the reference lookups made on every staff
+ * dashboard request need once the second-level cache is warm
+ */
+@SpringBootTest(properties = QueryCounter.ENABLE_STATISTICS)
+public class ReferenceCacheQueryCountTest {
+
+    private static final String STAFF_CODE = "L2C-STAFF-1";
+    private static final String SUBJECT_CODE = "L2C-SUB-1";
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long staffId;
+    private Long subjectId;
+    private Long userId;
+
+    @Test
+    public void testWarmCacheServesReferenceLookupsWithoutQueries() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            User user = new User();
+            user.setUsername("l2c.staff@attendx.edu");
+            user.setPassword("not-a-real-hash");
+            user.setRole("ROLE_STAFF");
+            userId = userRepository.save(user).getId();
+
+            staffId = staffRepository.save(new Staff(STAFF_CODE, "Cache Staff", "Cache Dept", user)).getId();
+
+            Subject subject = new Subject();
+            subject.setSubjectCode(SUBJECT_CODE);
+            subject.setSubjectName("Cache Subject");
+            subject.setDepartment("Cache Dept");
+            subject.setSemester(1);
+            subjectId = subjectRepository.save(subject).getId();
+        });
+
+        QueryCounter queries = new QueryCounter(entityManagerFactory);
+        entityManagerFactory.getCache().evictAll();
+
+        long coldQueries = queries.count(() -> lookUpReferences(tx));
+        assertTrue(coldQueries > 0, "Cold lookups should reach the database");
+
+        long warmQueries = queries.count(() -> lookUpReferences(tx));
+        assertEquals(0, warmQueries, "Warm lookups should be served from the second-level cache");
+        assertTrue(queries.secondLevelCacheHits() > 0, "Warm lookups should hit the second-level cache");
+    }
+
+    private void lookUpReferences(TransactionTemplate tx) {
+        tx.executeWithoutResult(status -> {
+            // Principal resolution, then the code and id lookups dashboards make
+            assertTrue(staffRepository.findByUserId(userId).isPresent());
+            assertTrue(staffRepository.findByStaffCode(STAFF_CODE).isPresent());
+            assertTrue(subjectRepository.findBySubjectCode(SUBJECT_CODE).isPresent());
+            assertTrue(subjectRepository.findById(subjectId).isPresent());
+        });
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (staffId != null) {
+                staffRepository.deleteById(staffId);
+            }
+            if (subjectId != null) {
+                subjectRepository.deleteById(subjectId);
+            }
+            if (userId != null) {
+                userRepository.deleteById(userId);
+            }
+        });
+    }
+}
@@ -0,0 +1,82 @@
+package com.attendance.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CountMinSketchTest {
+
+    private static final double EPSILON = 0.001;
+    private static final double DELTA = 0.01;
+
+    @Test
+    public void testNeverUndercountsAndStaysWithinTheErrorBound() {
+        CountMinSketch sketch = new CountMinSketch(EPSILON, DELTA);
+        Map<Long, Long> exact = skewedStream(sketch, new Random(42), 200_000);
+
+        int overBound = 0;
+        for (Map.Entry<Long, Long> entry : exact.entrySet()) {
+            long estimate = sketch.estimate(entry.getKey());
+            assertTrue(estimate >= entry.getValue(), "Undercounted item " + entry.getKey());
+            if (estimate - entry.getValue() > sketch.errorBound()) {
+                overBound++;
+            }
+        }
+
+        assertEquals(200_000, sketch.getTotalCount());
+        assertTrue(overBound <= DELTA * exact.size(),
+                overBound + " of " + exact.size() + " items exceeded the error bound");
+        assertTrue(sketch.confidence() >= 1 - DELTA);
+    }
+
+    @Test
+    public void testMergeEqualsSketchOfCombinedStream() {
+        CountMinSketch first = new CountMinSketch(EPSILON, DELTA);
+        CountMinSketch second = new CountMinSketch(EPSILON, DELTA);
+        CountMinSketch combined = new CountMinSketch(EPSILON, DELTA);
+        Random random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            long item = random.nextInt(5_000);
+            CountMinSketch half = i % 2 == 0 ? first : second;
+            half.add(item, 1);
+            combined.add(item, 1);
+        }
+
+        first.merge(second);
+
+        assertEquals(combined.getTotalCount(), first.getTotalCount());
+        for (long item = 0; item < 5_000; item++) {
+            assertEquals(combined.estimate(item), first.estimate(item));
+        }
+    }
+
+    @Test
+    public void testUnseenItemOfEmptySketchIsZero() {
+        assertEquals(0, new CountMinSketch(EPSILON, DELTA).estimate(123));
+    }
+
+    @Test
+    public void testRejectsInvalidParametersAndMismatchedMerge() {
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0, DELTA));
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(EPSILON, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CountMinSketch(EPSILON, DELTA).merge(new CountMinSketch(EPSILON * 10, DELTA)));
+    }
+
+    /**
+     * A few students absent often, most rarely
+     */
+    private static Map<Long, Long> skewedStream(CountMinSketch sketch, Random random, int events) {
+        Map<Long, Long> exact = new HashMap<>();
+        for (int i = 0; i < events; i++) {
+            long item = random.nextInt(10) == 0 ? random.nextInt(20) : 20 + random.nextInt(20_000);
+            sketch.add(item, 1);
+            exact.merge(item, 1L, Long::sum);
+        }
+        return exact;
+    }
+}
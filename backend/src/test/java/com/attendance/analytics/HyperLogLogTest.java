@@ -0,0 +1,71 @@
+package com.attendance.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HyperLogLogTest {
+
+    private static final int PRECISION = 14;
+
+    @Test
+    public void testEstimateWithinThreeStandardErrors() {
+        for (int distinct : new int[] {1_000, 50_000, 500_000}) {
+            HyperLogLog hll = new HyperLogLog(PRECISION);
+            for (long id = 1; id <= distinct; id++) {
+                hll.add(id);
+            }
+
+            double error = Math.abs(hll.estimate() - distinct) / (double) distinct;
+            assertTrue(error <= 3 * hll.relativeStandardError(),
+                    distinct + " distinct ids estimated as " + hll.estimate());
+        }
+    }
+
+    @Test
+    public void testDuplicatesDoNotChangeTheEstimate() {
+        HyperLogLog once = new HyperLogLog(PRECISION);
+        HyperLogLog repeated = new HyperLogLog(PRECISION);
+        for (long id = 1; id <= 10_000; id++) {
+            once.add(id);
+            for (int i = 0; i < 5; i++) {
+                repeated.add(id);
+            }
+        }
+
+        assertEquals(once.estimate(), repeated.estimate());
+    }
+
+    @Test
+    public void testMergeEqualsSketchOfCombinedStream() {
+        HyperLogLog first = new HyperLogLog(PRECISION);
+        HyperLogLog second = new HyperLogLog(PRECISION);
+        HyperLogLog combined = new HyperLogLog(PRECISION);
+        // Overlapping ranges: 1..60000 and 40001..100000
+        for (long id = 1; id <= 60_000; id++) {
+            first.add(id);
+            combined.add(id);
+        }
+        for (long id = 40_001; id <= 100_000; id++) {
+            second.add(id);
+            combined.add(id);
+        }
+
+        first.merge(second);
+
+        assertEquals(combined.estimate(), first.estimate());
+    }
+
+    @Test
+    public void testEmptySketchEstimatesZero() {
+        assertEquals(0, new HyperLogLog(PRECISION).estimate());
+    }
+
+    @Test
+    public void testRejectsInvalidPrecisionAndMismatchedMerge() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(19));
+        assertThrows(IllegalArgumentException.class,
+                () -> new HyperLogLog(PRECISION).merge(new HyperLogLog(PRECISION - 1)));
+    }
+}
@@ -0,0 +1,92 @@
+package com.attendance.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpaceSavingTest {
+
+    private static final int CAPACITY = 50;
+
+    @Test
+    public void testTrackedCountsBracketTheTrueCount() {
+        SpaceSaving summary = new SpaceSaving(CAPACITY);
+        Map<Long, Long> exact = skewedStream(summary, new Random(42), 100_000);
+
+        for (SpaceSaving.Counter counter : summary.top(CAPACITY)) {
+            long truth = exact.get(counter.item());
+            assertTrue(counter.count() - counter.error() <= truth && truth <= counter.count(),
+                    "Item " + counter.item() + " has true count " + truth + ", tracked as " + counter);
+        }
+        assertEquals(100_000, summary.getTotalCount());
+    }
+
+    @Test
+    public void testFrequentItemsAreAlwaysTracked() {
+        SpaceSaving summary = new SpaceSaving(CAPACITY);
+        Map<Long, Long> exact = skewedStream(summary, new Random(42), 100_000);
+
+        List<Long> tracked = summary.top(CAPACITY).stream().map(SpaceSaving.Counter::item).toList();
+        long threshold = summary.getTotalCount() / CAPACITY;
+        long frequent = 0;
+        for (Map.Entry<Long, Long> entry : exact.entrySet()) {
+            if (entry.getValue() > threshold) {
+                frequent++;
+                assertTrue(tracked.contains(entry.getKey()), "Item " + entry.getKey() + " is missing");
+            } else if (!tracked.contains(entry.getKey())) {
+                assertTrue(entry.getValue() <= summary.minCount());
+            }
+        }
+        assertTrue(frequent > 0, "The stream should have heavy hitters");
+    }
+
+    @Test
+    public void testMergeKeepsBoundsOfTheCombinedStream() {
+        SpaceSaving first = new SpaceSaving(CAPACITY);
+        SpaceSaving second = new SpaceSaving(CAPACITY);
+        Map<Long, Long> exact = skewedStream(first, new Random(1), 50_000);
+        skewedStream(second, new Random(2), 50_000).forEach((item, count) -> exact.merge(item, count, Long::sum));
+
+        first.merge(second);
+
+        assertEquals(100_000, first.getTotalCount());
+        for (SpaceSaving.Counter counter : first.top(CAPACITY)) {
+            long truth = exact.get(counter.item());
+            assertTrue(counter.count() - counter.error() <= truth && truth <= counter.count(),
+                    "Item " + counter.item() + " has true count " + truth + ", merged as " + counter);
+        }
+        long threshold = first.getTotalCount() / CAPACITY;
+        List<Long> tracked = first.top(CAPACITY).stream().map(SpaceSaving.Counter::item).toList();
+        exact.forEach((item, count) -> {
+            if (count > threshold) {
+                assertTrue(tracked.contains(item), "Item " + item + " is missing after merge");
+            }
+        });
+    }
+
+    @Test
+    public void testTopIsOrderedByCount() {
+        SpaceSaving summary = new SpaceSaving(CAPACITY);
+        summary.add(1, 3);
+        summary.add(2, 7);
+        summary.add(3, 5);
+
+        assertEquals(List.of(2L, 3L), summary.top(2).stream().map(SpaceSaving.Counter::item).toList());
+        assertEquals(0, summary.minCount(), "Nothing has been evicted yet");
+    }
+
+    private static Map<Long, Long> skewedStream(SpaceSaving summary, Random random, int events) {
+        Map<Long, Long> exact = new HashMap<>();
+        for (int i = 0; i < events; i++) {
+            long item = random.nextInt(4) == 0 ? random.nextInt(10) : 10 + random.nextInt(10_000);
+            summary.add(item, 1);
+            exact.merge(item, 1L, Long::sum);
+        }
+        return exact;
+    }
+}
@@ -0,0 +1,55 @@
+package com.attendance.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BloomFilterTest {
+
+    private static final int KEYS = 10_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    public void testAddedKeysAreAlwaysFound() {
+        BloomFilter filter = BloomFilter.create(KEYS, FALSE_POSITIVE_RATE);
+        String[] keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = UUID.randomUUID().toString();
+            filter.add(keys[i]);
+        }
+
+        for (String key : keys) {
+            assertTrue(filter.mightContain(key), "No false negatives");
+        }
+    }
+
+    @Test
+    public void testFalsePositiveRateMatchesSizing() {
+        BloomFilter filter = BloomFilter.create(KEYS, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < KEYS; i++) {
+            filter.add("revoked-" + i);
+        }
+
+        int probes = 100_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("active-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        double rate = (double) falsePositives / probes;
+        assertTrue(rate < FALSE_POSITIVE_RATE * 2,
+                "False-positive rate at the configured load should be about 1%, was " + rate);
+    }
+
+    @Test
+    public void testEmptyFilterContainsNothing() {
+        BloomFilter filter = BloomFilter.create(KEYS, FALSE_POSITIVE_RATE);
+
+        assertFalse(filter.mightContain("anything"));
+        assertTrue(filter.sizeInBytes() > 0);
+    }
+}
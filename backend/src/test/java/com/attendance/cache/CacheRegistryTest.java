@@ -0,0 +1,85 @@
+package com.attendance.cache;
+
+import com.attendance.dto.CacheReportDTO;
+import com.attendance.dto.CacheReportDTO.CacheEntryDTO;
+import com.attendance.exception.BadRequestException;
+import com.attendance.exception.ResourceNotFoundException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CacheRegistryTest {
+
+    private ExpiringCache<String, String> sessions;
+    private ExpiringCache<String, String> tokens;
+    private Statistics statistics;
+    private CacheRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        sessions = new ExpiringCache<>("sessions", 10, 100);
+        tokens = new ExpiringCache<>("tokens", 10, 50);
+
+        statistics = mock(Statistics.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+
+        registry = new CacheRegistry(List.of(tokens, sessions), entityManagerFactory);
+    }
+
+    @Test
+    public void testReportListsApplicationCachesByName() {
+        sessions.put("a", "A", System.currentTimeMillis() + 60_000);
+        sessions.getIfPresent("a");
+        sessions.getIfPresent("b");
+
+        CacheReportDTO report = registry.report();
+
+        assertEquals(List.of("sessions", "tokens"),
+                report.getCaches().stream().map(CacheEntryDTO::getName).toList());
+        CacheEntryDTO entry = report.getCaches().get(0);
+        assertEquals(CacheReportDTO.KIND_APPLICATION, entry.getKind());
+        assertEquals(1, entry.getSize());
+        assertEquals(10, entry.getMaxSize());
+        assertEquals(100, entry.getEstimatedBytes());
+        assertEquals(0.5, entry.getHitRatio(), 1e-9);
+    }
+
+    @Test
+    public void testHibernateRegionsAreSkippedWhileStatisticsAreOff() {
+        when(statistics.isStatisticsEnabled()).thenReturn(false);
+
+        assertEquals(2, registry.report().getCaches().size());
+        verify(statistics, never()).getSecondLevelCacheRegionNames();
+    }
+
+    @Test
+    public void testResizeEvictsAndReportsTheNewLimit() {
+        for (int i = 0; i < 8; i++) {
+            sessions.put("key" + i, "value" + i, System.currentTimeMillis() + 60_000);
+        }
+
+        CacheEntryDTO entry = registry.resize("sessions", 5);
+
+        assertEquals(5, entry.getMaxSize());
+        assertEquals(5, entry.getSize());
+        assertEquals(3, entry.getEvictions());
+        assertEquals(10, tokens.maxSize(), "Other caches are untouched");
+    }
+
+    @Test
+    public void testResizeRejectsUnknownCacheAndNegativeSize() {
+        assertThrows(ResourceNotFoundException.class, () -> registry.resize("missing", 5));
+        assertThrows(BadRequestException.class, () -> registry.resize("sessions", -1));
+        assertEquals(10, sessions.maxSize());
+    }
+}
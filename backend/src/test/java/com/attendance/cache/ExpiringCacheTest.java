@@ -0,0 +1,125 @@
+package com.attendance.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpiringCacheTest {
+
+    private static final long TTL_MILLIS = 60_000;
+
+    /**
+     * Minimal concrete cache, named like the application caches
+     */
+    static class TestCache extends ExpiringCache<String, String> {
+        TestCache(int maxEntries) {
+            super("test-cache", maxEntries, 100);
+        }
+    }
+
+    @Test
+    public void testHitsAndMissesAreCounted() {
+        TestCache cache = new TestCache(10);
+        cache.put("a", "A", later());
+
+        assertEquals("A", cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+        assertEquals(1, cache.stats().getHits());
+        assertEquals(1, cache.stats().getMisses());
+        assertEquals(100, cache.estimatedBytes());
+    }
+
+    @Test
+    public void testExpiredEntryIsNeverReturned() throws InterruptedException {
+        TestCache cache = new TestCache(10);
+        cache.put("a", "A", System.currentTimeMillis() + 50);
+        cache.put("stale", "S", System.currentTimeMillis() - 1);
+
+        assertEquals(1, cache.size(), "An already expired value is not cached");
+        Thread.sleep(100);
+
+        assertNull(cache.getIfPresent("a"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.stats().getEvictions());
+    }
+
+    @Test
+    public void testFullCacheEvictsToMakeRoom() {
+        TestCache cache = new TestCache(3);
+        for (int i = 0; i < 5; i++) {
+            cache.put("key" + i, "value" + i, later());
+        }
+
+        assertEquals(3, cache.size());
+        assertEquals("value4", cache.getIfPresent("key4"), "The newest entry is always kept");
+        assertEquals(2, cache.stats().getEvictions());
+    }
+
+    @Test
+    public void testEvictionDropsExpiredEntriesFirst() throws InterruptedException {
+        TestCache cache = new TestCache(3);
+        cache.put("short", "S", System.currentTimeMillis() + 50);
+        cache.put("a", "A", later());
+        cache.put("b", "B", later());
+        Thread.sleep(100);
+
+        cache.put("c", "C", later());
+
+        assertEquals(3, cache.size());
+        assertEquals("A", cache.getIfPresent("a"));
+        assertEquals("B", cache.getIfPresent("b"));
+        assertEquals("C", cache.getIfPresent("c"));
+    }
+
+    @Test
+    public void testShrinkingEvictsImmediately() {
+        TestCache cache = new TestCache(10);
+        for (int i = 0; i < 10; i++) {
+            cache.put("key" + i, "value" + i, later());
+        }
+
+        cache.resize(4);
+
+        assertEquals(4, cache.maxSize());
+        assertEquals(4, cache.size());
+        assertEquals(6, cache.stats().getEvictions());
+
+        cache.resize(0);
+        cache.put("key", "value", later());
+        assertEquals(0, cache.size(), "A cache resized to zero stores nothing");
+        assertThrows(IllegalArgumentException.class, () -> cache.resize(-1));
+    }
+
+    @Test
+    public void testGrowingKeepsEntries() {
+        TestCache cache = new TestCache(2);
+        cache.put("a", "A", later());
+        cache.put("b", "B", later());
+
+        cache.resize(3);
+        cache.put("c", "C", later());
+
+        assertEquals(3, cache.size());
+        assertEquals(0, cache.stats().getEvictions());
+    }
+
+    @Test
+    public void testInvalidationIsCountedSeparatelyFromEviction() {
+        TestCache cache = new TestCache(10);
+        cache.put("a", "A", later());
+        cache.put("b", "B", later());
+        cache.put("c", "C", later());
+
+        cache.invalidate("a");
+        cache.invalidate("missing");
+        cache.invalidateAll();
+
+        assertEquals(0, cache.size());
+        assertEquals(3, cache.stats().getInvalidations());
+        assertEquals(0, cache.stats().getEvictions());
+    }
+
+    private static long later() {
+        return System.currentTimeMillis() + TTL_MILLIS;
+    }
+}
@@ -0,0 +1,67 @@
+package com.attendance.controller;
+
+import com.attendance.cache.CacheRegistry;
+import com.attendance.cache.ExpiringCache;
+import com.attendance.exception.GlobalExceptionHandler;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PUT /api/admin/caches/{name}/size against a real registry; role checks are covered by the security config
+ */
+public class AdminCacheControllerTest {
+
+    private ExpiringCache<String, String> cache;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new ExpiringCache<>("sessions", 10, 100);
+        for (int i = 0; i < 6; i++) {
+            cache.put("key" + i, "value" + i, System.currentTimeMillis() + 60_000);
+        }
+        CacheRegistry registry = new CacheRegistry(List.of(cache), mock(EntityManagerFactory.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(new AdminCacheController(registry))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    public void testResizeShrinksTheCache() throws Exception {
+        mockMvc.perform(put("/api/admin/caches/sessions/size").param("maxSize", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.name").value("sessions"))
+                .andExpect(jsonPath("$.data.maxSize").value(2))
+                .andExpect(jsonPath("$.data.size").value(2))
+                .andExpect(jsonPath("$.data.evictions").value(4));
+
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testUnknownCacheIs404() throws Exception {
+        mockMvc.perform(put("/api/admin/caches/missing/size").param("maxSize", "2"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testNegativeSizeIs400() throws Exception {
+        mockMvc.perform(put("/api/admin/caches/sessions/size").param("maxSize", "-1"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(10, cache.maxSize());
+        assertEquals(6, cache.size());
+    }
+}
@@ -0,0 +1,105 @@
+package com.attendance.controller;
+
+import com.attendance.dto.ApiResponse;
+import com.attendance.dto.LoginRequest;
+import com.attendance.dto.LoginResponse;
+import com.attendance.repository.StaffRepository;
+import com.attendance.repository.StudentRepository;
+import com.attendance.repository.UserRepository;
+import com.attendance.security.JwtUtil;
+import com.attendance.security.LoginGate;
+import com.attendance.security.RefreshTokenStore;
+import com.attendance.security.TokenRevocationList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Admission decisions of POST /api/auth/login; the password check itself is mocked
+ */
+public class AuthControllerLoginTest {
+
+    private static final String USERNAME = "staff@attendx.edu";
+    private static final int MAX_FAILURES = 3;
+
+    private AuthenticationManager authManager;
+    private LoginGate loginGate;
+    private AuthController controller;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    public void setUp() {
+        authManager = mock(AuthenticationManager.class);
+        // One worker and a queue of one
+        loginGate = new LoginGate(1, 1, MAX_FAILURES, 300, 60, 5);
+        controller = new AuthController(authManager, mock(JwtUtil.class), mock(UserRepository.class),
+                mock(RefreshTokenStore.class), mock(StudentRepository.class), mock(StaffRepository.class),
+                loginGate, mock(TokenRevocationList.class));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        loginGate.shutdown();
+    }
+
+    @Test
+    public void testAccountLockedWhileQueuedIsNotAuthenticated() throws Exception {
+        occupyWorker();
+        CompletableFuture<ResponseEntity<ApiResponse<LoginResponse>>> queued =
+                controller.login(new LoginRequest(USERNAME, "guess"));
+
+        // Attempts ahead of it in the queue lock the account before it runs
+        for (int i = 0; i < MAX_FAILURES; i++) {
+            loginGate.recordFailure(USERNAME);
+        }
+        release.countDown();
+
+        ResponseEntity<ApiResponse<LoginResponse>> response = queued.get(5, TimeUnit.SECONDS);
+        assertEquals(429, response.getStatusCode().value());
+        assertNotNull(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        verify(authManager, never()).authenticate(any());
+    }
+
+    @Test
+    public void testFullQueueAnswers503WithRetryAfter() throws Exception {
+        occupyWorker();
+        loginGate.submit(() -> null);
+
+        ResponseEntity<ApiResponse<LoginResponse>> response =
+                controller.login(new LoginRequest(USERNAME, "secret")).get(5, TimeUnit.SECONDS);
+
+        assertEquals(503, response.getStatusCode().value());
+        assertEquals("5", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        verify(authManager, never()).authenticate(any());
+    }
+
+    /**
+     * Block the only worker until the test releases it
+     */
+    private void occupyWorker() throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        loginGate.submit(() -> {
+            running.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+    }
+}
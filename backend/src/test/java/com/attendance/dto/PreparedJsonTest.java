@@ -0,0 +1,70 @@
+package com.attendance.dto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PreparedJsonTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Test
+    public void testGzipAndIdentityBodiesDecodeToTheSameJson() throws IOException {
+        ApiResponse<List<Map<String, Object>>> body = ApiResponse.success("Timetable loaded", timetableRows());
+        PreparedJson prepared = PreparedJson.of(jsonMapper, body);
+
+        ResponseEntity<byte[]> identity = prepared.toResponse(false);
+        ResponseEntity<byte[]> gzipped = prepared.toResponse(true);
+
+        assertArrayEquals(identity.getBody(), gunzip(gzipped.getBody()));
+        assertArrayEquals(jsonMapper.writeValueAsBytes(body), identity.getBody());
+        assertEquals(jsonMapper.readTree(identity.getBody()), jsonMapper.readTree(gunzip(gzipped.getBody())));
+    }
+
+    @Test
+    public void testHeadersMatchTheChosenEncoding() {
+        PreparedJson prepared = PreparedJson.of(jsonMapper, ApiResponse.success(timetableRows()));
+
+        ResponseEntity<byte[]> identity = prepared.toResponse(false);
+        ResponseEntity<byte[]> gzipped = prepared.toResponse(true);
+
+        assertEquals(200, identity.getStatusCode().value());
+        assertNull(identity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, identity.getHeaders().getFirst(HttpHeaders.VARY));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, gzipped.getHeaders().getFirst(HttpHeaders.VARY));
+        assertEquals("application/json", identity.getHeaders().getContentType().toString());
+        assertEquals("application/json", gzipped.getHeaders().getContentType().toString());
+    }
+
+    private static List<Map<String, Object>> timetableRows() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int period = 1; period <= 40; period++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", period);
+            row.put("day", "Monday");
+            row.put("period", period);
+            row.put("subjectName", "Données et Algorithmes " + period);
+            row.put("staffName", period % 3 == 0 ? null : "Prof. Kumar");
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static byte[] gunzip(byte[] gzipped) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.attendance.export;
+
+import com.attendance.model.AttendanceStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round trips through ColumnarAttendanceWriter and ColumnarAttendanceReader
+ */
+public class ColumnarAttendanceExtractTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 7, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 11, 30);
+
+    @Test
+    public void testRoundTripPreservesDictionariesAndRows() throws IOException {
+        ColumnarAttendanceWriter writer = new ColumnarAttendanceWriter(FROM, TO);
+        writer.addSubject(10, "CS301", "Data Structures");
+        writer.addSubject(11, "CS302", null);
+        writer.addSession(100, "MONDAY", 1, 10L);
+        writer.addSession(101, "MONDAY", 2, null);
+        // Added out of id order; the writer re-indexes students by id
+        writer.addStudent(3, "CSE303", "Chitra", "CSE", 3, "A");
+        writer.addStudent(1, "CSE301", "Arun", "CSE", 3, "A");
+        writer.addStudent(2, "CSE302", null, "CSE", 3, null);
+
+        LocalDate monday = LocalDate.of(2026, 10, 19);
+        writer.addRow(monday, 100, 1, AttendanceStatus.PRESENT);
+        writer.addRow(monday, 100, 2, AttendanceStatus.ABSENT);
+        writer.addRow(monday, 100, 3, AttendanceStatus.OD);
+        writer.addRow(monday, 101, 3, AttendanceStatus.PRESENT);
+        writer.addRow(monday, 101, 1, AttendanceStatus.ABSENT);
+        writer.addRow(monday.plusWeeks(1), 100, 2, AttendanceStatus.PRESENT);
+
+        AttendanceExtract extract = roundTrip(writer);
+
+        assertEquals(FROM, extract.getFrom());
+        assertEquals(TO, extract.getTo());
+        assertEquals(2, extract.getSubjects().size());
+        assertNull(extract.getSubjects().get(1).name());
+        assertEquals(6, extract.rowCount());
+
+        assertEquals(monday, extract.date(0));
+        assertEquals(1, extract.student(0).id());
+        assertEquals("Data Structures", extract.subject(0).name());
+        assertEquals(AttendanceStatus.PRESENT, extract.status(0));
+
+        assertEquals(2, extract.student(1).id());
+        assertNull(extract.student(1).name());
+        assertNull(extract.student(1).section());
+        assertEquals(AttendanceStatus.ABSENT, extract.status(1));
+
+        assertEquals(3, extract.student(2).id());
+        assertEquals("Chitra", extract.student(2).name());
+        assertEquals(AttendanceStatus.OD, extract.status(2));
+
+        assertEquals(101, extract.session(3).id());
+        assertEquals(2, extract.session(3).sessionNumber());
+        assertNull(extract.subject(3));
+        assertEquals(3, extract.student(3).id());
+        assertEquals(1, extract.student(4).id());
+
+        assertEquals(monday.plusWeeks(1), extract.date(5));
+        assertEquals(2, extract.student(5).id());
+        assertEquals(AttendanceStatus.PRESENT, extract.status(5));
+    }
+
+    @Test
+    public void testRandomRowsRoundTrip() throws IOException {
+        Random random = new Random(42);
+        ColumnarAttendanceWriter writer = new ColumnarAttendanceWriter(FROM, TO);
+        writer.addSubject(1, "CS301", "Data Structures");
+        for (long session = 1; session <= 6; session++) {
+            writer.addSession(session, "MONDAY", (int) session, 1L);
+        }
+        for (long student = 1; student <= 60; student++) {
+            writer.addStudent(student, "CSE" + student, "Student " + student, "CSE", 3, "A");
+        }
+
+        int rows = 5_001;
+        LocalDate[] dates = new LocalDate[rows];
+        long[] sessions = new long[rows];
+        long[] students = new long[rows];
+        AttendanceStatus[] statuses = new AttendanceStatus[rows];
+        LocalDate date = FROM;
+        for (int row = 0; row < rows; row++) {
+            if (random.nextInt(50) == 0) {
+                date = date.plusDays(1 + random.nextInt(3));
+            }
+            dates[row] = date;
+            sessions[row] = 1 + random.nextInt(6);
+            students[row] = 1 + random.nextInt(60);
+            statuses[row] = ColumnarFormat.STATUSES[random.nextInt(ColumnarFormat.STATUSES.length)];
+            writer.addRow(dates[row], sessions[row], students[row], statuses[row]);
+        }
+
+        AttendanceExtract extract = roundTrip(writer);
+
+        assertEquals(rows, extract.rowCount());
+        for (int row = 0; row < rows; row++) {
+            assertEquals(dates[row], extract.date(row), "date of row " + row);
+            assertEquals(sessions[row], extract.session(row).id(), "session of row " + row);
+            assertEquals(students[row], extract.student(row).id(), "student of row " + row);
+            assertEquals(statuses[row], extract.status(row), "status of row " + row);
+        }
+    }
+
+    @Test
+    public void testEmptyExtractRoundTrips() throws IOException {
+        AttendanceExtract extract = roundTrip(new ColumnarAttendanceWriter(FROM, TO));
+
+        assertEquals(0, extract.rowCount());
+        assertTrue(extract.getStudents().isEmpty());
+        assertEquals(FROM, extract.getFrom());
+    }
+
+    @Test
+    public void testZigzagRoundTrip() {
+        for (long value : new long[] {0, 1, -1, 63, -64, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertEquals(value, ColumnarFormat.unzigzag(ColumnarFormat.zigzag(value)));
+        }
+        assertEquals(1, ColumnarFormat.zigzag(-1));
+        assertEquals(2, ColumnarFormat.zigzag(1));
+    }
+
+    @Test
+    public void testWriterRejectsUnknownIdsAndOutOfOrderDates() {
+        ColumnarAttendanceWriter writer = new ColumnarAttendanceWriter(FROM, TO);
+        writer.addSession(1, "MONDAY", 1, null);
+        writer.addStudent(1, "CSE301", "Arun", "CSE", 3, "A");
+        writer.addRow(FROM.plusDays(1), 1, 1, AttendanceStatus.PRESENT);
+
+        assertThrows(IllegalArgumentException.class, () -> writer.addSession(2, "MONDAY", 2, 99L));
+        assertThrows(IllegalArgumentException.class,
+                () -> writer.addRow(FROM.plusDays(1), 1, 2, AttendanceStatus.PRESENT));
+        assertThrows(IllegalStateException.class, () -> writer.addRow(FROM, 1, 1, AttendanceStatus.PRESENT));
+    }
+
+    @Test
+    public void testReaderRejectsCorruptInput() throws IOException {
+        ColumnarAttendanceWriter writer = new ColumnarAttendanceWriter(FROM, TO);
+        writer.addSession(1, "MONDAY", 1, null);
+        writer.addStudent(1, "CSE301", "Arun", "CSE", 3, "A");
+        writer.addRow(FROM, 1, 1, AttendanceStatus.ABSENT);
+        byte[] bytes = write(writer);
+
+        byte[] badMagic = bytes.clone();
+        badMagic[0] = 'X';
+        assertThrows(IOException.class, () -> read(badMagic));
+        assertThrows(IOException.class, () -> read(Arrays.copyOf(bytes, bytes.length - 1)));
+    }
+
+    private static AttendanceExtract roundTrip(ColumnarAttendanceWriter writer) throws IOException {
+        return read(write(writer));
+    }
+
+    private static byte[] write(ColumnarAttendanceWriter writer) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static AttendanceExtract read(byte[] bytes) throws IOException {
+        return ColumnarAttendanceReader.read(new ByteArrayInputStream(bytes));
+    }
+}
@@ -0,0 +1,62 @@
+package com.attendance.security;
+
+import com.attendance.event.CacheInvalidationEvent;
+import com.attendance.model.CacheInvalidation.Topic;
+import com.attendance.repository.AccountRevocationRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class AccountChangeTrackerTest {
+
+    private static final long ACCESS_TOKEN_LIFETIME_MILLIS = 3_600_000;
+
+    private final AccountChangeTracker tracker = new AccountChangeTracker(
+            mock(AccountRevocationRepository.class), ACCESS_TOKEN_LIFETIME_MILLIS);
+
+    @Test
+    public void testTokenIssuedBeforeChangeIsRevoked() {
+        long changedAt = System.currentTimeMillis();
+        tracker.accountChanged("Staff@AttendX.edu", changedAt);
+
+        assertTrue(tracker.isRevoked("staff@attendx.edu", changedAt - 1));
+        assertTrue(tracker.isRevoked("staff@attendx.edu", changedAt));
+    }
+
+    @Test
+    public void testTokenIssuedLaterInTheSameSecondStaysValid() {
+        long secondStart = (System.currentTimeMillis() / 1000) * 1000;
+        tracker.accountChanged("staff@attendx.edu", secondStart + 100);
+
+        assertFalse(tracker.isRevoked("staff@attendx.edu", secondStart + 101),
+                "A token issued after the change must not be revoked because it shares the second");
+    }
+
+    @Test
+    public void testOtherAccountsAreUnaffected() {
+        tracker.accountChanged("staff@attendx.edu", System.currentTimeMillis());
+
+        assertFalse(tracker.isRevoked("student@attendx.edu", 0));
+    }
+
+    @Test
+    public void testRemoteChangeUsesTheOriginatingCommitTime() {
+        Instant changedAt = Instant.now();
+        tracker.onCacheInvalidation(new CacheInvalidationEvent(Topic.USER_ACCOUNT, "staff@attendx.edu", changedAt));
+
+        assertTrue(tracker.isRevoked("staff@attendx.edu", changedAt.toEpochMilli()));
+        assertFalse(tracker.isRevoked("staff@attendx.edu", changedAt.toEpochMilli() + 1));
+    }
+
+    @Test
+    public void testLaterChangeWinsOverAnOlderOneArrivingLate() {
+        long now = System.currentTimeMillis();
+        tracker.accountChanged("staff@attendx.edu", now);
+        tracker.accountChanged("staff@attendx.edu", now - 5_000);
+
+        assertTrue(tracker.isRevoked("staff@attendx.edu", now - 1));
+    }
+}
@@ -0,0 +1,80 @@
+package com.attendance.security;
+
+import com.attendance.cache.CacheInvalidationBus;
+import com.attendance.event.UserAccountChangedEvent;
+import com.attendance.repository.AccountRevocationRepository;
+import com.attendance.repository.CacheInvalidationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A node that starts after an account change must still reject tokens issued before it
+ */
+@SpringBootTest(properties = "cache.warmup.enabled=false")
+public class AccountRevocationRestartTest {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private AccountRevocationRepository accountRevocationRepository;
+
+    @Autowired
+    private CacheInvalidationRepository cacheInvalidationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${jwt.expiration}")
+    private long accessTokenLifetimeMillis;
+
+    private final String username = "restart." + System.nanoTime() + "@attendx.edu";
+
+    @AfterEach
+    public void deleteRevocation() {
+        jdbcTemplate.update("DELETE FROM account_revocations WHERE username = ?", username);
+    }
+
+    @Test
+    public void testRestartedNodeStillRejectsTokensIssuedBeforeTheChange() {
+        long issuedAt = System.currentTimeMillis() - 1;
+        eventPublisher.publishEvent(new UserAccountChangedEvent(username));
+
+        // Fresh bus and tracker on the same database; the feed attaches past the change entry
+        CacheInvalidationBus bus = new CacheInvalidationBus(cacheInvalidationRepository, event -> { },
+                "restarted-node", 5000, 10);
+        bus.attach();
+        AccountChangeTracker restarted = new AccountChangeTracker(accountRevocationRepository, accessTokenLifetimeMillis);
+        restarted.load();
+        bus.poll();
+
+        assertTrue(restarted.isRevoked(username, issuedAt), "The old token must stay revoked after a restart");
+        assertTrue(restarted.isRevoked(username.toUpperCase(), issuedAt));
+        assertFalse(restarted.isRevoked(username, System.currentTimeMillis() + 1000),
+                "Tokens issued after the change stay valid");
+    }
+
+    @Test
+    public void testLaterChangeIsKeptWhenAnAccountChangesAgain() {
+        eventPublisher.publishEvent(new UserAccountChangedEvent(username));
+        long between = System.currentTimeMillis() + 5;
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        eventPublisher.publishEvent(new UserAccountChangedEvent(username));
+
+        AccountChangeTracker restarted = new AccountChangeTracker(accountRevocationRepository, accessTokenLifetimeMillis);
+        restarted.load();
+
+        assertTrue(restarted.isRevoked(username, between), "The second change must replace the first");
+    }
+}
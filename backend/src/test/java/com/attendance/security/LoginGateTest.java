@@ -0,0 +1,86 @@
+package com.attendance.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoginGateTest {
+
+    private static final int MAX_FAILURES = 3;
+    private static final long LOCKOUT_SECONDS = 1;
+
+    // One worker and a queue of one, so the third concurrent login overflows
+    private final LoginGate gate = new LoginGate(1, 1, MAX_FAILURES, 300, LOCKOUT_SECONDS, 5);
+
+    @AfterEach
+    public void shutdown() {
+        gate.shutdown();
+    }
+
+    @Test
+    public void testAccountLocksAfterMaxFailures() {
+        for (int i = 1; i < MAX_FAILURES; i++) {
+            gate.recordFailure("staff@attendx.edu");
+            assertEquals(0, gate.lockedSeconds("staff@attendx.edu"), "Not locked after " + i + " failures");
+        }
+
+        gate.recordFailure("Staff@AttendX.edu");
+
+        long locked = gate.lockedSeconds("staff@attendx.edu");
+        assertTrue(locked > 0 && locked <= LOCKOUT_SECONDS + 1, "Locked for the lockout period, was " + locked);
+        assertEquals(0, gate.lockedSeconds("student@attendx.edu"), "Other accounts stay open");
+    }
+
+    @Test
+    public void testSuccessClearsEarlierFailures() {
+        for (int i = 1; i < MAX_FAILURES; i++) {
+            gate.recordFailure("staff@attendx.edu");
+        }
+        gate.recordSuccess("staff@attendx.edu");
+        gate.recordFailure("staff@attendx.edu");
+
+        assertEquals(0, gate.lockedSeconds("staff@attendx.edu"));
+    }
+
+    @Test
+    public void testLockoutExpires() throws InterruptedException {
+        for (int i = 0; i < MAX_FAILURES; i++) {
+            gate.recordFailure("staff@attendx.edu");
+        }
+        assertTrue(gate.lockedSeconds("staff@attendx.edu") > 0);
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(LOCKOUT_SECONDS) + 100);
+
+        assertEquals(0, gate.lockedSeconds("staff@attendx.edu"));
+    }
+
+    @Test
+    public void testFullQueueRejectsWithRetryAfter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        CompletableFuture<Boolean> busy = gate.submit(() -> {
+            running.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS), "The worker should pick up the first login");
+        CompletableFuture<String> queued = gate.submit(() -> "queued");
+
+        assertThrows(RejectedExecutionException.class, () -> gate.submit(() -> "overflow"));
+        assertEquals(5, gate.getRetryAfterSeconds());
+
+        release.countDown();
+        assertTrue(busy.get(5, TimeUnit.SECONDS));
+        assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+    }
+}
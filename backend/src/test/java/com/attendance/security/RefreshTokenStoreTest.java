@@ -0,0 +1,85 @@
+package com.attendance.security;
+
+import com.attendance.model.RefreshToken;
+import com.attendance.model.User;
+import com.attendance.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Refresh tokens against the migrated refresh_tokens table
+ */
+@SpringBootTest(properties = "cache.warmup.enabled=false")
+public class RefreshTokenStoreTest {
+
+    @Autowired
+    private RefreshTokenStore refreshTokenStore;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    public void createUser() {
+        user = new User();
+        user.setUsername("refresh.store." + System.nanoTime() + "@attendx.edu");
+        user.setPassword("not-a-real-hash");
+        user.setRole("ROLE_STUDENT");
+        user.setEnabled(true);
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    public void deleteUser() {
+        refreshTokenStore.deleteAllForUser(user.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    public void testLegacyTokenColumnIsGone() {
+        Integer legacyColumns = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.COLUMNS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'refresh_tokens' AND COLUMN_NAME = 'token'",
+                Integer.class);
+        assertEquals(0, legacyColumns);
+    }
+
+    @Test
+    public void testSaveStoresOnlyTheHashAndFindUsesIt() {
+        String token = "header.payload-" + System.nanoTime() + ".signature";
+        refreshTokenStore.save(user.getId(), token, Instant.now().plus(1, ChronoUnit.DAYS));
+
+        Optional<RefreshToken> found = refreshTokenStore.find(token);
+        assertTrue(found.isPresent());
+        assertArrayEquals(RefreshTokenStore.hash(token), found.get().getTokenHash());
+        assertEquals(user.getId(), found.get().getUserId());
+        assertFalse(refreshTokenStore.find(token + "x").isPresent());
+    }
+
+    @Test
+    public void testPurgeRemovesOnlyExpiredTokens() {
+        String expired = "expired-" + System.nanoTime();
+        String valid = "valid-" + System.nanoTime();
+        refreshTokenStore.save(user.getId(), expired, Instant.now().minus(1, ChronoUnit.MINUTES));
+        refreshTokenStore.save(user.getId(), valid, Instant.now().plus(1, ChronoUnit.DAYS));
+
+        refreshTokenStore.purgeExpired();
+
+        assertFalse(refreshTokenStore.find(expired).isPresent());
+        assertTrue(refreshTokenStore.find(valid).isPresent());
+    }
+}
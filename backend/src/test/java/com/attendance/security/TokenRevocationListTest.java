@@ -0,0 +1,110 @@
+package com.attendance.security;
+
+import com.attendance.cache.CacheInvalidationBus;
+import com.attendance.event.CacheInvalidationEvent;
+import com.attendance.model.CacheInvalidation.Topic;
+import com.attendance.model.RevokedToken;
+import com.attendance.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class TokenRevocationListTest {
+
+    private static final int EXPECTED_TOKENS = 4;
+
+    private RevokedTokenRepository repository;
+    private CacheInvalidationBus invalidationBus;
+    private TokenRevocationList revocations;
+
+    @BeforeEach
+    public void setUp() {
+        repository = mock(RevokedTokenRepository.class);
+        invalidationBus = mock(CacheInvalidationBus.class);
+        revocations = new TokenRevocationList(repository, invalidationBus, EXPECTED_TOKENS);
+        revocations.load();
+    }
+
+    @Test
+    public void testRevokeStoresAndPublishes() {
+        long expiresAt = inSeconds(3600);
+
+        revocations.revoke("jti-1", expiresAt);
+
+        assertTrue(revocations.isRevoked("jti-1"));
+        assertFalse(revocations.isRevoked("jti-2"));
+        assertFalse(revocations.isRevoked(null));
+        verify(repository).save(any(RevokedToken.class));
+        verify(invalidationBus).publish(Topic.TOKEN_REVOKED, "jti-1|" + expiresAt);
+    }
+
+    @Test
+    public void testRevocationOnAnotherNodeIsApplied() {
+        TokenRevocationList otherNode = new TokenRevocationList(mock(RevokedTokenRepository.class),
+                mock(CacheInvalidationBus.class), EXPECTED_TOKENS);
+        otherNode.load();
+        long expiresAt = inSeconds(3600);
+        revocations.revoke("jti-1", expiresAt);
+
+        otherNode.onCacheInvalidation(new CacheInvalidationEvent(Topic.TOKEN_REVOKED,
+                "jti-1|" + expiresAt, Instant.now()));
+
+        assertTrue(otherNode.isRevoked("jti-1"));
+    }
+
+    @Test
+    public void testRemoteRevocationIsNotRepublished() {
+        revocations.onCacheInvalidation(new CacheInvalidationEvent(Topic.TOKEN_REVOKED,
+                "jti-1|" + inSeconds(3600), Instant.now()));
+
+        assertTrue(revocations.isRevoked("jti-1"));
+        verify(invalidationBus, never()).publish(any(), anyString());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    public void testStartupLoadsUnexpiredRevocations() {
+        when(repository.findByExpiresAtAfter(any())).thenReturn(
+                List.of(new RevokedToken("jti-stored", Instant.now().plusSeconds(3600))));
+
+        TokenRevocationList restarted = new TokenRevocationList(repository, invalidationBus, EXPECTED_TOKENS);
+        restarted.load();
+
+        assertTrue(restarted.isRevoked("jti-stored"));
+    }
+
+    @Test
+    public void testPurgeForgetsExpiredTokensOnly() {
+        revocations.revoke("jti-expired", inSeconds(-60));
+        revocations.revoke("jti-live", inSeconds(3600));
+
+        revocations.purgeExpired();
+
+        assertFalse(revocations.isRevoked("jti-expired"));
+        assertTrue(revocations.isRevoked("jti-live"));
+        verify(repository).deleteExpired(any());
+    }
+
+    @Test
+    public void testFilterGrowsPastItsSizing() {
+        int tokens = EXPECTED_TOKENS * 10;
+        for (int i = 0; i < tokens; i++) {
+            revocations.revoke("jti-" + i, inSeconds(3600));
+        }
+
+        for (int i = 0; i < tokens; i++) {
+            assertTrue(revocations.isRevoked("jti-" + i), "jti-" + i + " should stay revoked after a rebuild");
+        }
+    }
+
+    private static long inSeconds(long seconds) {
+        return Instant.now().getEpochSecond() + seconds;
+    }
+}
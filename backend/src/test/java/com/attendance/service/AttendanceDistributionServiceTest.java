@@ -0,0 +1,118 @@
+package com.attendance.service;
+
+import com.attendance.dto.AttendanceDistributionDTO;
+import com.attendance.event.AttendanceRecordedEvent;
+import com.attendance.event.CacheInvalidationEvent;
+import com.attendance.model.AttendanceStatus;
+import com.attendance.model.CacheInvalidation.Topic;
+import com.attendance.model.Student;
+import com.attendance.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class AttendanceDistributionServiceTest {
+
+    private static final long STUDENT_ID = 1L;
+
+    private JdbcTemplate jdbcTemplate;
+    private AttendanceDistributionService service;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        StudentRepository studentRepository = mock(StudentRepository.class);
+        Student student = new Student();
+        student.setId(STUDENT_ID);
+        student.setDepartment("CSE");
+        student.setSemester(3);
+        student.setSection("A");
+        when(studentRepository.findById(STUDENT_ID)).thenReturn(Optional.of(student));
+        service = new AttendanceDistributionService(jdbcTemplate, studentRepository);
+    }
+
+    @Test
+    public void testRemoteChangeMovesTheStudent() throws Exception {
+        rebuildWithOneOfTwoAttended();
+
+        service.onCacheInvalidation(new CacheInvalidationEvent(Topic.ATTENDANCE,
+                presentMark().toFeedKey(), Instant.now()));
+
+        assertEquals(66, classDistribution().getMedian(), "2 of 3 attended");
+    }
+
+    @Test
+    public void testFeedKeyWithoutAttendanceDetailsIsIgnored() throws Exception {
+        rebuildWithOneOfTwoAttended();
+
+        service.onCacheInvalidation(new CacheInvalidationEvent(Topic.ATTENDANCE, STUDENT_ID + "|7", Instant.now()));
+
+        assertEquals(50, classDistribution().getMedian());
+    }
+
+    @Test
+    public void testChangeCommittedDuringRebuildIsReplayed() throws Exception {
+        // The mark commits while the grouped query is running and is missing from its result
+        stubOneOfTwoAttended(() -> service.onAttendanceRecorded(presentMark()));
+
+        service.rebuild();
+
+        AttendanceDistributionDTO distribution = classDistribution();
+        assertEquals(1, distribution.getStudentCount());
+        assertEquals(66, distribution.getMedian(), "The concurrent mark should survive the swap");
+    }
+
+    @Test
+    public void testChangeAfterRebuildIsCountedOnce() throws Exception {
+        rebuildWithOneOfTwoAttended();
+
+        service.onAttendanceRecorded(presentMark());
+        service.rebuild();
+
+        // The second rebuild reads the same stubbed rows, which do not include the mark
+        assertEquals(50, classDistribution().getMedian());
+    }
+
+    private void rebuildWithOneOfTwoAttended() throws SQLException {
+        stubOneOfTwoAttended(() -> { });
+        service.rebuild();
+        assertEquals(50, classDistribution().getMedian());
+    }
+
+    private void stubOneOfTwoAttended(Runnable duringScan) throws SQLException {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong(1)).thenReturn(STUDENT_ID);
+        when(row.getString(2)).thenReturn("CSE");
+        when(row.getInt(3)).thenReturn(3);
+        when(row.getString(4)).thenReturn("A");
+        when(row.getLong(5)).thenReturn(1L);
+        when(row.getLong(6)).thenReturn(2L);
+        doAnswer(invocation -> {
+            duringScan.run();
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private static AttendanceRecordedEvent presentMark() {
+        return new AttendanceRecordedEvent(10L, STUDENT_ID, 20L, 30L, 7L, "CSE", 3, "A",
+                LocalDate.of(2026, 10, 19), null, AttendanceStatus.PRESENT);
+    }
+
+    private AttendanceDistributionDTO classDistribution() {
+        return service.getDistribution(AttendanceDistributionService.SCOPE_CLASS, "CSE", 3, "A", 75, false);
+    }
+}
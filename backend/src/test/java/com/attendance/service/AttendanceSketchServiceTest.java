@@ -0,0 +1,78 @@
+package com.attendance.service;
+
+import com.attendance.event.AttendanceRecordedEvent;
+import com.attendance.event.CacheInvalidationEvent;
+import com.attendance.model.AttendanceStatus;
+import com.attendance.model.CacheInvalidation.Topic;
+import com.attendance.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class AttendanceSketchServiceTest {
+
+    private static final long STUDENT_ID = 1L;
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 19);
+
+    private JdbcTemplate jdbcTemplate;
+    private AttendanceSketchService service;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        service = new AttendanceSketchService(jdbcTemplate, mock(StudentRepository.class));
+    }
+
+    @Test
+    public void testRemoteAbsenceIsRecorded() {
+        service.onCacheInvalidation(new CacheInvalidationEvent(Topic.ATTENDANCE,
+                absence().toFeedKey(), Instant.now()));
+
+        assertEquals(1, absencesOfStudent());
+    }
+
+    @Test
+    public void testFeedKeyWithoutAttendanceDetailsIsIgnored() {
+        service.onCacheInvalidation(new CacheInvalidationEvent(Topic.ATTENDANCE, STUDENT_ID + "|7", Instant.now()));
+
+        assertEquals(0, absencesOfStudent());
+    }
+
+    @Test
+    public void testAbsenceCommittedDuringRebuildIsReplayed() throws Exception {
+        // One absence is in the table; a second commits while the scan is running
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong(1)).thenReturn(STUDENT_ID);
+        when(row.getDate(2)).thenReturn(Date.valueOf(DAY));
+        doAnswer(invocation -> {
+            service.onAttendanceRecorded(absence());
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        service.rebuild();
+
+        assertEquals(2, absencesOfStudent(), "The concurrent absence should survive the swap");
+    }
+
+    private static AttendanceRecordedEvent absence() {
+        return new AttendanceRecordedEvent(10L, STUDENT_ID, 20L, 30L, 7L, "CSE", 3, "A",
+                DAY, null, AttendanceStatus.ABSENT);
+    }
+
+    private long absencesOfStudent() {
+        return service.getStudentAbsences(STUDENT_ID, DAY, DAY).getStudentAbsences().getEstimate();
+    }
+}
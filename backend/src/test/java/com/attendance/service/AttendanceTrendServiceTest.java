@@ -0,0 +1,171 @@
+package com.attendance.service;
+
+import com.attendance.dto.AttendanceTrendDTO;
+import com.attendance.event.AttendanceRecordedEvent;
+import com.attendance.model.AttendanceStatus;
+import com.attendance.model.AttendanceTrendBucket;
+import com.attendance.model.AttendanceTrendBucket.Granularity;
+import com.attendance.model.AttendanceTrendBucket.Scope;
+import com.attendance.repository.AttendanceTrendBucketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class AttendanceTrendServiceTest {
+
+    // Wednesday, so the week bucket starts two days earlier
+    private static final LocalDate DATE = LocalDate.of(2025, 1, 15);
+
+    private AttendanceTrendBucketRepository bucketRepository;
+    private JdbcTemplate jdbcTemplate;
+    private AttendanceTrendService service;
+    private final List<List<Object[]>> batches = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        bucketRepository = mock(AttendanceTrendBucketRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        doAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            batches.add(batch);
+            return new int[batch.size()];
+        }).when(jdbcTemplate).batchUpdate(anyString(), any(List.class));
+        service = new AttendanceTrendService(bucketRepository, jdbcTemplate);
+    }
+
+    @Test
+    public void testMarksAreCoalescedIntoOneFlush() {
+        service.onAttendanceRecorded(mark("CSE", 30L, null, AttendanceStatus.PRESENT));
+        service.onAttendanceRecorded(mark("CSE", 30L, null, AttendanceStatus.ABSENT));
+
+        assertTrue(batches.isEmpty(), "Nothing is written until the flush");
+        service.flush();
+
+        assertEquals(1, batches.size());
+        List<Object[]> batch = batches.get(0);
+        assertEquals(12, batch.size(), "Four scopes times three granularities");
+        assertRow(row(batch, Granularity.DAY, Scope.COLLEGE, "", DATE), 1, 2);
+        assertRow(row(batch, Granularity.WEEK, Scope.CLASS, "CSE|3|A", LocalDate.of(2025, 1, 13)), 1, 2);
+        assertRow(row(batch, Granularity.MONTH, Scope.SUBJECT, "30", LocalDate.of(2025, 1, 1)), 1, 2);
+
+        service.flush();
+        assertEquals(1, batches.size(), "An empty queue sends no batch");
+    }
+
+    @Test
+    public void testStatusChangeMovesPresentWithoutTotal() {
+        service.onAttendanceRecorded(mark("CSE", 30L, AttendanceStatus.PRESENT, AttendanceStatus.ABSENT));
+        service.flush();
+
+        Object[] row = row(batches.get(0), Granularity.DAY, Scope.DEPARTMENT, "CSE", DATE);
+        assertEquals(0L, row[4], "A new bucket never starts negative");
+        assertEquals(0L, row[5]);
+        assertRow(row, -1, 0);
+    }
+
+    @Test
+    public void testBatchIsWrittenInSortedOrder() {
+        service.onAttendanceRecorded(mark("ECE", 40L, null, AttendanceStatus.PRESENT));
+        service.onAttendanceRecorded(mark("CSE", 30L, null, AttendanceStatus.PRESENT));
+        service.flush();
+
+        List<String> keys = new ArrayList<>();
+        for (Object[] row : batches.get(0)) {
+            if (row[0].equals("DAY")) {
+                keys.add(row[1] + ":" + row[2]);
+            }
+        }
+        assertEquals(List.of("COLLEGE:", "DEPARTMENT:CSE", "DEPARTMENT:ECE",
+                             "CLASS:CSE|3|A", "CLASS:ECE|3|A", "SUBJECT:30", "SUBJECT:40"), keys);
+        assertEquals("DAY", batches.get(0).get(0)[0]);
+        assertEquals("MONTH", batches.get(0).get(batches.get(0).size() - 1)[0]);
+    }
+
+    @Test
+    public void testFailedFlushKeepsTheDeltas() {
+        doThrow(new IllegalStateException("deadlock")).when(jdbcTemplate).batchUpdate(anyString(), any(List.class));
+        service.onAttendanceRecorded(mark("CSE", 30L, null, AttendanceStatus.PRESENT));
+
+        assertThrows(IllegalStateException.class, () -> service.flush());
+
+        doAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            batches.add(batch);
+            return new int[batch.size()];
+        }).when(jdbcTemplate).batchUpdate(anyString(), any(List.class));
+        service.onAttendanceRecorded(mark("CSE", 30L, null, AttendanceStatus.PRESENT));
+        service.flush();
+
+        assertRow(row(batches.get(0), Granularity.DAY, Scope.COLLEGE, "", DATE), 2, 2);
+    }
+
+    @Test
+    public void testRebuildDropsQueuedDeltas() {
+        service.onAttendanceRecorded(mark("CSE", 30L, null, AttendanceStatus.PRESENT));
+
+        service.rebuild();
+        service.flush();
+
+        assertTrue(batches.isEmpty(), "The rebuild already counted the committed mark");
+    }
+
+    @Test
+    public void testTrendFillsEmptyBuckets() {
+        when(bucketRepository.findByGranularityAndScopeAndScopeKeyAndBucketStartBetweenOrderByBucketStart(
+                Granularity.DAY, Scope.DEPARTMENT, "CSE", DATE, DATE.plusDays(3))).thenReturn(List.of(
+            new AttendanceTrendBucket(Granularity.DAY, Scope.DEPARTMENT, "CSE", DATE, 4, 5),
+            new AttendanceTrendBucket(Granularity.DAY, Scope.DEPARTMENT, "CSE", DATE.plusDays(2), 1, 2)));
+
+        AttendanceTrendDTO trend = service.getTrend(Granularity.DAY, Scope.DEPARTMENT, "CSE", DATE, DATE.plusDays(3));
+
+        List<AttendanceTrendDTO.TrendPointDTO> points = trend.getPoints();
+        assertEquals(4, points.size());
+        assertEquals(DATE.plusDays(1), points.get(1).getBucketStart());
+        assertEquals(0, points.get(1).getTotal());
+        assertEquals(4, points.get(0).getPresent());
+        assertEquals(2, points.get(2).getTotal());
+        assertEquals(0, points.get(3).getTotal());
+    }
+
+    @Test
+    public void testWeeklyTrendAlignsToMonday() {
+        AttendanceTrendDTO trend = service.getTrend(Granularity.WEEK, Scope.COLLEGE, null, DATE, DATE.plusDays(7));
+
+        assertEquals(LocalDate.of(2025, 1, 13), trend.getFrom());
+        assertEquals(2, trend.getPoints().size());
+        assertEquals("", trend.getScopeKey());
+    }
+
+    private static AttendanceRecordedEvent mark(String department, Long subjectId,
+                                                AttendanceStatus previous, AttendanceStatus status) {
+        return new AttendanceRecordedEvent(10L, 1L, 20L, subjectId, 7L, department, 3, "A",
+                                           DATE, previous, status);
+    }
+
+    private static Object[] row(List<Object[]> batch, Granularity granularity, Scope scope,
+                                String key, LocalDate bucketStart) {
+        for (Object[] row : batch) {
+            if (row[0].equals(granularity.name()) && row[1].equals(scope.name()) && row[2].equals(key)
+                    && row[3].equals(Date.valueOf(bucketStart))) {
+                return row;
+            }
+        }
+        fail("No " + granularity + " " + scope + " row for " + key + " at " + bucketStart);
+        return null;
+    }
+
+    private static void assertRow(Object[] row, long presentDelta, long totalDelta) {
+        assertEquals(presentDelta, row[6], "present delta");
+        assertEquals(totalDelta, row[7], "total delta");
+    }
+}
@@ -0,0 +1,104 @@
+package com.attendance.service;
+
+import com.attendance.dto.EligibilityForecastDTO;
+import com.attendance.dto.EligibilityForecastDTO.StudentForecastDTO;
+import com.attendance.model.Student;
+import com.attendance.repository.SessionAttendanceRepository;
+import com.attendance.repository.StudentRepository;
+import com.attendance.repository.TimetableSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class EligibilityForecastServiceTest {
+
+    private static final long STUDENT_ID = 1L;
+    // A Monday; the class has one Monday slot
+    private static final LocalDate TERM_START = LocalDate.of(2026, 10, 19);
+
+    private SessionAttendanceRepository attendanceRepository;
+    private StudentRepository studentRepository;
+    private EligibilityForecastService service;
+
+    @BeforeEach
+    public void setUp() {
+        attendanceRepository = mock(SessionAttendanceRepository.class);
+        studentRepository = mock(StudentRepository.class);
+        TimetableSessionRepository timetableRepository = mock(TimetableSessionRepository.class);
+        when(timetableRepository.countActiveSlotsByClassAndDay()).thenReturn(
+                List.<Object[]>of(new Object[] {"CSE", 3, "A", "CS301", "MONDAY", 1L}));
+
+        Student student = new Student();
+        student.setId(STUDENT_ID);
+        student.setRollNo("CSE301");
+        student.setDepartment("CSE");
+        student.setSemester(3);
+        student.setSection("A");
+        when(studentRepository.findByActiveTrue()).thenReturn(List.of(student));
+        when(studentRepository.findByDepartmentIgnoreCaseAndActiveTrue("cse")).thenReturn(List.of(student));
+
+        service = new EligibilityForecastService(attendanceRepository, timetableRepository, studentRepository);
+    }
+
+    @Test
+    public void testTodaysUnmarkedSessionIsRemaining() {
+        LocalDate today = TERM_START.plusWeeks(5);
+        when(attendanceRepository.countAttendanceByStudentBetween(TERM_START, today))
+                .thenReturn(List.<Object[]>of(new Object[] {STUDENT_ID, 8L, 10L}));
+
+        StudentForecastDTO forecast = forecastOnly(today, today.plusDays(6));
+
+        assertEquals(1, forecast.getRemainingSessions(), "Today's Monday slot is still ahead");
+        assertEquals(1, forecast.getRequiredSessions(), "ceil(0.75 * 11 - 8)");
+        assertEquals(EligibilityForecastDTO.AT_RISK, forecast.getStatus());
+    }
+
+    @Test
+    public void testTodaysMarkedSessionIsNotCountedTwice() {
+        LocalDate today = TERM_START.plusWeeks(5);
+        when(attendanceRepository.countAttendanceByStudentBetween(TERM_START, today))
+                .thenReturn(List.<Object[]>of(new Object[] {STUDENT_ID, 9L, 11L}));
+        when(attendanceRepository.countAttendanceByStudentBetween(today, today))
+                .thenReturn(List.<Object[]>of(new Object[] {STUDENT_ID, 1L, 1L}));
+
+        StudentForecastDTO forecast = forecastOnly(today, today.plusDays(6));
+
+        assertEquals(11, forecast.getTotal());
+        assertEquals(0, forecast.getRemainingSessions());
+        assertEquals(EligibilityForecastDTO.SAFE, forecast.getStatus());
+    }
+
+    @Test
+    public void testRemainingSessionsBeforeTermStartBeginAtTermStart() {
+        // Sunday a week before the term: the Monday in between is not part of it
+        LocalDate today = TERM_START.minusDays(8);
+
+        StudentForecastDTO forecast = forecastOnly(today, TERM_START.plusDays(13));
+
+        assertEquals(2, forecast.getRemainingSessions());
+        assertEquals(0, forecast.getTotal());
+        verify(attendanceRepository, never()).countAttendanceByStudentBetween(any(), any());
+    }
+
+    @Test
+    public void testDepartmentFilterQueriesActiveStudentsOfThatDepartment() {
+        EligibilityForecastDTO result = service.forecast(TERM_START, TERM_START.plusDays(13), 75, "cse", null,
+                TERM_START);
+
+        assertEquals(1, result.getStudents().size());
+        verify(studentRepository).findByDepartmentIgnoreCaseAndActiveTrue("cse");
+        verify(studentRepository, never()).findByActiveTrue();
+    }
+
+    private StudentForecastDTO forecastOnly(LocalDate today, LocalDate termEnd) {
+        EligibilityForecastDTO result = service.forecast(TERM_START, termEnd, 75, null, null, today);
+        assertEquals(1, result.getStudents().size());
+        return result.getStudents().get(0);
+    }
+}
@@ -0,0 +1,73 @@
+package com.attendance.service;
+
+import com.attendance.cache.CacheInvalidationBus;
+import com.attendance.model.TimetableSession;
+import com.attendance.repository.TimetableSessionRepository;
+import com.attendance.service.TimetableProjectionService.ClassTimetable;
+import com.attendance.service.TimetableProjectionService.Slot;
+import com.attendance.service.TimetableProjectionService.StaffTimetable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TimetableProjectionServiceTest {
+
+    private TimetableSessionRepository timetableRepository;
+    private TimetableProjectionService service;
+
+    @BeforeEach
+    public void setUp() {
+        timetableRepository = mock(TimetableSessionRepository.class);
+        service = new TimetableProjectionService(timetableRepository, JsonMapper.builder().build(),
+                mock(CacheInvalidationBus.class), 100);
+    }
+
+    @Test
+    public void testSessionWithoutStartTimeIsLeftOut() {
+        when(timetableRepository.findClassTimetable("CSE", 3, "A")).thenReturn(List.of(
+                session(1L, "MONDAY", LocalTime.of(11, 0), LocalTime.of(12, 0)),
+                session(2L, "Monday", null, LocalTime.of(10, 0)),
+                session(3L, "Tuesday", LocalTime.of(9, 0), LocalTime.of(10, 0)),
+                session(4L, "monday", LocalTime.of(9, 0), null)));
+
+        ClassTimetable timetable = service.getClassTimetable("CSE", 3, "A");
+
+        assertEquals(List.of(4L, 1L, 3L), timetable.slots().stream().map(Slot::id).toList());
+        assertEquals(3, timetable.gridRows().size());
+        assertEquals(2, timetable.slotsForDay("Monday").size());
+        assertEquals("09:00", timetable.slotsForDay("Monday").get(0).getStartTime());
+        assertEquals("-", timetable.slotsForDay("Monday").get(0).getEndTime(), "Missing end time shown as a dash");
+        assertTrue(timetable.gridResponse().json().length > 0);
+    }
+
+    @Test
+    public void testStaffTimetableSkipsSessionsWithoutStartTime() {
+        when(timetableRepository.findByStaffIdAndActiveTrue(7L)).thenReturn(List.of(
+                session(1L, "Friday", LocalTime.of(14, 0), LocalTime.of(15, 0)),
+                session(2L, "Monday", null, null)));
+
+        StaffTimetable timetable = service.getStaffTimetable(7L);
+
+        assertEquals(1, timetable.slots().size());
+        assertEquals(1, timetable.portalRows().size());
+    }
+
+    private static TimetableSession session(Long id, String day, LocalTime start, LocalTime end) {
+        TimetableSession session = new TimetableSession();
+        session.setId(id);
+        session.setDayOfWeek(day);
+        session.setStartTime(start);
+        session.setEndTime(end);
+        session.setDepartment("CSE");
+        session.setSemester(3);
+        session.setSection("A");
+        session.setSubjectName("Data Structures");
+        return session;
+    }
+}
@@ -0,0 +1,35 @@
+-- ============================================================================
+-- Migration: Store refresh tokens by SHA-256 hash
+-- Date: 2026-10-19
+-- Reason: Look refresh tokens up through a 32-byte unique index instead of the
+--         raw JWT, and index expiry_date for the scheduled purge.
+--         Existing tokens are hashed in place, so nobody is logged out.
+-- Note:   RefreshTokenSchemaMigration applies the same steps on startup when
+--         the token column is still present; this script is for manual runs.
+-- ============================================================================
+
+USE attendance_db;
+
+-- Step 1: Drop tokens that are already expired
+DELETE FROM refresh_tokens WHERE expiry_date < NOW();
+
+-- Step 2: Add the hash column and fill it from the raw token
+ALTER TABLE refresh_tokens
+ADD COLUMN token_hash BINARY(32) NULL;
+
+UPDATE refresh_tokens
+SET token_hash = UNHEX(SHA2(token, 256));
+
+-- Step 3: Enforce the hash and drop the raw token (its indexes go with it)
+ALTER TABLE refresh_tokens
+MODIFY COLUMN token_hash BINARY(32) NOT NULL,
+ADD UNIQUE KEY uk_refresh_token_hash (token_hash),
+DROP COLUMN token;
+
+-- Step 4: Indexes for logout and the purge
+ALTER TABLE refresh_tokens
+ADD INDEX idx_refresh_token_user (user_id),
+ADD INDEX idx_refresh_token_expiry (expiry_date);
+
+-- Verification
+SHOW INDEX FROM refresh_tokens;
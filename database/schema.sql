@@ -237,17 +237,18 @@ INSERT INTO classes (class_name, department, year, semester, section, active) VA
 
 -- ========================================
 -- TABLE: refresh_tokens
--- Stores JWT refresh tokens
+-- Stores the SHA-256 of each issued JWT refresh token
 -- ========================================
 CREATE TABLE refresh_tokens (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
     user_id BIGINT NOT NULL,
-    token VARCHAR(512) NOT NULL UNIQUE,
+    token_hash BINARY(32) NOT NULL,
     expiry_date TIMESTAMP NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
-    INDEX idx_token (token),
-    INDEX idx_user (user_id)
+    UNIQUE KEY uk_refresh_token_hash (token_hash),
+    INDEX idx_refresh_token_user (user_id),
+    INDEX idx_refresh_token_expiry (expiry_date)
 ) ENGINE=InnoDB;
 
 -- ========================================